@@ -35,7 +35,11 @@ import static org.threeten.bp.LocalTime.NANOS_PER_MINUTE;
 import static org.threeten.bp.LocalTime.NANOS_PER_SECOND;
 
 import java.io.Serializable;
+import java.lang.ref.WeakReference;
+import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.threeten.bp.jdk8.Jdk8Methods;
 
@@ -157,6 +161,33 @@ public abstract class Clock {
         return new SystemClock(zone);
     }
 
+    /**
+     * Obtains a clock that returns the current instant with nanosecond resolution
+     * using the system clock, converting to date and time using the specified time-zone.
+     * <p>
+     * This clock anchors {@link System#nanoTime()} to {@link System#currentTimeMillis()},
+     * returning instants with the resolution of {@code nanoTime} rather than whole milliseconds.
+     * The anchor is shared by all such clocks and re-synchronized against
+     * {@code currentTimeMillis} about once a second, so that drift between the two
+     * sources is corrected.
+     * <p>
+     * The instants returned never go backwards. If the system clock is set
+     * backwards, or the anchor is found to be ahead of the system clock, then the
+     * instant returned keeps advancing at no less than 90% of the rate of
+     * {@code nanoTime} until the system clock catches up.
+     * <p>
+     * The current instant can be obtained without allocation using {@link #epochNanos()}.
+     * <p>
+     * The returned implementation is immutable, thread-safe and {@code Serializable}.
+     *
+     * @param zone  the time-zone to use to convert the instant to date-time, not null
+     * @return a clock that uses a nanosecond resolution system clock in the specified zone, not null
+     */
+    public static Clock systemNanos(ZoneId zone) {
+        Jdk8Methods.requireNonNull(zone, "zone");
+        return new NanoClock(zone);
+    }
+
     //-------------------------------------------------------------------------
     /**
      * Obtains a clock that returns the current instant ticking in whole seconds
@@ -255,6 +286,41 @@ public abstract class Clock {
         return new TickClock(baseClock, tickNanos);
     }
 
+    /**
+     * Obtains a clock that returns a cached instant, updated by a background
+     * thread at the specified granularity.
+     * <p>
+     * This clock is intended for code that obtains the current time at a very high
+     * frequency, such as logging, and can accept a coarse value. A single daemon
+     * thread, shared by all cached clocks, wakes at the next boundary of any granularity
+     * in use, reads {@link System#currentTimeMillis()}, truncates it to each granularity,
+     * and publishes a pre-built {@code Instant} together with the offset and date-time
+     * for each zone and granularity in use.
+     * Obtaining the current instant, or the current date-time in the zone of the
+     * clock via methods such as {@link LocalDateTime#now(Clock)}, is then a single
+     * volatile read.
+     * <p>
+     * The instant returned lags the system clock by up to the granularity, plus
+     * any delay in scheduling the background thread. It never goes backwards.
+     * The background thread is started when a cached clock is created and stops
+     * once all cached clocks have been garbage collected.
+     * <p>
+     * The returned implementation is immutable, thread-safe and {@code Serializable}.
+     *
+     * @param zone  the time-zone to use to convert the instant to date-time, not null
+     * @param granularity  the duration between updates, a positive whole number of milliseconds, not null
+     * @return a clock that returns a cached instant in the specified zone, not null
+     * @throws IllegalArgumentException if the granularity is not a positive whole number of milliseconds
+     */
+    public static Clock cached(ZoneId zone, Duration granularity) {
+        Jdk8Methods.requireNonNull(zone, "zone");
+        Jdk8Methods.requireNonNull(granularity, "granularity");
+        if (granularity.isNegative() || granularity.isZero() || granularity.getNano() % 1000000 != 0) {
+            throw new IllegalArgumentException("Granularity must be a positive whole number of milliseconds");
+        }
+        return new CachedClock(zone, granularity.toMillis());
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Obtains a clock that always returns the same instant.
@@ -367,6 +433,39 @@ public abstract class Clock {
      */
     public abstract Instant instant();
 
+    /**
+     * Gets the current nanosecond instant of the clock.
+     * <p>
+     * This returns the nanosecond-based instant, measured from 1970-01-01T00:00 UTC.
+     * A {@code long} can hold nanosecond instants from 1677 to 2262.
+     * <p>
+     * This method is provided to allow events to be timestamped in high performance
+     * use cases where the creation of an object would be unacceptable, such as
+     * latency measurement.
+     * The default implementation calls {@link #instant()}.
+     *
+     * @return the current nanosecond instant from this clock, measured from
+     *  the Java epoch of 1970-01-01T00:00 UTC
+     * @throws DateTimeException if the instant cannot be obtained, not thrown by most implementations
+     * @throws ArithmeticException if the instant is too large to be represented as nanos
+     */
+    public long epochNanos() {
+        Instant instant = instant();
+        long nanos = Jdk8Methods.safeMultiply(instant.getEpochSecond(), NANOS_PER_SECOND);
+        return Jdk8Methods.safeAdd(nanos, instant.getNano());
+    }
+
+    /**
+     * Gets the current date-time of the clock if it has been calculated in advance.
+     * <p>
+     * This allows the {@code now(Clock)} factories to avoid converting the instant.
+     *
+     * @return the current date-time in the zone of the clock, null if not available
+     */
+    ZonedDateTime cachedNow() {
+        return null;
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Checks if this clock is equal to another clock.
@@ -439,6 +538,427 @@ public abstract class Clock {
         }
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Implementation of a clock that combines {@link System#nanoTime()} with
+     * an anchor to {@link System#currentTimeMillis()}.
+     */
+    static final class NanoClock extends Clock implements Serializable {
+        private static final long serialVersionUID = -3247374021894427396L;
+        /**
+         * The interval between re-synchronizations of the anchor, in nanoseconds.
+         */
+        static final long RESYNC_NANOS = NANOS_PER_SECOND;
+        /**
+         * Nanoseconds per millisecond.
+         */
+        private static final long NANOS_PER_MILLI = 1000000L;
+        /**
+         * The divisor of the elapsed {@code nanoTime} giving the maximum correction
+         * applied when the clock is ahead of the system clock.
+         * The clock thus runs at no less than 90% of the rate of {@code nanoTime}.
+         */
+        static final long SLEW_DIVISOR = 10;
+        /**
+         * The anchor shared by all instances.
+         */
+        private static volatile Anchor ANCHOR =
+                new Anchor(System.currentTimeMillis() * NANOS_PER_MILLI, System.nanoTime(), Long.MIN_VALUE, 0);
+        private final ZoneId zone;
+
+        NanoClock(ZoneId zone) {
+            this.zone = zone;
+        }
+
+        /**
+         * Gets the current nanosecond instant.
+         *
+         * @return the current nanosecond instant
+         */
+        static long currentEpochNanos() {
+            long nanoTime = System.nanoTime();
+            Anchor anchor = ANCHOR;
+            if (nanoTime - anchor.nanoTime >= RESYNC_NANOS) {
+                anchor = resync();
+            }
+            return anchor.epochNanos(nanoTime);
+        }
+
+        /**
+         * Re-synchronizes the shared anchor against the system clock.
+         *
+         * @return the current anchor, not null
+         */
+        private static synchronized Anchor resync() {
+            Anchor current = ANCHOR;
+            long wallNanos = System.currentTimeMillis() * NANOS_PER_MILLI;
+            long nanoTime = System.nanoTime();
+            if (nanoTime - current.nanoTime >= RESYNC_NANOS) {
+                current = current.resync(wallNanos, nanoTime);
+                ANCHOR = current;
+            }
+            return current;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+        @Override
+        public Clock withZone(ZoneId zone) {
+            if (zone.equals(this.zone)) {  // intentional NPE
+                return this;
+            }
+            return new NanoClock(zone);
+        }
+        @Override
+        public long millis() {
+            return Jdk8Methods.floorDiv(currentEpochNanos(), NANOS_PER_MILLI);
+        }
+        @Override
+        public long epochNanos() {
+            return currentEpochNanos();
+        }
+        @Override
+        public Instant instant() {
+            long nanos = currentEpochNanos();
+            return Instant.ofEpochSecond(Jdk8Methods.floorDiv(nanos, NANOS_PER_SECOND), Jdk8Methods.floorMod(nanos, NANOS_PER_SECOND));
+        }
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof NanoClock) {
+                return zone.equals(((NanoClock) obj).zone);
+            }
+            return false;
+        }
+        @Override
+        public int hashCode() {
+            return zone.hashCode() + 2;
+        }
+        @Override
+        public String toString() {
+            return "NanoClock[" + zone + "]";
+        }
+
+        /**
+         * An immutable pairing of a nanosecond instant with a value of {@code nanoTime},
+         * together with any correction still to be applied to reach the system clock.
+         */
+        static final class Anchor {
+            /**
+             * The nanosecond instant at the anchor.
+             */
+            final long epochNanos;
+            /**
+             * The value of {@code nanoTime} at the anchor.
+             */
+            final long nanoTime;
+            /**
+             * The minimum nanosecond instant to return, ensuring time does not go backwards.
+             */
+            final long floor;
+            /**
+             * The correction to apply, zero or negative, applied gradually as time elapses.
+             */
+            final long correction;
+
+            Anchor(long epochNanos, long nanoTime, long floor, long correction) {
+                this.epochNanos = epochNanos;
+                this.nanoTime = nanoTime;
+                this.floor = floor;
+                this.correction = correction;
+            }
+
+            /**
+             * Calculates the nanosecond instant for a value of {@code nanoTime}.
+             *
+             * @param nanoTime  the value of {@code nanoTime}
+             * @return the nanosecond instant
+             */
+            long epochNanos(long nanoTime) {
+                long elapsed = nanoTime - this.nanoTime;
+                long nanos = epochNanos + elapsed;
+                if (correction < 0 && elapsed > 0) {
+                    // slow down, rather than stop, until the system clock catches up
+                    nanos += Math.max(correction, -(elapsed / SLEW_DIVISOR));
+                }
+                return Math.max(nanos, floor);
+            }
+
+            /**
+             * Creates the anchor following this one given a reading of the system clock.
+             * <p>
+             * The system clock only has millisecond resolution, thus this anchor is
+             * retained while it lies within the millisecond read.
+             * If behind, the new anchor jumps forward to the start of that millisecond.
+             * If ahead, for example after the system clock is stepped backwards, the new
+             * anchor continues from the instant already reached and slews towards the end
+             * of that millisecond by at most a fraction of the elapsed {@code nanoTime},
+             * thus the clock never goes backwards and never stops.
+             *
+             * @param wallNanos  the system clock in nanoseconds, truncated to the millisecond
+             * @param nanoTime  the value of {@code nanoTime} read after the system clock
+             * @return the new anchor, not null
+             */
+            Anchor resync(long wallNanos, long nanoTime) {
+                long estimate = epochNanos(nanoTime);
+                if (estimate < wallNanos) {
+                    return new Anchor(wallNanos, nanoTime, estimate, 0);
+                }
+                if (estimate < wallNanos + NANOS_PER_MILLI) {
+                    return new Anchor(estimate, nanoTime, estimate, 0);
+                }
+                return new Anchor(estimate, nanoTime, estimate, wallNanos + NANOS_PER_MILLI - 1 - estimate);
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Implementation of a clock that returns a cached date-time updated by a background thread.
+     */
+    static final class CachedClock extends Clock implements Serializable {
+        private static final long serialVersionUID = 2394517493087258316L;
+        private final ZoneId zone;
+        private final long tickMillis;
+        private final transient Current current;
+
+        CachedClock(ZoneId zone, long tickMillis) {
+            this.zone = zone;
+            this.tickMillis = tickMillis;
+            this.current = Ticker.register(zone, tickMillis);
+        }
+
+        private Object readResolve() {
+            return new CachedClock(zone, tickMillis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+        @Override
+        public Clock withZone(ZoneId zone) {
+            if (zone.equals(this.zone)) {  // intentional NPE
+                return this;
+            }
+            return new CachedClock(zone, tickMillis);
+        }
+        @Override
+        public long millis() {
+            return current.tick.instant.toEpochMilli();
+        }
+        @Override
+        public Instant instant() {
+            return current.tick.instant;
+        }
+        @Override
+        ZonedDateTime cachedNow() {
+            return current.tick.dateTime;
+        }
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof CachedClock) {
+                CachedClock other = (CachedClock) obj;
+                return zone.equals(other.zone) && tickMillis == other.tickMillis;
+            }
+            return false;
+        }
+        @Override
+        public int hashCode() {
+            return zone.hashCode() ^ ((int) (tickMillis ^ (tickMillis >>> 32)));
+        }
+        @Override
+        public String toString() {
+            return "CachedClock[" + zone + "," + Duration.ofMillis(tickMillis) + "]";
+        }
+
+        /**
+         * The current date-time in one zone at one granularity.
+         * <p>
+         * This is strongly referenced only by clocks, thus it becomes unreachable,
+         * and is dropped by the ticker, once no clock uses it.
+         */
+        static final class Current {
+            /**
+             * The zone.
+             */
+            private final ZoneId zone;
+            /**
+             * The granularity in milliseconds.
+             */
+            final long tickMillis;
+            /**
+             * The latest tick, written only by the ticker once registered.
+             */
+            volatile Tick tick;
+
+            Current(ZoneId zone, long tickMillis, long millis) {
+                this.zone = zone;
+                this.tickMillis = tickMillis;
+                Instant instant = truncate(millis);
+                this.tick = new Tick(instant, ZonedDateTime.ofInstant(instant, zone));
+            }
+
+            /**
+             * Updates the tick, ignoring instants that are not later than the current one.
+             *
+             * @param millis  the system clock in milliseconds
+             */
+            void update(long millis) {
+                Instant instant = truncate(millis);
+                if (instant.isAfter(tick.instant)) {
+                    tick = new Tick(instant, ZonedDateTime.ofInstant(instant, zone));
+                }
+            }
+
+            /**
+             * Gets the number of milliseconds until the next update is due.
+             *
+             * @param millis  the system clock in milliseconds
+             * @return the delay until the next boundary of the granularity, positive
+             */
+            long delay(long millis) {
+                return tickMillis - Jdk8Methods.floorMod(millis, tickMillis);
+            }
+
+            private Instant truncate(long millis) {
+                return Instant.ofEpochMilli(millis - Jdk8Methods.floorMod(millis, tickMillis));
+            }
+        }
+
+        /**
+         * An instant and the equivalent date-time, published together.
+         */
+        static final class Tick {
+            /**
+             * The instant truncated to the granularity.
+             */
+            final Instant instant;
+            /**
+             * The instant in the zone.
+             */
+            final ZonedDateTime dateTime;
+
+            Tick(Instant instant, ZonedDateTime dateTime) {
+                this.instant = instant;
+                this.dateTime = dateTime;
+            }
+        }
+
+        /**
+         * The background task, shared by all cached clocks, that updates each current date-time.
+         * <p>
+         * A single thread runs while any current date-time is reachable. It sleeps until
+         * the next boundary of any granularity in use, and exits once no clocks remain.
+         */
+        static final class Ticker implements Runnable {
+            /**
+             * The current date-times in use, keyed by granularity and zone ID.
+             */
+            private static final ConcurrentMap<String, WeakReference<Current>> CURRENTS =
+                    new ConcurrentHashMap<String, WeakReference<Current>>(16, 0.75f, 2);
+            /**
+             * The lock guarding registration and the thread.
+             */
+            private static final Object LOCK = new Object();
+            /**
+             * The running thread, null if not running, guarded by the lock.
+             */
+            private static Thread thread;
+
+            private Ticker() {
+            }
+
+            /**
+             * Gets the current date-time for a zone and granularity, starting the thread if necessary.
+             *
+             * @param zone  the zone, not null
+             * @param tickMillis  the granularity in milliseconds, positive
+             * @return the current date-time holder, not null
+             */
+            static Current register(ZoneId zone, long tickMillis) {
+                String key = tickMillis + " " + zone.getId();
+                synchronized (LOCK) {
+                    WeakReference<Current> ref = CURRENTS.get(key);
+                    Current current = (ref != null ? ref.get() : null);
+                    if (current == null) {
+                        current = new Current(zone, tickMillis, System.currentTimeMillis());
+                        CURRENTS.put(key, new WeakReference<Current>(current));
+                    }
+                    if (thread == null) {
+                        thread = new Thread(new Ticker(), "ThreeTen-CachedClock");
+                        thread.setDaemon(true);
+                        thread.setContextClassLoader(null);
+                        thread.start();
+                    }
+                    return current;
+                }
+            }
+
+            /**
+             * Updates each current date-time, dropping those no longer in use.
+             *
+             * @param millis  the system clock in milliseconds
+             * @return the delay until the next update in milliseconds, negative if none remain
+             */
+            static long tick(long millis) {
+                long delay = -1;
+                for (Map.Entry<String, WeakReference<Current>> entry : CURRENTS.entrySet()) {
+                    Current current = entry.getValue().get();
+                    if (current == null) {
+                        CURRENTS.remove(entry.getKey(), entry.getValue());
+                        continue;
+                    }
+                    try {
+                        current.update(millis);
+                    } catch (RuntimeException ex) {
+                        // retain the previous tick, retried on the next tick
+                    }
+                    long next = current.delay(millis);
+                    delay = (delay < 0 ? next : Math.min(delay, next));
+                }
+                return delay;
+            }
+
+            /**
+             * Checks if the thread should stop, clearing it if so.
+             *
+             * @return true if no clocks remain
+             */
+            private static boolean stop() {
+                synchronized (LOCK) {
+                    if (CURRENTS.isEmpty()) {
+                        thread = null;
+                        return true;
+                    }
+                    return false;
+                }
+            }
+
+            @Override
+            public void run() {
+                while (true) {
+                    long delay = tick(System.currentTimeMillis());
+                    if (delay < 0) {
+                        if (stop()) {
+                            return;
+                        }
+                        continue;
+                    }
+                    try {
+                        Thread.sleep(delay);
+                    } catch (InterruptedException ex) {
+                        // stop if no clocks remain, otherwise clocks in use must keep ticking
+                        if (stop()) {
+                            return;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Implementation of a clock that always returns the same instant.
@@ -519,6 +1039,10 @@ public abstract class Clock {
             return Jdk8Methods.safeAdd(baseClock.millis(), offset.toMillis());
         }
         @Override
+        public long epochNanos() {
+            return Jdk8Methods.safeAdd(baseClock.epochNanos(), offset.toNanos());
+        }
+        @Override
         public Instant instant() {
             return baseClock.instant().plus(offset);
         }
@@ -32,10 +32,19 @@
 package org.threeten.bp;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.List;
 import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.threeten.bp.jdk8.Jdk8Methods;
+import org.threeten.bp.zone.ZoneRules;
 
 /**
  * A set of utilities to assist in bridging the gap to Java 8.
@@ -44,6 +53,11 @@ import java.util.TimeZone;
  */
 public final class DateTimeUtils {
 
+    /**
+     * The minimum number of elements converted by each task of a parallel bulk conversion.
+     */
+    private static final int BULK_CHUNK_SIZE = 1 << 14;
+
     /**
      * Restricted constructor.
      */
@@ -266,4 +280,141 @@ public final class DateTimeUtils {
         return Instant.ofEpochSecond(sqlTimestamp.getTime() / 1000, sqlTimestamp.getNanos());
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Converts an array of epoch milliseconds to the fields of the local date-time in a zone.
+     * <p>
+     * This is equivalent to calling {@link ZonedDateTime#ofInstant(Instant, ZoneId)}
+     * for each element and querying the fields, but does not create any objects
+     * per element. The zone rules are shared by all elements, and lookups of
+     * nearby instants, such as in sorted input, are particularly efficient.
+     * <p>
+     * Each output array receives one field, and may be null if the field is not required.
+     * Each non-null output array must be at least as long as the input array.
+     *
+     * @param epochMillis  the milliseconds from 1970-01-01T00:00:00Z to convert, not null
+     * @param zone  the zone to convert to, not null
+     * @param years  the array to store the year in, null to ignore
+     * @param months  the array to store the month-of-year, from 1 to 12, in, null to ignore
+     * @param days  the array to store the day-of-month in, null to ignore
+     * @param hours  the array to store the hour-of-day in, null to ignore
+     * @param minutes  the array to store the minute-of-hour in, null to ignore
+     * @param seconds  the array to store the second-of-minute in, null to ignore
+     * @param nanos  the array to store the nano-of-second in, null to ignore
+     * @param offsetSeconds  the array to store the total offset in seconds in, null to ignore
+     * @throws IllegalArgumentException if an output array is too short
+     */
+    public static void toLocalDateTimeFields(long[] epochMillis, ZoneId zone,
+            int[] years, int[] months, int[] days,
+            int[] hours, int[] minutes, int[] seconds, int[] nanos, int[] offsetSeconds) {
+        toLocalDateTimeFields(epochMillis, zone, years, months, days, hours, minutes, seconds, nanos, offsetSeconds, null);
+    }
+
+    /**
+     * Converts an array of epoch milliseconds to the fields of the local date-time in a zone,
+     * optionally splitting the work between the threads of an executor.
+     * <p>
+     * This behaves as {@link #toLocalDateTimeFields(long[], ZoneId, int[], int[], int[], int[], int[], int[], int[], int[])},
+     * except that large arrays are split into ranges that are converted as separate tasks.
+     * This method blocks until all the tasks have completed.
+     *
+     * @param epochMillis  the milliseconds from 1970-01-01T00:00:00Z to convert, not null
+     * @param zone  the zone to convert to, not null
+     * @param years  the array to store the year in, null to ignore
+     * @param months  the array to store the month-of-year, from 1 to 12, in, null to ignore
+     * @param days  the array to store the day-of-month in, null to ignore
+     * @param hours  the array to store the hour-of-day in, null to ignore
+     * @param minutes  the array to store the minute-of-hour in, null to ignore
+     * @param seconds  the array to store the second-of-minute in, null to ignore
+     * @param nanos  the array to store the nano-of-second in, null to ignore
+     * @param offsetSeconds  the array to store the total offset in seconds in, null to ignore
+     * @param executor  the executor to run the tasks, null to convert in the calling thread
+     * @throws IllegalArgumentException if an output array is too short
+     * @throws DateTimeException if the conversion is interrupted
+     */
+    public static void toLocalDateTimeFields(final long[] epochMillis, ZoneId zone,
+            final int[] years, final int[] months, final int[] days,
+            final int[] hours, final int[] minutes, final int[] seconds, final int[] nanos, final int[] offsetSeconds,
+            ExecutorService executor) {
+        Jdk8Methods.requireNonNull(epochMillis, "epochMillis");
+        Jdk8Methods.requireNonNull(zone, "zone");
+        int length = epochMillis.length;
+        for (int[] array : new int[][] {years, months, days, hours, minutes, seconds, nanos, offsetSeconds}) {
+            if (array != null && array.length < length) {
+                throw new IllegalArgumentException("Output array is shorter than the input array");
+            }
+        }
+        final ZoneRules rules = zone.getRules();
+        if (executor == null || length < BULK_CHUNK_SIZE * 2) {
+            toLocalDateTimeFields(epochMillis, 0, length, rules, years, months, days, hours, minutes, seconds, nanos, offsetSeconds);
+            return;
+        }
+        int taskCount = Math.min(Runtime.getRuntime().availableProcessors() * 4, length / BULK_CHUNK_SIZE);
+        int chunkSize = (length + taskCount - 1) / taskCount;
+        List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(taskCount);
+        for (int start = 0; start < length; start += chunkSize) {
+            final int from = start;
+            final int to = Math.min(start + chunkSize, length);
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    toLocalDateTimeFields(epochMillis, from, to, rules, years, months, days, hours, minutes, seconds, nanos, offsetSeconds);
+                    return null;
+                }
+            });
+        }
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DateTimeException("Interrupted while converting", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new DateTimeException("Unable to convert", ex.getCause());
+        }
+    }
+
+    /**
+     * Converts a range of an array of epoch milliseconds, see the public methods.
+     */
+    private static void toLocalDateTimeFields(long[] epochMillis, int from, int to, ZoneRules rules,
+            int[] years, int[] months, int[] days,
+            int[] hours, int[] minutes, int[] seconds, int[] nanos, int[] offsetSeconds) {
+        for (int i = from; i < to; i++) {
+            long epochSec = Jdk8Methods.floorDiv(epochMillis[i], 1000);
+            int offsetSecs = rules.getOffsetSeconds(epochSec);
+            long localSecond = epochSec + offsetSecs;
+            long packedDate = Jdk8Methods.toPackedDate(Jdk8Methods.floorDiv(localSecond, LocalTime.SECONDS_PER_DAY));
+            int secsOfDay = Jdk8Methods.floorMod(localSecond, LocalTime.SECONDS_PER_DAY);
+            if (years != null) {
+                years[i] = (int) (packedDate >> 9);
+            }
+            if (months != null) {
+                months[i] = (int) (packedDate >> 5) & 15;
+            }
+            if (days != null) {
+                days[i] = (int) packedDate & 31;
+            }
+            if (hours != null) {
+                hours[i] = secsOfDay / LocalTime.SECONDS_PER_HOUR;
+            }
+            if (minutes != null) {
+                minutes[i] = (secsOfDay / LocalTime.SECONDS_PER_MINUTE) % LocalTime.MINUTES_PER_HOUR;
+            }
+            if (seconds != null) {
+                seconds[i] = secsOfDay % LocalTime.SECONDS_PER_MINUTE;
+            }
+            if (nanos != null) {
+                nanos[i] = Jdk8Methods.floorMod(epochMillis[i], 1000) * 1000000;
+            }
+            if (offsetSeconds != null) {
+                offsetSeconds[i] = offsetSecs;
+            }
+        }
+    }
+
 }
@@ -125,17 +125,6 @@ public final class LocalDate
      * Serialization version.
      */
     private static final long serialVersionUID = 2942565459149668126L;
-    /**
-     * The number of days in a 400 year cycle.
-     */
-    private static final int DAYS_PER_CYCLE = 146097;
-    /**
-     * The number of days from year zero to year 1970.
-     * There are five 400 year cycles from year zero to 2000.
-     * There are 7 leap years from 1970 to 2000.
-     */
-    static final long DAYS_0000_TO_1970 = (DAYS_PER_CYCLE * 5L) - (30L * 365L + 7L);
-
     /**
      * The year.
      */
@@ -193,6 +182,10 @@ public final class LocalDate
      */
     public static LocalDate now(Clock clock) {
         Jdk8Methods.requireNonNull(clock, "clock");
+        ZonedDateTime cached = clock.cachedNow();
+        if (cached != null) {
+            return cached.toLocalDate();
+        }
         final Instant now = clock.instant();  // called once
         ZoneOffset offset = clock.getZone().getRules().getOffset(now);
         long epochSec = now.getEpochSecond() + offset.getTotalSeconds();  // overflow caught later
@@ -280,35 +273,10 @@ public final class LocalDate
      */
     public static LocalDate ofEpochDay(long epochDay) {
         EPOCH_DAY.checkValidValue(epochDay);
-        long zeroDay = epochDay + DAYS_0000_TO_1970;
-        // find the march-based year
-        zeroDay -= 60;  // adjust to 0000-03-01 so leap day is at end of four year cycle
-        long adjust = 0;
-        if (zeroDay < 0) {
-            // adjust negative years to positive for calculation
-            long adjustCycles = (zeroDay + 1) / DAYS_PER_CYCLE - 1;
-            adjust = adjustCycles * 400;
-            zeroDay += -adjustCycles * DAYS_PER_CYCLE;
-        }
-        long yearEst = (400 * zeroDay + 591) / DAYS_PER_CYCLE;
-        long doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
-        if (doyEst < 0) {
-            // fix estimate
-            yearEst--;
-            doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
-        }
-        yearEst += adjust;  // reset any negative year
-        int marchDoy0 = (int) doyEst;
-
-        // convert march-based values back to january-based
-        int marchMonth0 = (marchDoy0 * 5 + 2) / 153;
-        int month = (marchMonth0 + 2) % 12 + 1;
-        int dom = marchDoy0 - (marchMonth0 * 306 + 5) / 10 + 1;
-        yearEst += marchMonth0 / 10;
-
+        long packed = Jdk8Methods.toPackedDate(epochDay);
         // check year now we are certain it is correct
-        int year = YEAR.checkValidIntValue(yearEst);
-        return new LocalDate(year, month, dom);
+        int year = YEAR.checkValidIntValue(packed >> 9);
+        return new LocalDate(year, (int) (packed >> 5) & 15, (int) packed & 31);
     }
 
     //-----------------------------------------------------------------------
@@ -1632,24 +1600,7 @@ public final class LocalDate
     //-----------------------------------------------------------------------
     @Override
     public long toEpochDay() {
-        long y = year;
-        long m = month;
-        long total = 0;
-        total += 365 * y;
-        if (y >= 0) {
-            total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
-        } else {
-            total -= y / -4 - y / -100 + y / -400;
-        }
-        total += ((367 * m - 362) / 12);
-        total += day - 1;
-        if (m > 2) {
-            total--;
-            if (isLeapYear() == false) {
-                total--;
-            }
-        }
-        return total - DAYS_0000_TO_1970;
+        return Jdk8Methods.toEpochDay(year, month, day);
     }
 
     //-----------------------------------------------------------------------
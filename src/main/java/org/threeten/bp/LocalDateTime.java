@@ -180,6 +180,10 @@ public final class LocalDateTime
      */
     public static LocalDateTime now(Clock clock) {
         Jdk8Methods.requireNonNull(clock, "clock");
+        ZonedDateTime cached = clock.cachedNow();
+        if (cached != null) {
+            return cached.toLocalDateTime();
+        }
         final Instant now = clock.instant();  // called once
         ZoneOffset offset = clock.getZone().getRules().getOffset(now);
         return ofEpochSecond(now.getEpochSecond(), now.getNano(), offset);
@@ -245,6 +245,10 @@ public final class LocalTime
      */
     public static LocalTime now(Clock clock) {
         Jdk8Methods.requireNonNull(clock, "clock");
+        ZonedDateTime cached = clock.cachedNow();
+        if (cached != null) {
+            return cached.toLocalTime();
+        }
         // inline OffsetTime factory to avoid creating object and InstantProvider checks
         final Instant now = clock.instant();  // called once
         ZoneOffset offset = clock.getZone().getRules().getOffset(now);
@@ -206,6 +206,10 @@ public final class OffsetDateTime
      */
     public static OffsetDateTime now(Clock clock) {
         Jdk8Methods.requireNonNull(clock, "clock");
+        ZonedDateTime cached = clock.cachedNow();
+        if (cached != null) {
+            return cached.toOffsetDateTime();
+        }
         final Instant now = clock.instant();  // called once
         return ofInstant(now, clock.getZone().getRules().getOffset(now));
     }
@@ -170,6 +170,10 @@ public final class OffsetTime
      */
     public static OffsetTime now(Clock clock) {
         Jdk8Methods.requireNonNull(clock, "clock");
+        ZonedDateTime cached = clock.cachedNow();
+        if (cached != null) {
+            return cached.toOffsetDateTime().toOffsetTime();
+        }
         final Instant now = clock.instant();  // called once
         return ofInstant(now, clock.getZone().getRules().getOffset(now));
     }
@@ -223,6 +223,15 @@ public abstract class ZoneId implements Serializable {
         base.put("HST", "-10:00");
         SHORT_IDS = Collections.unmodifiableMap(base);
     }
+    /**
+     * The cached system default zone, replaced when the default time-zone changes.
+     */
+    private static volatile SystemDefault SYSTEM_DEFAULT;
+    /**
+     * Whether the cached system default zone is used without querying the default time-zone.
+     */
+    private static final boolean PIN_SYSTEM_DEFAULT =
+            Boolean.getBoolean("org.threeten.bp.ZoneId.pinSystemDefault");
     /**
      * Serialization version.
      */
@@ -235,13 +244,62 @@ public abstract class ZoneId implements Serializable {
      * This queries {@link TimeZone#getDefault()} to find the default time-zone
      * and converts it to a {@code ZoneId}. If the system default time-zone is changed,
      * then the result of this method will also change.
+     * <p>
+     * The converted {@code ZoneId} is cached while the ID of the default time-zone
+     * remains the same string instance and no zone rules provider has been
+     * registered or refreshed, thus repeated calls return the same instance.
+     * The query still clones the default {@code TimeZone} on each call.
+     * <p>
+     * Applications that never change the default time-zone, or that call
+     * {@link #refreshSystemDefault()} after changing it, can avoid the clone by setting
+     * the system property {@code org.threeten.bp.ZoneId.pinSystemDefault} to {@code true}.
+     * The cached zone is then returned without querying {@code TimeZone}, thus a change
+     * to the default time-zone is not seen until the cache is refreshed.
      *
      * @return the zone ID, not null
      * @throws DateTimeException if the converted zone ID has an invalid format
      * @throws ZoneRulesException if the converted zone region ID cannot be found
      */
     public static ZoneId systemDefault() {
-        return ZoneId.of(TimeZone.getDefault().getID(), SHORT_IDS);
+        return systemDefault(PIN_SYSTEM_DEFAULT);
+    }
+
+    /**
+     * Refreshes the cached system default time-zone.
+     * <p>
+     * This queries {@link TimeZone#getDefault()} and replaces the cached zone used by
+     * {@link #systemDefault()} if the default time-zone has changed.
+     * This must be called after changing the default time-zone when the system property
+     * {@code org.threeten.bp.ZoneId.pinSystemDefault} is set, and has no other effect.
+     *
+     * @return the zone ID, not null
+     * @throws DateTimeException if the converted zone ID has an invalid format
+     * @throws ZoneRulesException if the converted zone region ID cannot be found
+     */
+    public static ZoneId refreshSystemDefault() {
+        return systemDefault(false);
+    }
+
+    /**
+     * Gets the system default time-zone.
+     *
+     * @param pinned  whether to return the cached zone without querying the default time-zone
+     * @return the zone ID, not null
+     */
+    static ZoneId systemDefault(boolean pinned) {
+        Set<String> snapshot = ZoneRulesProvider.getAvailableZoneIdsSnapshot();
+        SystemDefault cached = SYSTEM_DEFAULT;
+        if (pinned && cached != null && cached.snapshot == snapshot) {
+            return cached.zone;
+        }
+        String id = TimeZone.getDefault().getID();
+        // identity comparison, as the ID is shared by each clone of the default time-zone
+        if (cached != null && cached.timeZoneId == id && cached.snapshot == snapshot) {
+            return cached.zone;
+        }
+        ZoneId zone = ZoneId.of(id, SHORT_IDS);
+        SYSTEM_DEFAULT = new SystemDefault(id, snapshot, zone);
+        return zone;
     }
 
     /**
@@ -336,6 +394,22 @@ public abstract class ZoneId implements Serializable {
         if (zoneId.startsWith("+") || zoneId.startsWith("-")) {
             return ZoneOffset.of(zoneId);
         }
+        ZoneRegion cached = ZoneRegion.getCached(zoneId);
+        if (cached != null) {
+            return cached;
+        }
+        return ZoneRegion.cache(zoneId, ofRegion(zoneId));
+    }
+
+    /**
+     * Obtains an instance of {@code ZoneRegion} from an ID that is not offset-based.
+     *
+     * @param zoneId  the time-zone ID, not null
+     * @return the zone ID, not null
+     * @throws DateTimeException if the zone ID has an invalid format
+     * @throws ZoneRulesException if the zone ID is a region ID that cannot be found
+     */
+    private static ZoneRegion ofRegion(String zoneId) {
         if (zoneId.equals("UTC") || zoneId.equals("GMT") || zoneId.equals("UT")) {
             return new ZoneRegion(zoneId, ZoneOffset.UTC.getRules());
         }
@@ -561,4 +635,29 @@ public abstract class ZoneId implements Serializable {
     //-----------------------------------------------------------------------
     abstract void write(DataOutput out) throws IOException;
 
+    //-----------------------------------------------------------------------
+    /**
+     * The system default zone converted from a default time-zone.
+     */
+    private static final class SystemDefault {
+        /**
+         * The ID of the default time-zone, compared by identity.
+         */
+        private final String timeZoneId;
+        /**
+         * The snapshot of zone IDs the zone was obtained with.
+         */
+        private final Set<String> snapshot;
+        /**
+         * The converted zone.
+         */
+        private final ZoneId zone;
+
+        private SystemDefault(String timeZoneId, Set<String> snapshot, ZoneId zone) {
+            this.timeZoneId = timeZoneId;
+            this.snapshot = snapshot;
+            this.zone = zone;
+        }
+    }
+
 }
@@ -37,6 +37,9 @@ import java.io.IOException;
 import java.io.InvalidObjectException;
 import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
 
 import org.threeten.bp.jdk8.Jdk8Methods;
@@ -72,6 +75,14 @@ final class ZoneRegion extends ZoneId implements Serializable {
      * The regex pattern for region IDs.
      */
     private static final Pattern PATTERN = Pattern.compile("[A-Za-z][A-Za-z0-9~/._+-]+");
+    /**
+     * The maximum number of IDs held in the cache.
+     */
+    private static final int MAX_CACHE_SIZE = 2048;
+    /**
+     * The cache of canonical instances, replaced when the available zone IDs change.
+     */
+    private static volatile RegionCache CACHE = new RegionCache(ZoneRulesProvider.getAvailableZoneIdsSnapshot());
 
     /**
      * The time-zone ID, not null.
@@ -152,6 +163,57 @@ final class ZoneRegion extends ZoneId implements Serializable {
         return new ZoneRegion(zoneId, rules);
     }
 
+    //-------------------------------------------------------------------------
+    /**
+     * Gets the canonical instance previously cached for an ID.
+     * <p>
+     * The cache is discarded whenever a provider is registered or refreshed,
+     * as indicated by {@link ZoneRulesProvider#getAvailableZoneIdsSnapshot()}.
+     *
+     * @param zoneId  the time-zone ID exactly as requested, not null
+     * @return the cached zone ID, null if not cached
+     */
+    static ZoneRegion getCached(String zoneId) {
+        return currentCache().regions.get(zoneId);
+    }
+
+    /**
+     * Caches a zone ID obtained for an ID, returning the canonical instance.
+     * <p>
+     * Zone IDs without rules, either loaded leniently or from a dynamic provider
+     * that prevents caching, are never cached.
+     *
+     * @param zoneId  the time-zone ID exactly as requested, not null
+     * @param region  the zone ID obtained for the requested ID, not null
+     * @return the canonical zone ID, not null
+     */
+    static ZoneRegion cache(String zoneId, ZoneRegion region) {
+        if (region.rules == null) {
+            return region;
+        }
+        RegionCache cache = currentCache();
+        if (cache.regions.size() >= MAX_CACHE_SIZE) {
+            return region;
+        }
+        ZoneRegion existing = cache.regions.putIfAbsent(zoneId, region);
+        return (existing != null ? existing : region);
+    }
+
+    /**
+     * Gets the cache for the current snapshot of zone IDs.
+     *
+     * @return the cache, not null
+     */
+    private static RegionCache currentCache() {
+        Set<String> snapshot = ZoneRulesProvider.getAvailableZoneIdsSnapshot();
+        RegionCache cache = CACHE;
+        if (cache.snapshot != snapshot) {
+            cache = new RegionCache(snapshot);
+            CACHE = cache;
+        }
+        return cache;
+    }
+
     //-------------------------------------------------------------------------
     /**
      * Constructor.
@@ -206,4 +268,23 @@ final class ZoneRegion extends ZoneId implements Serializable {
         return ofLenient(id);
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * The canonical instances for one snapshot of the available zone IDs.
+     */
+    private static final class RegionCache {
+        /**
+         * The snapshot of zone IDs this cache is valid for.
+         */
+        private final Set<String> snapshot;
+        /**
+         * The canonical instances keyed by the requested ID.
+         */
+        private final ConcurrentMap<String, ZoneRegion> regions = new ConcurrentHashMap<String, ZoneRegion>(64, 0.75f, 2);
+
+        private RegionCache(Set<String> snapshot) {
+            this.snapshot = snapshot;
+        }
+    }
+
 }
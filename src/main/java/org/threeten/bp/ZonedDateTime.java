@@ -199,6 +199,10 @@ public final class ZonedDateTime
      */
     public static ZonedDateTime now(Clock clock) {
         Jdk8Methods.requireNonNull(clock, "clock");
+        ZonedDateTime cached = clock.cachedNow();
+        if (cached != null) {
+            return cached;
+        }
         final Instant now = clock.instant();  // called once
         return ofInstant(now, clock.getZone());
     }
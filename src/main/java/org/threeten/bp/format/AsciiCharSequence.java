@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A view of ASCII bytes as a {@code CharSequence}.
+ * <p>
+ * This allows text held in a byte array or buffer to be parsed without first
+ * decoding it to a {@code String}. Each byte is viewed as one character.
+ * Bytes outside the ASCII range are viewed as the ISO-8859-1 character of the
+ * same value, thus they do not match any ASCII text.
+ *
+ * <h3>Specification for implementors</h3>
+ * This class is mutable if the underlying bytes are changed.
+ * It is intended for use by a single thread.
+ */
+final class AsciiCharSequence implements CharSequence {
+
+    /**
+     * The bytes, null if a buffer without an array is viewed.
+     */
+    private final byte[] bytes;
+    /**
+     * The buffer, null if an array is viewed.
+     */
+    private final ByteBuffer buffer;
+    /**
+     * The index of the first byte.
+     */
+    private final int offset;
+    /**
+     * The number of bytes.
+     */
+    private final int length;
+
+    /**
+     * Obtains a view of a region of a byte array.
+     *
+     * @param bytes  the bytes to view, not null
+     * @param offset  the index of the first byte
+     * @param length  the number of bytes
+     * @return the view, not null
+     * @throws IndexOutOfBoundsException if the region is outside the array
+     */
+    static AsciiCharSequence of(byte[] bytes, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > bytes.length - length) {
+            throw new IndexOutOfBoundsException("Invalid region: offset " + offset + ", length " + length);
+        }
+        return new AsciiCharSequence(bytes, null, offset, length);
+    }
+
+    /**
+     * Obtains a view of the remaining bytes of a buffer.
+     * <p>
+     * The position of the buffer is not changed.
+     *
+     * @param buffer  the buffer to view, not null
+     * @return the view, not null
+     */
+    static AsciiCharSequence of(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            return new AsciiCharSequence(buffer.array(), null, buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        }
+        return new AsciiCharSequence(null, buffer, buffer.position(), buffer.remaining());
+    }
+
+    private AsciiCharSequence(byte[] bytes, ByteBuffer buffer, int offset, int length) {
+        this.bytes = bytes;
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
+        }
+        byte b = (bytes != null ? bytes[offset + index] : buffer.get(offset + index));
+        return (char) (b & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("Invalid range: " + start + " to " + end);
+        }
+        return new AsciiCharSequence(bytes, buffer, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = charAt(i);
+        }
+        return new String(chars);
+    }
+
+}
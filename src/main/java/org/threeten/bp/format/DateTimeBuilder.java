@@ -59,10 +59,16 @@ import java.util.Set;
 import org.threeten.bp.DateTimeException;
 import org.threeten.bp.Instant;
 import org.threeten.bp.LocalDate;
+import org.threeten.bp.LocalDateTime;
 import org.threeten.bp.LocalTime;
+import org.threeten.bp.OffsetDateTime;
+import org.threeten.bp.OffsetTime;
 import org.threeten.bp.Period;
+import org.threeten.bp.Year;
+import org.threeten.bp.YearMonth;
 import org.threeten.bp.ZoneId;
 import org.threeten.bp.ZoneOffset;
+import org.threeten.bp.ZonedDateTime;
 import org.threeten.bp.chrono.ChronoLocalDate;
 import org.threeten.bp.chrono.ChronoLocalDateTime;
 import org.threeten.bp.chrono.ChronoZonedDateTime;
@@ -644,6 +650,51 @@ final class DateTimeBuilder
         return type.queryFrom(this);
     }
 
+    /**
+     * Builds the specified type from the values in this builder, returning null if unable.
+     * <p>
+     * The state needed by the common types, such as {@code LocalDate} and {@code Instant},
+     * is checked before building, thus asking for a type that is not available
+     * does not create an exception.
+     *
+     * @param <R>  the type to return
+     * @param type  the type to invoke {@code from} on, not null
+     * @return the extracted value, null if the builder cannot return the type
+     */
+    <R> R tryBuild(TemporalQuery<R> type) {
+        if (canBuild(type) == false) {
+            return null;
+        }
+        try {
+            return type.queryFrom(this);
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+
+    private boolean canBuild(TemporalQuery<?> type) {
+        if (type == LocalDate.FROM) {
+            return date != null;
+        } else if (type == LocalTime.FROM) {
+            return time != null;
+        } else if (type == LocalDateTime.FROM) {
+            return date != null && time != null;
+        } else if (type == ZonedDateTime.FROM) {
+            return query(TemporalQueries.zone()) != null && (isSupported(INSTANT_SECONDS) || (date != null && time != null));
+        } else if (type == OffsetDateTime.FROM) {
+            return query(TemporalQueries.offset()) != null && (isSupported(INSTANT_SECONDS) || (date != null && time != null));
+        } else if (type == OffsetTime.FROM) {
+            return time != null && query(TemporalQueries.offset()) != null;
+        } else if (type == Instant.FROM) {
+            return isSupported(INSTANT_SECONDS);
+        } else if (type == YearMonth.FROM) {
+            return isSupported(ChronoField.YEAR) && isSupported(ChronoField.MONTH_OF_YEAR);
+        } else if (type == Year.FROM) {
+            return isSupported(ChronoField.YEAR);
+        }
+        return true;
+    }
+
     //-----------------------------------------------------------------------
     @Override
     public boolean isSupported(TemporalField field) {
@@ -42,24 +42,42 @@ import static org.threeten.bp.temporal.ChronoField.SECOND_OF_MINUTE;
 import static org.threeten.bp.temporal.ChronoField.YEAR;
 
 import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.ReadOnlyBufferException;
 import java.text.FieldPosition;
 import java.text.Format;
 import java.text.ParseException;
 import java.text.ParsePosition;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.threeten.bp.DateTimeException;
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDateTime;
 import org.threeten.bp.Period;
 import org.threeten.bp.ZoneId;
 import org.threeten.bp.ZoneOffset;
 import org.threeten.bp.chrono.Chronology;
 import org.threeten.bp.chrono.IsoChronology;
+import org.threeten.bp.format.DateTimeFormatterBuilder.CompiledPrinterParser;
 import org.threeten.bp.format.DateTimeFormatterBuilder.CompositePrinterParser;
 import org.threeten.bp.format.DateTimeParseContext.Parsed;
 import org.threeten.bp.jdk8.Jdk8Methods;
@@ -67,6 +85,7 @@ import org.threeten.bp.temporal.ChronoField;
 import org.threeten.bp.temporal.IsoFields;
 import org.threeten.bp.temporal.TemporalAccessor;
 import org.threeten.bp.temporal.TemporalField;
+import org.threeten.bp.temporal.TemporalQueries;
 import org.threeten.bp.temporal.TemporalQuery;
 
 /**
@@ -757,6 +776,12 @@ public final class DateTimeFormatter {
      * Any non-letter character, other than '[', ']', '{', '}' and the single quote will be output directly.
      * Despite this, it is recommended to use single quotes around all characters that you want to
      * output directly to ensure that future changes do not break your application.
+     * <p>
+     * Formatters created by this method are held in a bounded cache keyed by pattern
+     * and locale, thus repeated calls with the same pattern are cheap.
+     * The cache size is set by the system property
+     * {@code org.threeten.bp.format.DateTimeFormatter.patternCacheSize},
+     * which defaults to 256. A size of zero disables the cache.
      *
      * @param pattern  the pattern to use, not null
      * @return the formatter based on the pattern, not null
@@ -764,7 +789,7 @@ public final class DateTimeFormatter {
      * @see DateTimeFormatterBuilder#appendPattern(String)
      */
     public static DateTimeFormatter ofPattern(String pattern) {
-        return new DateTimeFormatterBuilder().appendPattern(pattern).toFormatter();
+        return PatternCache.INSTANCE.get(pattern, Locale.getDefault());
     }
 
     /**
@@ -785,7 +810,30 @@ public final class DateTimeFormatter {
      * @see DateTimeFormatterBuilder#appendPattern(String)
      */
     public static DateTimeFormatter ofPattern(String pattern, Locale locale) {
-        return new DateTimeFormatterBuilder().appendPattern(pattern).toFormatter(locale);
+        return PatternCache.INSTANCE.get(pattern, locale);
+    }
+
+    /**
+     * Gets the number of calls to {@code ofPattern} that were served by the cache.
+     * <p>
+     * This is intended for monitoring the effectiveness of the cache.
+     *
+     * @return the number of cache hits since startup
+     */
+    public static long getPatternCacheHitCount() {
+        return PatternCache.INSTANCE.getHitCount();
+    }
+
+    /**
+     * Gets the number of calls to {@code ofPattern} that created a new formatter.
+     * <p>
+     * This is intended for monitoring the effectiveness of the cache.
+     * If the cache is disabled, every call is a miss.
+     *
+     * @return the number of cache misses since startup
+     */
+    public static long getPatternCacheMissCount() {
+        return PatternCache.INSTANCE.getMissCount();
     }
 
     //-----------------------------------------------------------------------
@@ -983,6 +1031,10 @@ public final class DateTimeFormatter {
             }
         }
     };
+    /**
+     * The number of texts parsed by each task of a parallel batch parse.
+     */
+    private static final int PARALLEL_CHUNK_SIZE = 8192;
 
     //-----------------------------------------------------------------------
     /**
@@ -1013,6 +1065,10 @@ public final class DateTimeFormatter {
      * The zone to use for formatting, null for no override.
      */
     private final ZoneId zone;
+    /**
+     * The compiled form of the printer/parser, null if it cannot be compiled.
+     */
+    private final CompiledPrinterParser compiled;
 
     //-----------------------------------------------------------------------
     /**
@@ -1036,6 +1092,7 @@ public final class DateTimeFormatter {
         this.resolverFields = resolverFields;
         this.chrono = chrono;
         this.zone = zone;
+        this.compiled = (decimalStyle.equals(DecimalStyle.STANDARD) ? CompiledPrinterParser.compile(printerParser) : null);
     }
 
     //-----------------------------------------------------------------------
@@ -1355,6 +1412,13 @@ public final class DateTimeFormatter {
      * @throws DateTimeException if an error occurs during formatting
      */
     public String format(TemporalAccessor temporal) {
+        if (compiled != null) {
+            char[] chars = new char[compiled.getMaxLength()];
+            int length = formatCompiled(temporal, chars, 0);
+            if (length >= 0) {
+                return new String(chars, 0, length);
+            }
+        }
         StringBuilder buf = new StringBuilder(32);
         formatTo(temporal, buf);
         return buf.toString();
@@ -1380,6 +1444,18 @@ public final class DateTimeFormatter {
         Jdk8Methods.requireNonNull(temporal, "temporal");
         Jdk8Methods.requireNonNull(appendable, "appendable");
         try {
+            if (compiled != null) {
+                char[] chars = new char[compiled.getMaxLength()];
+                int length = formatCompiled(temporal, chars, 0);
+                if (length >= 0) {
+                    if (appendable instanceof StringBuilder) {
+                        ((StringBuilder) appendable).append(chars, 0, length);
+                    } else {
+                        appendable.append(new String(chars, 0, length));
+                    }
+                    return;
+                }
+            }
             DateTimePrintContext context = new DateTimePrintContext(temporal, this);
             if (appendable instanceof StringBuilder) {
                 printerParser.print(context, (StringBuilder) appendable);
@@ -1394,6 +1470,204 @@ public final class DateTimeFormatter {
         }
     }
 
+    /**
+     * Formats a date-time object into a {@code char} array using this formatter.
+     * <p>
+     * This formats the date-time directly into the array starting at the offset,
+     * without creating an intermediate {@code String}.
+     * If an error occurs, characters from the offset onwards may have been overwritten.
+     *
+     * @param temporal  the temporal object to print, not null
+     * @param chars  the array to print to, not null
+     * @param offset  the offset in the array to print at, from 0 to the array length
+     * @return the number of characters printed
+     * @throws DateTimeException if an error occurs during formatting
+     * @throws IndexOutOfBoundsException if the offset is invalid or the text does not fit in the array
+     */
+    public int formatTo(TemporalAccessor temporal, char[] chars, int offset) {
+        Jdk8Methods.requireNonNull(temporal, "temporal");
+        Jdk8Methods.requireNonNull(chars, "chars");
+        if (offset < 0 || offset > chars.length) {
+            throw new IndexOutOfBoundsException("Invalid offset: " + offset);
+        }
+        int length = formatTo(temporal, chars, offset, chars.length);
+        if (length < 0) {
+            throw new IndexOutOfBoundsException("Formatted text does not fit in array at offset " + offset);
+        }
+        return length;
+    }
+
+    /**
+     * Formats a date-time object into a {@code CharBuffer} using this formatter.
+     * <p>
+     * This formats the date-time into the buffer at its current position,
+     * without creating an intermediate {@code String}.
+     * The position of the buffer is advanced by the number of characters printed.
+     * If the text does not fit, the position of the buffer is unchanged.
+     *
+     * @param temporal  the temporal object to print, not null
+     * @param buffer  the buffer to print to, not null
+     * @return the number of characters printed
+     * @throws DateTimeException if an error occurs during formatting
+     * @throws BufferOverflowException if the text does not fit in the remaining space of the buffer
+     * @throws ReadOnlyBufferException if the buffer is read-only
+     */
+    public int formatTo(TemporalAccessor temporal, CharBuffer buffer) {
+        Jdk8Methods.requireNonNull(temporal, "temporal");
+        Jdk8Methods.requireNonNull(buffer, "buffer");
+        if (buffer.hasArray()) {
+            int offset = buffer.arrayOffset() + buffer.position();
+            int length = formatTo(temporal, buffer.array(), offset, offset + buffer.remaining());
+            if (length < 0) {
+                throw new BufferOverflowException();
+            }
+            buffer.position(buffer.position() + length);
+            return length;
+        }
+        if (buffer.isReadOnly()) {
+            throw new ReadOnlyBufferException();
+        }
+        PrintBuffer printBuffer = PrintBuffer.acquire();
+        try {
+            int length = formatToScratch(temporal, printBuffer);
+            if (length > buffer.remaining()) {
+                throw new BufferOverflowException();
+            }
+            buffer.put(printBuffer.chars, 0, length);
+            return length;
+        } finally {
+            printBuffer.release();
+        }
+    }
+
+    /**
+     * Formats a date-time object into a {@code ByteBuffer} as ASCII using this formatter.
+     * <p>
+     * This formats the date-time into the buffer at its current position,
+     * writing one byte per character without creating an intermediate {@code String}.
+     * This is intended for wire protocols where the formatted text is known to be ASCII,
+     * such as the ISO formatters with the standard decimal style.
+     * The position of the buffer is advanced by the number of bytes written.
+     * If an error occurs, the position of the buffer is unchanged.
+     *
+     * @param temporal  the temporal object to print, not null
+     * @param buffer  the buffer to print to, not null
+     * @return the number of characters printed, which is the number of bytes written
+     * @throws DateTimeException if an error occurs during formatting, or the text is not ASCII
+     * @throws BufferOverflowException if the text does not fit in the remaining space of the buffer
+     * @throws ReadOnlyBufferException if the buffer is read-only
+     */
+    public int formatToAscii(TemporalAccessor temporal, ByteBuffer buffer) {
+        Jdk8Methods.requireNonNull(temporal, "temporal");
+        Jdk8Methods.requireNonNull(buffer, "buffer");
+        if (buffer.isReadOnly()) {
+            throw new ReadOnlyBufferException();
+        }
+        PrintBuffer printBuffer = PrintBuffer.acquire();
+        try {
+            int length = formatToScratch(temporal, printBuffer);
+            if (length > buffer.remaining()) {
+                throw new BufferOverflowException();
+            }
+            char[] chars = printBuffer.chars;
+            for (int i = 0; i < length; i++) {
+                if (chars[i] > 0x7F) {
+                    throw new DateTimeException("Unable to format as ASCII, found character: " + chars[i]);
+                }
+            }
+            if (buffer.hasArray()) {
+                byte[] bytes = buffer.array();
+                int offset = buffer.arrayOffset() + buffer.position();
+                for (int i = 0; i < length; i++) {
+                    bytes[offset + i] = (byte) chars[i];
+                }
+                buffer.position(buffer.position() + length);
+            } else {
+                for (int i = 0; i < length; i++) {
+                    buffer.put((byte) chars[i]);
+                }
+            }
+            return length;
+        } finally {
+            printBuffer.release();
+        }
+    }
+
+    /**
+     * Formats into a region of a {@code char} array.
+     *
+     * @param temporal  the temporal object to print, not null
+     * @param chars  the array to print to, not null
+     * @param offset  the offset to print at
+     * @param limit  the index after the last character that may be written
+     * @return the number of characters printed, -1 if the text does not fit
+     */
+    private int formatTo(TemporalAccessor temporal, char[] chars, int offset, int limit) {
+        if (compiled != null && limit - offset >= compiled.getMaxLength()) {
+            int length = formatCompiled(temporal, chars, offset);
+            if (length >= 0) {
+                return length;
+            }
+        }
+        PrintBuffer printBuffer = PrintBuffer.acquire();
+        try {
+            int length = formatToScratch(temporal, printBuffer);
+            if (length > limit - offset) {
+                return -1;
+            }
+            System.arraycopy(printBuffer.chars, 0, chars, offset, length);
+            return length;
+        } finally {
+            printBuffer.release();
+        }
+    }
+
+    /**
+     * Formats into the characters of the print buffer.
+     *
+     * @param temporal  the temporal object to print, not null
+     * @param printBuffer  the buffer to use, not null
+     * @return the number of characters printed into {@code printBuffer.chars}
+     */
+    private int formatToScratch(TemporalAccessor temporal, PrintBuffer printBuffer) {
+        if (compiled != null) {
+            printBuffer.ensureCapacity(compiled.getMaxLength());
+            int length = formatCompiled(temporal, printBuffer.chars, 0);
+            if (length >= 0) {
+                return length;
+            }
+        }
+        StringBuilder buf = printBuffer.buf;
+        buf.setLength(0);
+        printerParser.print(new DateTimePrintContext(temporal, this), buf);
+        int length = buf.length();
+        printBuffer.ensureCapacity(length);
+        buf.getChars(0, length, printBuffer.chars, 0);
+        return length;
+    }
+
+    /**
+     * Formats using the compiled printer.
+     * <p>
+     * The compiled printer is only used when the temporal would not be adjusted
+     * by the override chronology or zone.
+     *
+     * @param temporal  the temporal object to print, not null
+     * @param chars  the buffer to print to, not null
+     * @param offset  the offset to print at, with at least the maximum length of the compiled printer available
+     * @return the number of characters printed, -1 if the generic printer must be used
+     */
+    private int formatCompiled(TemporalAccessor temporal, char[] chars, int offset) {
+        Jdk8Methods.requireNonNull(temporal, "temporal");
+        if (chrono != null && chrono.equals(temporal.query(TemporalQueries.chronology())) == false) {
+            return -1;
+        }
+        if (zone != null && zone.equals(temporal.query(TemporalQueries.zoneId())) == false) {
+            return -1;
+        }
+        return compiled.print(temporal, chars, offset);
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Fully parses the text producing a temporal object.
@@ -1497,6 +1771,304 @@ public final class DateTimeFormatter {
         }
     }
 
+    /**
+     * Fully parses the text producing a {@code LocalDateTime}.
+     * <p>
+     * The result is the same as {@code parse(text, LocalDateTime.FROM)}.
+     * When the formatter parses exactly the ISO year, month, day, hour, minute
+     * and optionally second and nano, with valid values and no zone or other
+     * chronology, the result is created directly from the parsed values
+     * without the general resolving phase.
+     * Otherwise, the text is resolved in the same way as the general parse methods.
+     *
+     * @param text  the text to parse, not null
+     * @return the parsed date-time, not null
+     * @throws DateTimeParseException if unable to parse the requested result
+     */
+    public LocalDateTime parseLocalDateTime(CharSequence text) {
+        Jdk8Methods.requireNonNull(text, "text");
+        try {
+            DateTimeParseContext context = DateTimeParseContext.acquire(this);
+            try {
+                parseToContext(context, text, null);
+                LocalDateTime result = (resolverFields == null ? context.toLocalDateTime() : null);
+                if (result != null) {
+                    return result;
+                }
+                return context.toParsed().toBuilder().resolve(resolverStyle, resolverFields).build(LocalDateTime.FROM);
+            } finally {
+                context.release();
+            }
+        } catch (DateTimeParseException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            throw createError(text, ex);
+        }
+    }
+
+    /**
+     * Fully parses the text producing an {@code Instant}.
+     * <p>
+     * The result is the same as {@code parse(text, Instant.FROM)}.
+     * When the formatter parses the instant fields of {@link #ISO_INSTANT}, or the
+     * date, time and offset fields of {@link #ISO_OFFSET_DATE_TIME}, with valid values
+     * and no zone or other chronology, the result is created directly from the parsed
+     * values without the general resolving phase.
+     * Otherwise, the text is resolved in the same way as the general parse methods.
+     *
+     * @param text  the text to parse, not null
+     * @return the parsed instant, not null
+     * @throws DateTimeParseException if unable to parse the requested result
+     */
+    public Instant parseInstant(CharSequence text) {
+        Jdk8Methods.requireNonNull(text, "text");
+        try {
+            DateTimeParseContext context = DateTimeParseContext.acquire(this);
+            try {
+                parseToContext(context, text, null);
+                return toInstant(context);
+            } finally {
+                context.release();
+            }
+        } catch (DateTimeParseException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            throw createError(text, ex);
+        }
+    }
+
+    /**
+     * Resolves the parsed context to an {@code Instant}.
+     *
+     * @param context  the successfully parsed context, not null
+     * @return the instant, not null
+     * @throws DateTimeException if unable to resolve to an instant
+     */
+    private Instant toInstant(DateTimeParseContext context) {
+        Instant result = (resolverFields == null ? context.toInstant() : null);
+        if (result != null) {
+            return result;
+        }
+        return context.toParsed().toBuilder().resolve(resolverStyle, resolverFields).build(Instant.FROM);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Parses an array of texts to epoch milliseconds, reporting failures in a bitmap.
+     * <p>
+     * This is intended for parsing large columns of timestamps, such as those read
+     * from a file. Each text is fully parsed and resolved to an {@code Instant} as per
+     * {@link #parseInstant(CharSequence)}, storing the epoch milliseconds in the output
+     * array at the same index. Instead of throwing an exception, a text that cannot be
+     * parsed, or is null, has its bit set in the returned bitmap and zero in the output.
+     * <p>
+     * If an executor is specified and there are many texts, the texts are split into
+     * chunks that are parsed by the executor. This method waits for all chunks to complete.
+     *
+     * @param texts  the texts to parse, not null, may contain nulls
+     * @param out  the array to store the epoch milliseconds in, at least as long as the texts, not null
+     * @param executor  the executor to parse large inputs in parallel, null to parse on the calling thread
+     * @return the bitmap of the indices that failed to parse, not null
+     * @throws IllegalArgumentException if the output array is too short
+     */
+    public BitSet parseToEpochMillis(CharSequence[] texts, long[] out, ExecutorService executor) {
+        Jdk8Methods.requireNonNull(texts, "texts");
+        Jdk8Methods.requireNonNull(out, "out");
+        if (out.length < texts.length) {
+            throw new IllegalArgumentException("Output array is shorter than the input");
+        }
+        return parseToEpochMillis(texts, null, null, out, texts.length, executor);
+    }
+
+    /**
+     * Parses a column of texts held in a {@code char} array to epoch milliseconds,
+     * reporting failures in a bitmap.
+     * <p>
+     * The texts are held back-to-back in the array, with text {@code i} running from
+     * {@code offsets[i]} inclusive to {@code offsets[i + 1]} exclusive.
+     * Thus the number of texts is one less than the length of the offsets array.
+     * Otherwise this behaves as per {@link #parseToEpochMillis(CharSequence[], long[], ExecutorService)}.
+     *
+     * @param chars  the characters to parse, not null
+     * @param offsets  the offsets of the texts in the array, ascending, not null
+     * @param out  the array to store the epoch milliseconds in, at least as long as the number of texts, not null
+     * @param executor  the executor to parse large inputs in parallel, null to parse on the calling thread
+     * @return the bitmap of the indices that failed to parse, not null
+     * @throws IllegalArgumentException if the offsets are empty or the output array is too short
+     * @throws IndexOutOfBoundsException if the offsets are not ascending or outside the array
+     */
+    public BitSet parseToEpochMillis(char[] chars, int[] offsets, long[] out, ExecutorService executor) {
+        Jdk8Methods.requireNonNull(chars, "chars");
+        Jdk8Methods.requireNonNull(offsets, "offsets");
+        Jdk8Methods.requireNonNull(out, "out");
+        if (offsets.length == 0) {
+            throw new IllegalArgumentException("Offsets must contain at least one element");
+        }
+        int count = offsets.length - 1;
+        if (out.length < count) {
+            throw new IllegalArgumentException("Output array is shorter than the input");
+        }
+        int previous = 0;
+        for (int i = 0; i < offsets.length; i++) {
+            if (offsets[i] < previous || offsets[i] > chars.length) {
+                throw new IndexOutOfBoundsException("Invalid offset at index " + i + ": " + offsets[i]);
+            }
+            previous = offsets[i];
+        }
+        return parseToEpochMillis(null, chars, offsets, out, count, executor);
+    }
+
+    private BitSet parseToEpochMillis(
+            final CharSequence[] texts, final char[] chars, final int[] offsets,
+            final long[] out, int count, ExecutorService executor) {
+        BitSet failures = new BitSet();
+        if (executor == null || count < PARALLEL_CHUNK_SIZE * 2) {
+            parseChunk(texts, chars, offsets, out, 0, count, failures);
+            return failures;
+        }
+        List<Callable<BitSet>> tasks = new ArrayList<Callable<BitSet>>();
+        for (int start = 0; start < count; start += PARALLEL_CHUNK_SIZE) {
+            final int from = start;
+            final int to = Math.min(start + PARALLEL_CHUNK_SIZE, count);
+            tasks.add(new Callable<BitSet>() {
+                @Override
+                public BitSet call() {
+                    BitSet chunkFailures = new BitSet();
+                    parseChunk(texts, chars, offsets, out, from, to, chunkFailures);
+                    return chunkFailures;
+                }
+            });
+        }
+        try {
+            List<Future<BitSet>> results = executor.invokeAll(tasks);
+            for (int i = 0; i < results.size(); i++) {
+                BitSet chunkFailures = results.get(i).get();
+                int base = i * PARALLEL_CHUNK_SIZE;
+                for (int j = chunkFailures.nextSetBit(0); j >= 0; j = chunkFailures.nextSetBit(j + 1)) {
+                    failures.set(base + j);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DateTimeException("Interrupted while parsing", ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new DateTimeException(cause.getMessage(), cause);
+        }
+        return failures;
+    }
+
+    /**
+     * Parses a range of texts, using one parse context for the whole range.
+     *
+     * @param texts  the texts to parse, null if parsing a char array
+     * @param chars  the characters to parse, null if parsing texts
+     * @param offsets  the offsets into the characters, null if parsing texts
+     * @param out  the array to store the epoch milliseconds in, not null
+     * @param from  the first index to parse
+     * @param to  the index after the last index to parse
+     * @param failures  the bitmap of failures, relative to the first index, not null
+     */
+    private void parseChunk(
+            CharSequence[] texts, char[] chars, int[] offsets,
+            long[] out, int from, int to, BitSet failures) {
+        CharArrayRegion region = (chars != null ? new CharArrayRegion(chars) : null);
+        DateTimeParseContext context = DateTimeParseContext.acquire(this);
+        try {
+            for (int i = from; i < to; i++) {
+                CharSequence text = (region != null ? region.set(offsets[i], offsets[i + 1]) : texts[i]);
+                long millis = 0;
+                boolean parsed = false;
+                if (text != null) {
+                    if (i > from) {
+                        context.reset(this);
+                    }
+                    Instant instant = null;
+                    if (tryParseUnresolved(context, text, 0) == text.length()) {
+                        instant = tryResolve(context, Instant.FROM);
+                    }
+                    if (instant != null) {
+                        try {
+                            millis = instant.toEpochMilli();
+                            parsed = true;
+                        } catch (ArithmeticException ex) {
+                            // instant outside the range of epoch millis, reported as a failure
+                        }
+                    }
+                }
+                out[i] = millis;
+                if (parsed == false) {
+                    failures.set(i - from);
+                }
+            }
+        } finally {
+            context.release();
+        }
+    }
+
+    /**
+     * Fully parses ASCII text in a byte array producing an object of the specified type.
+     * <p>
+     * This parses the bytes directly, without decoding them to a {@code String}.
+     * Each byte is treated as one character, thus the text must be ASCII,
+     * which is the case for the ISO formats and UTF-8 encoded numeric formats.
+     * Otherwise the behavior is the same as {@link #parse(CharSequence, TemporalQuery)}.
+     * When the type is {@code LocalDateTime.FROM} or {@code Instant.FROM},
+     * the result is obtained as per {@link #parseLocalDateTime(CharSequence)}
+     * and {@link #parseInstant(CharSequence)}.
+     *
+     * @param <T> the type to extract
+     * @param bytes  the bytes to parse, not null
+     * @param offset  the index of the first byte to parse
+     * @param length  the number of bytes to parse
+     * @param type  the type to extract, not null
+     * @return the parsed date-time, not null
+     * @throws IndexOutOfBoundsException if the offset or length is invalid
+     * @throws DateTimeParseException if unable to parse the requested result
+     */
+    public <T> T parse(byte[] bytes, int offset, int length, TemporalQuery<T> type) {
+        Jdk8Methods.requireNonNull(bytes, "bytes");
+        return parseAscii(AsciiCharSequence.of(bytes, offset, length), type);
+    }
+
+    /**
+     * Fully parses the ASCII text in a {@code ByteBuffer} producing an object of the specified type.
+     * <p>
+     * This parses the remaining bytes of the buffer, from the position to the limit,
+     * without decoding them to a {@code String}. The position of the buffer is not changed.
+     * Each byte is treated as one character, thus the text must be ASCII,
+     * which is the case for the ISO formats and UTF-8 encoded numeric formats.
+     * Otherwise the behavior is the same as {@link #parse(byte[], int, int, TemporalQuery)}.
+     *
+     * @param <T> the type to extract
+     * @param buffer  the buffer to parse, not null
+     * @param type  the type to extract, not null
+     * @return the parsed date-time, not null
+     * @throws DateTimeParseException if unable to parse the requested result
+     */
+    public <T> T parse(ByteBuffer buffer, TemporalQuery<T> type) {
+        Jdk8Methods.requireNonNull(buffer, "buffer");
+        return parseAscii(AsciiCharSequence.of(buffer), type);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T parseAscii(AsciiCharSequence text, TemporalQuery<T> type) {
+        Jdk8Methods.requireNonNull(type, "type");
+        if (type == LocalDateTime.FROM) {
+            return (T) parseLocalDateTime(text);
+        }
+        if (type == Instant.FROM) {
+            return (T) parseInstant(text);
+        }
+        return parse(text, type);
+    }
+
     /**
      * Fully parses the text producing an object of one of the specified types.
      * <p>
@@ -1535,10 +2107,9 @@ public final class DateTimeFormatter {
         try {
             DateTimeBuilder builder = parseToBuilder(text, null).resolve(resolverStyle, resolverFields);
             for (TemporalQuery<?> type : types) {
-                try {
-                    return (TemporalAccessor) builder.build(type);
-                } catch (RuntimeException ex) {
-                    // continue
+                Object result = builder.tryBuild(type);
+                if (result instanceof TemporalAccessor) {
+                    return (TemporalAccessor) result;
                 }
             }
             throw new DateTimeException("Unable to convert parsed text to any specified type: " + Arrays.toString(types));
@@ -1549,6 +2120,140 @@ public final class DateTimeFormatter {
         }
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Fully parses the text producing an object of the specified type,
+     * returning null instead of throwing an exception if unable to parse.
+     * <p>
+     * This is intended for processing data where a significant proportion of the
+     * texts are expected to be invalid, as no exception is created for text that
+     * does not match the formatter or that cannot be converted to the requested type.
+     * Otherwise the behavior is the same as {@link #parse(CharSequence, TemporalQuery)}.
+     * If the fields are parsed but are invalid during resolving, such as the 30th
+     * of February in strict mode, the failure is detected by the resolver internally.
+     *
+     * @param <T> the type to extract
+     * @param text  the text to parse, not null
+     * @param type  the type to extract, not null
+     * @return the parsed date-time, null if unable to parse the entire text to the requested type
+     */
+    public <T> T tryParse(CharSequence text, TemporalQuery<T> type) {
+        Jdk8Methods.requireNonNull(text, "text");
+        Jdk8Methods.requireNonNull(type, "type");
+        return tryParse0(text, null, type);
+    }
+
+    /**
+     * Parses the text from a position producing an object of the specified type,
+     * returning null instead of throwing an exception if unable to parse.
+     * <p>
+     * The text is parsed from the index of the position, which is updated to the
+     * index after the parsed text on success. The entire text does not have to be parsed.
+     * On failure, the error index of the position is set and null is returned.
+     * If the text matches but cannot be resolved to the requested type,
+     * the error index is the index parsing started from.
+     * <p>
+     * As with {@link #tryParse(CharSequence, TemporalQuery)}, no exception is created
+     * for text that does not match the formatter or that cannot be converted to the requested type.
+     *
+     * @param <T> the type to extract
+     * @param text  the text to parse, not null
+     * @param position  the position to parse from, updated with length parsed
+     *  and the index of any error, not null
+     * @param type  the type to extract, not null
+     * @return the parsed date-time, null if unable to parse to the requested type
+     * @throws IndexOutOfBoundsException if the position is invalid
+     */
+    public <T> T tryParse(CharSequence text, ParsePosition position, TemporalQuery<T> type) {
+        Jdk8Methods.requireNonNull(text, "text");
+        Jdk8Methods.requireNonNull(position, "position");
+        Jdk8Methods.requireNonNull(type, "type");
+        return tryParse0(text, position, type);
+    }
+
+    private <T> T tryParse0(CharSequence text, ParsePosition position, TemporalQuery<T> type) {
+        int start = (position != null ? position.getIndex() : 0);
+        DateTimeParseContext context = DateTimeParseContext.acquire(this);
+        try {
+            if (start < 0 || start > text.length()) {
+                throw new IndexOutOfBoundsException("Invalid position: " + start);
+            }
+            int pos = tryParseUnresolved(context, text, start);
+            if (pos < 0) {
+                if (position != null) {
+                    position.setErrorIndex(~pos);
+                }
+                return null;
+            }
+            if (position == null && pos < text.length()) {
+                return null;
+            }
+            T result = tryResolve(context, type);
+            if (position != null) {
+                if (result == null) {
+                    position.setErrorIndex(start);
+                } else {
+                    position.setIndex(pos);
+                }
+            }
+            return result;
+        } finally {
+            context.release();
+        }
+    }
+
+    /**
+     * Parses the text into the context, returning an error rather than throwing
+     * if a printer-parser fails with an exception.
+     *
+     * @param context  the context to parse into, not null
+     * @param text  the text to parse, not null
+     * @param position  the position to parse from, valid
+     * @return the position after the parse, or the complement of the error position
+     */
+    private int tryParseUnresolved(DateTimeParseContext context, CharSequence text, int position) {
+        try {
+            return parseUnresolved0(context, text, position);
+        } catch (RuntimeException ex) {
+            return ~position;
+        }
+    }
+
+    /**
+     * Resolves the parsed context to the requested type, returning null if unable.
+     *
+     * @param context  the successfully parsed context, not null
+     * @param type  the type to extract, not null
+     * @return the resolved date-time, null if unable to resolve to the requested type
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T tryResolve(DateTimeParseContext context, TemporalQuery<T> type) {
+        if (resolverFields == null) {
+            if (type == LocalDateTime.FROM) {
+                LocalDateTime result = context.toLocalDateTime();
+                if (result != null) {
+                    return (T) result;
+                }
+            } else if (type == Instant.FROM) {
+                Instant result = context.toInstant();
+                if (result != null) {
+                    return (T) result;
+                }
+            }
+            // avoid the cost of the exception thrown when resolving invalid values
+            if (context.isInvalid(resolverStyle)) {
+                return null;
+            }
+        }
+        DateTimeBuilder builder;
+        try {
+            builder = context.toParsed().toBuilder().resolve(resolverStyle, resolverFields);
+        } catch (RuntimeException ex) {
+            return null;
+        }
+        return builder.tryBuild(type);
+    }
+
     private DateTimeParseException createError(CharSequence text, RuntimeException ex) {
         String abbr = "";
         if (text.length() > 64) {
@@ -1574,24 +2279,51 @@ public final class DateTimeFormatter {
      * @throws DateTimeParseException if the parse fails
      */
     private DateTimeBuilder parseToBuilder(final CharSequence text, final ParsePosition position) {
-        ParsePosition pos = (position != null ? position : new ParsePosition(0));
-        Parsed result = parseUnresolved0(text, pos);
-        if (result == null || pos.getErrorIndex() >= 0 || (position == null && pos.getIndex() < text.length())) {
+        // the pooled context is confined to this method, as the builder copies the parsed data
+        DateTimeParseContext context = DateTimeParseContext.acquire(this);
+        try {
+            parseToContext(context, text, position);
+            return context.toParsed().toBuilder();
+        } finally {
+            context.release();
+        }
+    }
+
+    /**
+     * Parses the text into the context, throwing an exception if the parse fails.
+     *
+     * @param context  the context to parse into, not null
+     * @param text  the text to parse, not null
+     * @param position  the position to parse from, updated with length parsed
+     *  and the index of any error, null to parse the entire text
+     * @throws DateTimeParseException if the parse fails
+     */
+    private void parseToContext(DateTimeParseContext context, CharSequence text, ParsePosition position) {
+        int pos = parseUnresolved0(context, text, (position != null ? position.getIndex() : 0));
+        int errorIndex = (pos < 0 ? ~pos : -1);
+        if (position != null) {
+            if (pos < 0) {
+                position.setErrorIndex(errorIndex);  // index not updated from input
+            } else {
+                position.setIndex(pos);  // errorIndex not updated from input
+            }
+            errorIndex = position.getErrorIndex();
+        }
+        if (errorIndex >= 0 || (position == null && pos < text.length())) {
             String abbr = "";
             if (text.length() > 64) {
                 abbr = text.subSequence(0, 64).toString() + "...";
             } else {
                 abbr = text.toString();
             }
-            if (pos.getErrorIndex() >= 0) {
+            if (errorIndex >= 0) {
                 throw new DateTimeParseException("Text '" + abbr + "' could not be parsed at index " +
-                        pos.getErrorIndex(), text, pos.getErrorIndex());
+                        errorIndex, text, errorIndex);
             } else {
                 throw new DateTimeParseException("Text '" + abbr + "' could not be parsed, unparsed text found at index " +
-                        pos.getIndex(), text, pos.getIndex());
+                        pos, text, pos);
             }
         }
-        return result.toBuilder();
     }
 
     /**
@@ -1641,8 +2373,7 @@ public final class DateTimeFormatter {
         Jdk8Methods.requireNonNull(text, "text");
         Jdk8Methods.requireNonNull(position, "position");
         DateTimeParseContext context = new DateTimeParseContext(this);
-        int pos = position.getIndex();
-        pos = printerParser.parse(context, text, pos);
+        int pos = parseUnresolved0(context, text, position.getIndex());
         if (pos < 0) {
             position.setErrorIndex(~pos);  // index not updated from input
             return null;
@@ -1651,6 +2382,22 @@ public final class DateTimeFormatter {
         return context.toParsed();
     }
 
+    /**
+     * Parses the text into the context.
+     *
+     * @param context  the context to parse into, not null
+     * @param text  the text to parse, not null
+     * @param position  the position to parse from
+     * @return the position after the parse, negative if an error occurred
+     */
+    private int parseUnresolved0(DateTimeParseContext context, CharSequence text, int position) {
+        Jdk8Methods.requireNonNull(text, "text");
+        if (compiled != null) {
+            return compiled.parse(context, text, position);
+        }
+        return printerParser.parse(context, text, position);
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Returns the formatter as a composite printer parser.
@@ -1793,4 +2540,273 @@ public final class DateTimeFormatter {
         }
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Bounded cache of formatters created from patterns.
+     * <p>
+     * Eviction uses the clock algorithm, an approximation of least recently used.
+     * Each entry has a flag set when it is used. When the cache is full, a hand moves
+     * around the entries clearing the flag of each used entry, and removing the first
+     * entry not used since the hand last passed it.
+     * Thus a hit is a single map lookup and only a miss that evicts takes a lock.
+     * <p>
+     * Hits are counted by each entry and summed when requested, thus only threads
+     * requesting the same pattern update the same counter.
+     */
+    static final class PatternCache {
+        /** The shared cache. */
+        static final PatternCache INSTANCE =
+                new PatternCache(Integer.getInteger("org.threeten.bp.format.DateTimeFormatter.patternCacheSize", 256));
+
+        /** The cached formatters. */
+        private final ConcurrentMap<Key, Entry> map;
+        /** The maximum number of entries, zero if disabled. */
+        private final int maxSize;
+        /** The number of hits on entries that have been evicted. */
+        private final AtomicLong evictedHits = new AtomicLong();
+        /** The number of misses. */
+        private final AtomicLong misses = new AtomicLong();
+        /** The clock hand, guarded by this. */
+        private Iterator<Entry> hand;
+
+        /**
+         * Creates an instance.
+         *
+         * @param maxSize  the maximum number of entries, zero or less to disable
+         */
+        PatternCache(int maxSize) {
+            this.maxSize = Math.max(maxSize, 0);
+            this.map = new ConcurrentHashMap<Key, Entry>(Math.min(this.maxSize, 256), 0.75f, 16);
+        }
+
+        /**
+         * Gets a formatter for the pattern and locale, creating it if necessary.
+         *
+         * @param pattern  the pattern, not null
+         * @param locale  the locale, not null
+         * @return the formatter, not null
+         * @throws IllegalArgumentException if the pattern is invalid
+         */
+        DateTimeFormatter get(String pattern, Locale locale) {
+            Jdk8Methods.requireNonNull(pattern, "pattern");
+            Jdk8Methods.requireNonNull(locale, "locale");
+            if (maxSize == 0) {
+                misses.incrementAndGet();
+                return new DateTimeFormatterBuilder().appendPattern(pattern).toFormatter(locale);
+            }
+            Key key = new Key(pattern, locale);
+            Entry entry = map.get(key);
+            if (entry != null) {
+                if (entry.used == false) {
+                    entry.used = true;
+                }
+                entry.hits.incrementAndGet();
+                return entry.formatter;
+            }
+            misses.incrementAndGet();
+            DateTimeFormatter formatter = new DateTimeFormatterBuilder().appendPattern(pattern).toFormatter(locale);
+            if (map.putIfAbsent(key, new Entry(formatter)) == null && map.size() > maxSize) {
+                evict();
+            }
+            return formatter;
+        }
+
+        private synchronized void evict() {
+            while (map.size() > maxSize) {
+                if (hand == null || hand.hasNext() == false) {
+                    hand = map.values().iterator();
+                }
+                Entry entry = hand.next();
+                if (entry.used) {
+                    entry.used = false;
+                } else {
+                    hand.remove();
+                    evictedHits.addAndGet(entry.hits.get());
+                }
+            }
+        }
+
+        int size() {
+            return map.size();
+        }
+
+        boolean contains(String pattern, Locale locale) {
+            return map.containsKey(new Key(pattern, locale));
+        }
+
+        long getHitCount() {
+            long total = evictedHits.get();
+            for (Entry entry : map.values()) {
+                total += entry.hits.get();
+            }
+            return total;
+        }
+
+        long getMissCount() {
+            return misses.get();
+        }
+
+        /**
+         * The key of the cache.
+         */
+        private static final class Key {
+            private final String pattern;
+            private final Locale locale;
+            private final int hashCode;
+
+            Key(String pattern, Locale locale) {
+                this.pattern = pattern;
+                this.locale = locale;
+                this.hashCode = pattern.hashCode() * 31 + locale.hashCode();
+            }
+
+            @Override
+            public boolean equals(Object obj) {
+                if (obj instanceof Key) {
+                    Key other = (Key) obj;
+                    return hashCode == other.hashCode && pattern.equals(other.pattern) && locale.equals(other.locale);
+                }
+                return false;
+            }
+
+            @Override
+            public int hashCode() {
+                return hashCode;
+            }
+        }
+
+        /**
+         * The value of the cache.
+         */
+        private static final class Entry {
+            private final DateTimeFormatter formatter;
+            private volatile boolean used = true;
+            private final AtomicLong hits = new AtomicLong();
+
+            Entry(DateTimeFormatter formatter) {
+                this.formatter = formatter;
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A reusable view of a region of a {@code char} array.
+     */
+    static final class CharArrayRegion implements CharSequence {
+        /** The characters. */
+        private final char[] chars;
+        /** The index of the first character of the region. */
+        private int start;
+        /** The index after the last character of the region. */
+        private int end;
+
+        /**
+         * Creates an instance.
+         *
+         * @param chars  the characters, not null
+         */
+        CharArrayRegion(char[] chars) {
+            this.chars = chars;
+        }
+
+        /**
+         * Sets the region, which must be within the array.
+         *
+         * @param start  the index of the first character
+         * @param end  the index after the last character
+         * @return this, for chaining
+         */
+        CharArrayRegion set(int start, int end) {
+            this.start = start;
+            this.end = end;
+            return this;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= end - start) {
+                throw new IndexOutOfBoundsException("Invalid index: " + index);
+            }
+            return chars[start + index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || end > length() || start > end) {
+                throw new IndexOutOfBoundsException("Invalid range: " + start + " to " + end);
+            }
+            return new String(chars, this.start + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(chars, start, end - start);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Scratch buffers used when formatting to arrays and buffers.
+     * <p>
+     * One instance is cached per thread, a nested format on the same thread uses a new instance.
+     * The buffers hold no references to formatters or temporal objects, and the builder is
+     * emptied on release. The cache is disabled along with the pool of parse contexts,
+     * see {@link DateTimeParseContext}.
+     */
+    static final class PrintBuffer {
+        /** The buffers for the current thread. */
+        private static final ThreadLocal<PrintBuffer> CACHE = new ThreadLocal<PrintBuffer>();
+        /** The builder for the generic printer. */
+        final StringBuilder buf = new StringBuilder(32);
+        /** The printed characters. */
+        char[] chars = new char[32];
+        /** Whether the buffer is in use. */
+        private boolean inUse;
+
+        /**
+         * Obtains the buffer for the current thread.
+         *
+         * @return the buffer, not null
+         */
+        static PrintBuffer acquire() {
+            if (DateTimeParseContext.POOL_DISABLED) {
+                return new PrintBuffer();
+            }
+            PrintBuffer buffer = CACHE.get();
+            if (buffer == null) {
+                buffer = new PrintBuffer();
+                CACHE.set(buffer);
+            } else if (buffer.inUse) {
+                return new PrintBuffer();  // nested format on the same thread
+            }
+            buffer.inUse = true;
+            return buffer;
+        }
+
+        /**
+         * Releases the buffer obtained from {@link #acquire()}.
+         */
+        void release() {
+            buf.setLength(0);
+            inUse = false;
+        }
+
+        /**
+         * Ensures the character array can hold the specified number of characters.
+         *
+         * @param length  the number of characters
+         */
+        void ensureCapacity(int length) {
+            if (chars.length < length) {
+                chars = new char[Math.max(length, chars.length * 2)];
+            }
+        }
+    }
+
 }
@@ -46,8 +46,8 @@ import java.math.BigInteger;
 import java.math.RoundingMode;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
-import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -62,6 +62,7 @@ import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.TreeMap;
+import java.util.TreeSet;
 
 import org.threeten.bp.DateTimeException;
 import org.threeten.bp.Instant;
@@ -71,6 +72,7 @@ import org.threeten.bp.ZoneId;
 import org.threeten.bp.ZoneOffset;
 import org.threeten.bp.chrono.ChronoLocalDate;
 import org.threeten.bp.chrono.Chronology;
+import org.threeten.bp.format.DateTimeTextProvider.TextTrie;
 import org.threeten.bp.format.SimpleDateTimeTextProvider.LocaleStore;
 import org.threeten.bp.jdk8.Jdk8Methods;
 import org.threeten.bp.temporal.ChronoField;
@@ -733,6 +735,10 @@ public final class DateTimeFormatterBuilder {
             public Iterator<Entry<String, Long>> getTextIterator(TemporalField field, TextStyle style, Locale locale) {
                 return store.getTextIterator(style);
             }
+            @Override
+            public TextTrie getTextTrie(TemporalField field, TextStyle style, Locale locale) {
+                return store.getTextTrie(style);
+            }
         };
         appendInternal(new TextPrinterParser(field, TextStyle.FULL, provider));
         return this;
@@ -2044,6 +2050,601 @@ public final class DateTimeFormatterBuilder {
         }
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Compiled form of a composite printer-parser built from fixed-width elements.
+     * <p>
+     * The generic chain prints each numeric field via {@code Long.toString} and padding,
+     * and parses via the decimal style, which dominates the cost of the common ISO-8601 formats.
+     * A chain consisting only of settings, literals, non-negative numbers, nano-of-second fractions,
+     * offset IDs and instants is flattened into an array of instructions.
+     * Printing writes digits directly into a {@code char[]} and parsing reads directly
+     * from the {@code CharSequence}.
+     * <p>
+     * The result is always identical to that of the chain it was compiled from.
+     * Printing returns -1 when the value is outside the simple fixed-width domain,
+     * such as a year with more than four digits, and the caller then uses the generic chain.
+     * Parsing delegates individual elements to the original printer-parser in the same case.
+     * The compiled form assumes the standard decimal style and no chronology or zone adjustment.
+     */
+    static final class CompiledPrinterParser {
+        private static final int OP_GROUP = 0;
+        private static final int OP_SETTINGS = 1;
+        private static final int OP_CHAR = 2;
+        private static final int OP_STRING = 3;
+        private static final int OP_NUMBER = 4;
+        private static final int OP_FRACTION = 5;
+        private static final int OP_OFFSET = 6;
+        private static final int OP_INSTANT = 7;
+        /** The print result when an element has no value within an optional section. */
+        private static final int ABSENT = -1;
+        /** The print result when the generic printer must be used. */
+        private static final int UNSUPPORTED = -2;
+        /** The maximum length of a printed instant. */
+        private static final int INSTANT_LENGTH = 30;
+        /** The first second printed by an instant with a four digit year. */
+        private static final long MIN_INSTANT_SECOND = -InstantPrinterParser.SECONDS_0000_TO_1970;
+        /** The last second printed by an instant with a four digit year. */
+        private static final long MAX_INSTANT_SECOND =
+                InstantPrinterParser.SECONDS_PER_10000_YEARS - InstantPrinterParser.SECONDS_0000_TO_1970 - 1;
+        /** Powers of ten up to 10^18. */
+        private static final long[] POWERS = new long[19];
+        static {
+            POWERS[0] = 1;
+            for (int i = 1; i < POWERS.length; i++) {
+                POWERS[i] = POWERS[i - 1] * 10;
+            }
+        }
+
+        /** The instruction for each element. */
+        private final int[] ops;
+        /** The original printer-parser for each element. */
+        private final DateTimePrinterParser[] elements;
+        /** The index after the end of each group, only used for groups. */
+        private final int[] ends;
+        /** The maximum number of characters that can be printed. */
+        private final int maxLength;
+
+        private CompiledPrinterParser(int[] ops, DateTimePrinterParser[] elements, int[] ends, int maxLength) {
+            this.ops = ops;
+            this.elements = elements;
+            this.ends = ends;
+            this.maxLength = maxLength;
+        }
+
+        /**
+         * Compiles the composite printer-parser if all its elements are supported.
+         *
+         * @param printerParser  the printer-parser to compile, not null
+         * @return the compiled printer-parser, null if the chain cannot be compiled
+         */
+        static CompiledPrinterParser compile(CompositePrinterParser printerParser) {
+            List<DateTimePrinterParser> elements = new ArrayList<DateTimePrinterParser>();
+            List<Integer> ops = new ArrayList<Integer>();
+            List<Integer> ends = new ArrayList<Integer>();
+            int maxLength = flatten(printerParser, elements, ops, ends);
+            if (maxLength < 0) {
+                return null;
+            }
+            int size = elements.size();
+            int[] opArray = new int[size];
+            int[] endArray = new int[size];
+            for (int i = 0; i < size; i++) {
+                opArray[i] = ops.get(i);
+                endArray[i] = ends.get(i);
+            }
+            return new CompiledPrinterParser(
+                    opArray, elements.toArray(new DateTimePrinterParser[size]), endArray, maxLength);
+        }
+
+        private static int flatten(DateTimePrinterParser pp,
+                List<DateTimePrinterParser> elements, List<Integer> ops, List<Integer> ends) {
+            int index = elements.size();
+            elements.add(pp);
+            ends.add(index + 1);
+            if (pp instanceof CompositePrinterParser) {
+                ops.add(OP_GROUP);
+                int length = 0;
+                for (DateTimePrinterParser child : ((CompositePrinterParser) pp).printerParsers) {
+                    int childLength = flatten(child, elements, ops, ends);
+                    if (childLength < 0) {
+                        return -1;
+                    }
+                    length += childLength;
+                }
+                ends.set(index, elements.size());
+                return length;
+            }
+            if (pp instanceof SettingsParser) {
+                ops.add(OP_SETTINGS);
+                return 0;
+            }
+            if (pp instanceof CharLiteralPrinterParser) {
+                ops.add(OP_CHAR);
+                return 1;
+            }
+            if (pp instanceof StringLiteralPrinterParser) {
+                ops.add(OP_STRING);
+                return ((StringLiteralPrinterParser) pp).literal.length();
+            }
+            if (pp.getClass() == NumberPrinterParser.class) {
+                NumberPrinterParser number = (NumberPrinterParser) pp;
+                // the width of an exceeds-pad number is checked before any overflow matters
+                int width = (number.signStyle == SignStyle.EXCEEDS_PAD ? number.minWidth : number.maxWidth);
+                if ((number.signStyle == SignStyle.NOT_NEGATIVE || number.signStyle == SignStyle.EXCEEDS_PAD) &&
+                        width < POWERS.length && number.subsequentWidth <= 0) {
+                    ops.add(OP_NUMBER);
+                    return number.maxWidth;
+                }
+                return -1;
+            }
+            if (pp instanceof FractionPrinterParser) {
+                FractionPrinterParser fraction = (FractionPrinterParser) pp;
+                if (fraction.field == NANO_OF_SECOND) {
+                    ops.add(OP_FRACTION);
+                    return fraction.maxWidth + 1;
+                }
+                return -1;
+            }
+            if (pp instanceof OffsetIdPrinterParser) {
+                ops.add(OP_OFFSET);
+                return Math.max(((OffsetIdPrinterParser) pp).noOffsetText.length(), 9);
+            }
+            if (pp instanceof InstantPrinterParser) {
+                ops.add(OP_INSTANT);
+                return INSTANT_LENGTH;
+            }
+            return -1;
+        }
+
+        /**
+         * Gets the maximum number of characters that can be printed.
+         *
+         * @return the size of the buffer required by {@link #print}
+         */
+        int getMaxLength() {
+            return maxLength;
+        }
+
+        //-----------------------------------------------------------------------
+        /**
+         * Prints the temporal into the buffer.
+         * <p>
+         * If the generic printer must be used, characters from the offset onwards
+         * may have been overwritten.
+         *
+         * @param temporal  the temporal to print, not null
+         * @param buf  the buffer to print to, not null
+         * @param offset  the offset to print at, with at least {@link #getMaxLength()} characters available
+         * @return the number of characters printed, -1 if the generic printer must be used
+         */
+        int print(TemporalAccessor temporal, char[] buf, int offset) {
+            try {
+                int pos = printGroup(temporal, buf, offset, 0, 0);
+                return (pos < 0 ? -1 : pos - offset);
+            } catch (RuntimeException ex) {
+                return -1;  // the generic printer reports the problem
+            }
+        }
+
+        private int printGroup(TemporalAccessor temporal, char[] buf, int start, int index, int optional) {
+            int pos = start;
+            int end = ends[index];
+            for (int i = index + 1; i < end; ) {
+                int result;
+                if (ops[i] == OP_GROUP) {
+                    boolean optionalGroup = ((CompositePrinterParser) elements[i]).optional;
+                    result = printGroup(temporal, buf, pos, i, optionalGroup ? optional + 1 : optional);
+                    i = ends[i];
+                } else {
+                    result = printElement(temporal, buf, pos, i, optional);
+                    i++;
+                }
+                if (result == ABSENT) {
+                    return start;  // reset buffer
+                }
+                if (result == UNSUPPORTED) {
+                    return UNSUPPORTED;
+                }
+                pos = result;
+            }
+            return pos;
+        }
+
+        private int printElement(TemporalAccessor temporal, char[] buf, int pos, int index, int optional) {
+            switch (ops[index]) {
+                case OP_SETTINGS:
+                    return pos;
+                case OP_CHAR:
+                    buf[pos] = ((CharLiteralPrinterParser) elements[index]).literal;
+                    return pos + 1;
+                case OP_STRING: {
+                    String literal = ((StringLiteralPrinterParser) elements[index]).literal;
+                    literal.getChars(0, literal.length(), buf, pos);
+                    return pos + literal.length();
+                }
+                case OP_NUMBER: {
+                    NumberPrinterParser pp = (NumberPrinterParser) elements[index];
+                    long value;
+                    try {
+                        value = temporal.getLong(pp.field);
+                    } catch (DateTimeException ex) {
+                        return (optional > 0 ? ABSENT : UNSUPPORTED);
+                    }
+                    int limit = (pp.signStyle == SignStyle.EXCEEDS_PAD ? pp.minWidth : pp.maxWidth);
+                    if (value < 0 || value >= POWERS[limit]) {
+                        return UNSUPPORTED;  // sign or error
+                    }
+                    int width = pp.minWidth;
+                    while (width < limit && value >= POWERS[width]) {
+                        width++;
+                    }
+                    return printDigits(buf, pos, value, width);
+                }
+                case OP_FRACTION: {
+                    FractionPrinterParser pp = (FractionPrinterParser) elements[index];
+                    long value;
+                    try {
+                        value = temporal.getLong(NANO_OF_SECOND);
+                    } catch (DateTimeException ex) {
+                        return (optional > 0 ? ABSENT : UNSUPPORTED);
+                    }
+                    if (value < 0 || value >= POWERS[9]) {
+                        return UNSUPPORTED;
+                    }
+                    if (value == 0 && pp.minWidth == 0) {
+                        return pos;
+                    }
+                    int scale = 9;
+                    while (scale > 0 && value % POWERS[10 - scale] == 0) {
+                        scale--;
+                    }
+                    int outputScale = Math.min(Math.max(scale, pp.minWidth), pp.maxWidth);
+                    if (pp.decimalPoint) {
+                        buf[pos++] = '.';
+                    }
+                    return printDigits(buf, pos, value / POWERS[9 - outputScale], outputScale);
+                }
+                case OP_OFFSET: {
+                    OffsetIdPrinterParser pp = (OffsetIdPrinterParser) elements[index];
+                    long offsetSecs;
+                    try {
+                        offsetSecs = temporal.getLong(OFFSET_SECONDS);
+                    } catch (DateTimeException ex) {
+                        return (optional > 0 ? ABSENT : UNSUPPORTED);
+                    }
+                    if (offsetSecs < Integer.MIN_VALUE || offsetSecs > Integer.MAX_VALUE) {
+                        return UNSUPPORTED;
+                    }
+                    return printOffset(pp, buf, pos, (int) offsetSecs);
+                }
+                case OP_INSTANT: {
+                    InstantPrinterParser pp = (InstantPrinterParser) elements[index];
+                    long inSec;
+                    try {
+                        inSec = temporal.getLong(INSTANT_SECONDS);
+                    } catch (DateTimeException ex) {
+                        return (optional > 0 ? ABSENT : UNSUPPORTED);
+                    }
+                    long inNano = (temporal.isSupported(NANO_OF_SECOND) ? temporal.getLong(NANO_OF_SECOND) : 0);
+                    if (inSec < MIN_INSTANT_SECOND || inSec > MAX_INSTANT_SECOND || inNano < 0 || inNano >= POWERS[9]) {
+                        return UNSUPPORTED;
+                    }
+                    return printInstant(pp, buf, pos, inSec, (int) inNano);
+                }
+                default:
+                    throw new IllegalStateException("Unreachable");
+            }
+        }
+
+        private static int printDigits(char[] buf, int pos, long value, int width) {
+            int end = pos + width;
+            for (int i = end - 1; i >= pos; i--) {
+                buf[i] = (char) ('0' + (value % 10));
+                value /= 10;
+            }
+            return end;
+        }
+
+        private static int printOffset(OffsetIdPrinterParser pp, char[] buf, int pos, int totalSecs) {
+            int type = pp.type;
+            int start = pos;
+            if (totalSecs != 0) {
+                int absHours = Math.abs((totalSecs / 3600) % 100);  // anything larger than 99 silently dropped
+                int absMinutes = Math.abs((totalSecs / 60) % 60);
+                int absSeconds = Math.abs(totalSecs % 60);
+                int output = absHours;
+                buf[pos++] = (totalSecs < 0 ? '-' : '+');
+                pos = printDigits(buf, pos, absHours, 2);
+                if (type >= 3 || (type >= 1 && absMinutes > 0)) {
+                    if ((type % 2) == 0) {
+                        buf[pos++] = ':';
+                    }
+                    pos = printDigits(buf, pos, absMinutes, 2);
+                    output += absMinutes;
+                    if (type >= 7 || (type >= 5 && absSeconds > 0)) {
+                        if ((type % 2) == 0) {
+                            buf[pos++] = ':';
+                        }
+                        pos = printDigits(buf, pos, absSeconds, 2);
+                        output += absSeconds;
+                    }
+                }
+                if (output != 0) {
+                    return pos;
+                }
+            }
+            String noOffsetText = pp.noOffsetText;
+            noOffsetText.getChars(0, noOffsetText.length(), buf, start);
+            return start + noOffsetText.length();
+        }
+
+        private static int printInstant(InstantPrinterParser pp, char[] buf, int pos, long inSec, int inNano) {
+            long epochDay = Jdk8Methods.floorDiv(inSec, 86400);
+            int secsOfDay = Jdk8Methods.floorMod(inSec, 86400);
+            LocalDate date = LocalDate.ofEpochDay(epochDay);
+            pos = printDigits(buf, pos, date.getYear(), 4);
+            buf[pos++] = '-';
+            pos = printDigits(buf, pos, date.getMonthValue(), 2);
+            buf[pos++] = '-';
+            pos = printDigits(buf, pos, date.getDayOfMonth(), 2);
+            buf[pos++] = 'T';
+            pos = printDigits(buf, pos, secsOfDay / 3600, 2);
+            buf[pos++] = ':';
+            pos = printDigits(buf, pos, (secsOfDay / 60) % 60, 2);
+            buf[pos++] = ':';
+            pos = printDigits(buf, pos, secsOfDay % 60, 2);
+            int fractionalDigits = pp.fractionalDigits;
+            if (fractionalDigits == -2) {
+                if (inNano != 0) {
+                    buf[pos++] = '.';
+                    if (inNano % 1000000 == 0) {
+                        pos = printDigits(buf, pos, inNano / 1000000, 3);
+                    } else if (inNano % 1000 == 0) {
+                        pos = printDigits(buf, pos, inNano / 1000, 6);
+                    } else {
+                        pos = printDigits(buf, pos, inNano, 9);
+                    }
+                }
+            } else if (fractionalDigits > 0 || (fractionalDigits == -1 && inNano > 0)) {
+                buf[pos++] = '.';
+                int div = 100000000;
+                for (int i = 0; ((fractionalDigits == -1 && inNano > 0) || i < fractionalDigits); i++) {
+                    int digit = inNano / div;
+                    buf[pos++] = (char) (digit + '0');
+                    inNano = inNano - (digit * div);
+                    div = div / 10;
+                }
+            }
+            buf[pos++] = 'Z';
+            return pos;
+        }
+
+        //-----------------------------------------------------------------------
+        /**
+         * Parses the text, with the same result as the original printer-parser.
+         *
+         * @param context  the context to use and parse into, not null
+         * @param text  the text to parse, not null
+         * @param position  the position to start parsing at
+         * @return the position after the parse, negative if an error occurred
+         */
+        int parse(DateTimeParseContext context, CharSequence text, int position) {
+            return parseGroup(context, text, position, 0);
+        }
+
+        private int parseGroup(DateTimeParseContext context, CharSequence text, int position, int index) {
+            boolean optional = ((CompositePrinterParser) elements[index]).optional;
+            if (optional) {
+                context.startOptional();
+            }
+            int pos = position;
+            int end = ends[index];
+            for (int i = index + 1; i < end; ) {
+                if (ops[i] == OP_GROUP) {
+                    pos = parseGroup(context, text, pos, i);
+                    i = ends[i];
+                } else {
+                    pos = parseElement(context, text, pos, i);
+                    i++;
+                }
+                if (pos < 0) {
+                    if (optional) {
+                        context.endOptional(false);
+                        return position;  // return original position
+                    }
+                    return pos;
+                }
+            }
+            if (optional) {
+                context.endOptional(true);
+            }
+            return pos;
+        }
+
+        private int parseElement(DateTimeParseContext context, CharSequence text, int position, int index) {
+            DateTimePrinterParser element = elements[index];
+            switch (ops[index]) {
+                case OP_CHAR: {
+                    if (position == text.length()) {
+                        return ~position;
+                    }
+                    char ch = text.charAt(position);
+                    if (context.charEquals(((CharLiteralPrinterParser) element).literal, ch) == false) {
+                        return ~position;
+                    }
+                    return position + 1;
+                }
+                case OP_NUMBER:
+                    if (context.isStrict()) {
+                        return parseNumber((NumberPrinterParser) element, context, text, position);
+                    }
+                    break;
+                case OP_FRACTION:
+                    if (context.isStrict()) {
+                        return parseFraction((FractionPrinterParser) element, context, text, position);
+                    }
+                    break;
+                case OP_INSTANT:
+                    if (context.isStrict()) {
+                        int result = parseInstant((InstantPrinterParser) element, context, text, position);
+                        if (result != UNSUPPORTED) {
+                            return result;
+                        }
+                    }
+                    break;
+            }
+            return element.parse(context, text, position);
+        }
+
+        private static int parseNumber(NumberPrinterParser pp, DateTimeParseContext context, CharSequence text, int position) {
+            int length = text.length();
+            if (position == length) {
+                return ~position;
+            }
+            char ch = text.charAt(position);  // IOOBE if invalid position
+            if (ch == '+' || ch == '-') {
+                return pp.parse(context, text, position);
+            }
+            int minEndPos = position + pp.minWidth;
+            if (minEndPos > length) {
+                return ~position;
+            }
+            int maxEndPos = Math.min(position + pp.maxWidth, length);
+            long total = 0;
+            int pos = position;
+            while (pos < maxEndPos) {
+                ch = text.charAt(pos);
+                if (ch < '0' || ch > '9') {
+                    break;
+                }
+                total = total * 10 + (ch - '0');
+                pos++;
+            }
+            if (pos < minEndPos) {
+                return ~position;  // need at least min width digits
+            }
+            if (pp.signStyle == SignStyle.EXCEEDS_PAD && pos - position > pp.minWidth) {
+                return ~position;  // '+' must be parsed if minWidth exceeded
+            }
+            return pp.setValue(context, total, position, pos);
+        }
+
+        private static int parseFraction(FractionPrinterParser pp, DateTimeParseContext context, CharSequence text, int position) {
+            int length = text.length();
+            if (position == length) {
+                return (pp.minWidth > 0 ? ~position : position);
+            }
+            if (pp.decimalPoint) {
+                if (text.charAt(position) != '.') {
+                    return (pp.minWidth > 0 ? ~position : position);
+                }
+                position++;
+            }
+            int minEndPos = position + pp.minWidth;
+            if (minEndPos > length) {
+                return ~position;  // need at least min width digits
+            }
+            int maxEndPos = Math.min(position + pp.maxWidth, length);
+            int total = 0;
+            int pos = position;
+            while (pos < maxEndPos) {
+                char ch = text.charAt(pos);
+                if (ch < '0' || ch > '9') {
+                    // matches the generic parser, which permits one digit fewer than the minimum
+                    if (pos + 1 < minEndPos) {
+                        return ~position;
+                    }
+                    break;
+                }
+                total = total * 10 + (ch - '0');
+                pos++;
+            }
+            long value = total * POWERS[9 - (pos - position)];
+            return context.setParsedField(NANO_OF_SECOND, value, position, pos);
+        }
+
+        private static int parseInstant(InstantPrinterParser pp, DateTimeParseContext context, CharSequence text, int position) {
+            // only handles 'yyyy-MM-ddTHH:mm:ss.nZ', anything else uses the generic parser
+            int length = text.length();
+            if (position < 0 || position + 20 > length) {
+                return UNSUPPORTED;
+            }
+            int year = parseDigits(text, position, 4);
+            int month = parseDigits(text, position + 5, 2);
+            int day = parseDigits(text, position + 8, 2);
+            int hour = parseDigits(text, position + 11, 2);
+            int min = parseDigits(text, position + 14, 2);
+            int sec = parseDigits(text, position + 17, 2);
+            if ((year | month | day | hour | min | sec) < 0 ||
+                    text.charAt(position + 4) != '-' || text.charAt(position + 7) != '-' ||
+                    context.charEquals('T', text.charAt(position + 10)) == false ||
+                    text.charAt(position + 13) != ':' || text.charAt(position + 16) != ':') {
+                return UNSUPPORTED;
+            }
+            int minDigits = (pp.fractionalDigits < 0 ? 0 : pp.fractionalDigits);
+            int maxDigits = (pp.fractionalDigits < 0 ? 9 : pp.fractionalDigits);
+            int pos = position + 19;
+            int nano = 0;
+            if (text.charAt(pos) == '.') {
+                int start = ++pos;
+                int maxEndPos = Math.min(start + maxDigits, length);
+                while (pos < maxEndPos) {
+                    char ch = text.charAt(pos);
+                    if (ch < '0' || ch > '9') {
+                        break;
+                    }
+                    nano = nano * 10 + (ch - '0');
+                    pos++;
+                }
+                if (pos - start < minDigits) {
+                    return UNSUPPORTED;
+                }
+                nano *= POWERS[9 - (pos - start)];
+            } else if (minDigits > 0) {
+                return UNSUPPORTED;
+            }
+            if (pos == length || context.charEquals('Z', text.charAt(pos)) == false) {
+                return UNSUPPORTED;
+            }
+            pos++;
+            int days = 0;
+            if (hour == 24 && min == 0 && sec == 0 && nano == 0) {
+                hour = 0;
+                days = 1;
+            } else if (hour == 23 && min == 59 && sec == 60) {
+                context.setParsedLeapSecond();
+                sec = 59;
+            }
+            long instantSecs;
+            try {
+                LocalDateTime ldt = LocalDateTime.of(year, month, day, hour, min, sec, 0).plusDays(days);
+                instantSecs = ldt.toEpochSecond(ZoneOffset.UTC);
+            } catch (RuntimeException ex) {
+                return ~position;
+            }
+            int successPos = context.setParsedField(INSTANT_SECONDS, instantSecs, position, pos);
+            return context.setParsedField(NANO_OF_SECOND, nano, position, successPos);
+        }
+
+        private static int parseDigits(CharSequence text, int position, int count) {
+            int total = 0;
+            for (int i = position; i < position + count; i++) {
+                char ch = text.charAt(i);
+                if (ch < '0' || ch > '9') {
+                    return -1;
+                }
+                total = total * 10 + (ch - '0');
+            }
+            return total;
+        }
+
+        @Override
+        public String toString() {
+            return "Compiled" + elements[0];
+        }
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Pads the output to a fixed width.
@@ -2658,10 +3259,23 @@ public final class DateTimeFormatterBuilder {
      * Prints and parses a numeric date-time field with optional padding.
      */
     static final class FractionPrinterParser implements DateTimePrinterParser {
+        /**
+         * Powers of ten from 10^0 to 10^9.
+         */
+        private static final int[] POWERS_OF_TEN = new int[] {
+            1, 10, 100, 1000, 10000, 100000, 1000000, 10000000, 100000000, 1000000000,
+        };
+
         private final TemporalField field;
         private final int minWidth;
         private final int maxWidth;
         private final boolean decimalPoint;
+        /**
+         * The number of decimal digits in the range of the field, -1 if the range
+         * is not from zero to a power of ten, such as nano, micro and milli-of-second.
+         * When positive, integer arithmetic is used instead of {@code BigDecimal}.
+         */
+        private final int rangeDigits;
 
         /**
          * Constructor.
@@ -2690,6 +3304,18 @@ public final class DateTimeFormatterBuilder {
             this.minWidth = minWidth;
             this.maxWidth = maxWidth;
             this.decimalPoint = decimalPoint;
+            this.rangeDigits = rangeDigits(field.range());
+        }
+
+        private static int rangeDigits(ValueRange range) {
+            if (range.getMinimum() == 0) {
+                for (int digits = 1; digits < POWERS_OF_TEN.length; digits++) {
+                    if (range.getMaximum() + 1 == POWERS_OF_TEN[digits]) {
+                        return digits;
+                    }
+                }
+            }
+            return -1;
         }
 
         @Override
@@ -2699,6 +3325,10 @@ public final class DateTimeFormatterBuilder {
                 return false;
             }
             DecimalStyle symbols = context.getSymbols();
+            if (rangeDigits > 0) {
+                printDecimal(value, symbols, buf);
+                return true;
+            }
             BigDecimal fraction = convertToFraction(value);
             if (fraction.scale() == 0) {  // scale is zero if value is zero
                 if (minWidth > 0) {
@@ -2757,11 +3387,63 @@ public final class DateTimeFormatterBuilder {
                 }
                 total = total * 10 + digit;
             }
-            BigDecimal fraction = new BigDecimal(total).movePointLeft(pos - position);
-            long value = convertFromFraction(fraction);
+            long value;
+            if (rangeDigits > 0) {
+                // equivalent to convertFromFraction for power of ten ranges
+                int digits = pos - position;
+                if (digits <= rangeDigits) {
+                    value = (long) total * POWERS_OF_TEN[rangeDigits - digits];
+                } else {
+                    value = total / POWERS_OF_TEN[digits - rangeDigits];
+                }
+            } else {
+                BigDecimal fraction = new BigDecimal(total).movePointLeft(pos - position);
+                value = convertFromFraction(fraction);
+            }
             return context.setParsedField(field, value, position, pos);
         }
 
+        /**
+         * Prints the value of a field with a power of ten range using integer arithmetic.
+         * <p>
+         * The output is the same as that produced via {@link #convertToFraction(long)}.
+         *
+         * @param value  the value to print
+         * @param symbols  the symbols to use, not null
+         * @param buf  the buffer to append to, not null
+         * @throws DateTimeException if the value is invalid
+         */
+        private void printDecimal(long value, DecimalStyle symbols, StringBuilder buf) {
+            field.range().checkValidValue(value, field);
+            int fraction = (int) value;
+            int scale = rangeDigits;
+            if (fraction == 0) {
+                scale = 0;
+            } else {
+                while (fraction % 10 == 0) {
+                    fraction /= 10;
+                    scale--;
+                }
+            }
+            if (scale == 0 && minWidth == 0) {
+                return;
+            }
+            int outputScale = Math.min(Math.max(scale, minWidth), maxWidth);
+            int digits;
+            if (outputScale >= rangeDigits) {
+                digits = (int) value * POWERS_OF_TEN[outputScale - rangeDigits];
+            } else {
+                digits = (int) value / POWERS_OF_TEN[rangeDigits - outputScale];  // rounding mode FLOOR
+            }
+            if (decimalPoint) {
+                buf.append(symbols.getDecimalSeparator());
+            }
+            char zero = symbols.getZeroDigit();
+            for (int i = outputScale - 1; i >= 0; i--) {
+                buf.append((char) (zero + (digits / POWERS_OF_TEN[i]) % 10));
+            }
+        }
+
         /**
          * Converts a value for this field to a fraction between 0 and 1.
          * <p>
@@ -2869,6 +3551,17 @@ public final class DateTimeFormatterBuilder {
                 throw new IndexOutOfBoundsException();
             }
             TextStyle style = (context.isStrict() ? textStyle : null);
+            TextTrie trie = provider.getTextTrie(field, style, context.getLocale());
+            if (trie != null) {
+                Entry<String, Long> entry = trie.match(parseText, position, context.isCaseSensitive());
+                if (entry != null) {
+                    return context.setParsedField(field, entry.getValue(), position, position + entry.getKey().length());
+                }
+                if (context.isStrict()) {
+                    return ~position;
+                }
+                return numberPrinterParser().parse(context, parseText, position);
+            }
             Iterator<Entry<String, Long>> it = provider.getTextIterator(field, style, context.getLocale());
             if (it != null) {
                 while (it.hasNext()) {
@@ -3385,7 +4078,7 @@ public final class DateTimeFormatterBuilder {
             // this is a poor implementation that handles some but not all of the spec
             // JDK8 has a lot of extra information here
             Map<String, String> ids = new TreeMap<String, String>(LENGTH_COMPARATOR);
-            for (String id : ZoneId.getAvailableZoneIds()) {
+            for (String id : ZoneRulesProvider.getAvailableZoneIdsSnapshot()) {
                 ids.put(id, id);
                 TimeZone tz = TimeZone.getTimeZone(id);
                 int tzstyle = (textStyle.asNormal() == TextStyle.FULL ? TimeZone.LONG : TimeZone.SHORT);
@@ -3434,19 +4127,17 @@ public final class DateTimeFormatterBuilder {
 
         //-----------------------------------------------------------------------
         /**
-         * The cached tree to speed up parsing.
+         * The cached trie to speed up parsing, built from a snapshot of the zone IDs.
          */
-        private static volatile Entry<Integer, SubstringTree> cachedSubstringTree;
+        private static volatile ZoneIdTrie cachedTrie;
 
         /**
          * This implementation looks for the longest matching string.
          * For example, parsing Etc/GMT-2 will return Etc/GMC-2 rather than just
          * Etc/GMC although both are valid.
          * <p>
-         * This implementation uses a tree to search for valid time-zone names in
-         * the parseText. The top level node of the tree has a length equal to the
-         * length of the shortest time-zone as well as the beginning characters of
-         * all other time-zones.
+         * This implementation uses a character trie to search for valid time-zone
+         * names in the parseText, without creating any intermediate strings.
          */
         @Override
         public int parse(DateTimeParseContext context, CharSequence text, int position) {
@@ -3487,62 +4178,29 @@ public final class DateTimeFormatterBuilder {
                 }
             }
 
-            // prepare parse tree
-            Set<String> regionIds = ZoneRulesProvider.getAvailableZoneIds();
-            final int regionIdsSize = regionIds.size();
-            Entry<Integer, SubstringTree> cached = cachedSubstringTree;
-            if (cached == null || cached.getKey() != regionIdsSize) {
+            // prepare parse trie
+            Set<String> regionIds = ZoneRulesProvider.getAvailableZoneIdsSnapshot();
+            ZoneIdTrie trie = cachedTrie;
+            if (trie == null || trie.regionIds != regionIds) {
                 synchronized (this) {
-                    cached = cachedSubstringTree;
-                    if (cached == null || cached.getKey() != regionIdsSize) {
-                        cachedSubstringTree = cached = new SimpleImmutableEntry<Integer, SubstringTree>(regionIdsSize, prepareParser(regionIds));
+                    trie = cachedTrie;
+                    if (trie == null || trie.regionIds != regionIds) {
+                        cachedTrie = trie = new ZoneIdTrie(regionIds);
                     }
                 }
             }
-            SubstringTree tree = cached.getValue();
 
             // parse
-            String parsedZoneId = null;
-            String lastZoneId = null;
-            while (tree != null) {
-                int nodeLength = tree.length;
-                if (position + nodeLength > length) {
-                    break;
-                }
-                lastZoneId = parsedZoneId;
-                parsedZoneId = text.subSequence(position, position + nodeLength).toString();
-                tree = tree.get(parsedZoneId, context.isCaseSensitive());
-            }
-            ZoneId zone = convertToZone(regionIds, parsedZoneId, context.isCaseSensitive());
-            if (zone == null) {
-                zone = convertToZone(regionIds, lastZoneId, context.isCaseSensitive());
-                if (zone == null) {
-                    if (context.charEquals(nextChar, 'Z')) {
-                        context.setParsed(ZoneOffset.UTC);
-                        return position + 1;
-                    }
-                    return ~position;
-                }
-                parsedZoneId = lastZoneId;
-            }
-            context.setParsed(zone);
-            return position + parsedZoneId.length();
-        }
-
-        private ZoneId convertToZone(Set<String> regionIds, String parsedZoneId, boolean caseSensitive) {
+            String parsedZoneId = trie.match(text, position, context.isCaseSensitive());
             if (parsedZoneId == null) {
-                return null;
-            }
-            if (caseSensitive) {
-                return (regionIds.contains(parsedZoneId) ? ZoneId.of(parsedZoneId) : null);
-            } else {
-                for (String regionId : regionIds) {
-                    if (regionId.equalsIgnoreCase(parsedZoneId)) {
-                        return ZoneId.of(regionId);
-                    }
+                if (context.charEquals(nextChar, 'Z')) {
+                    context.setParsed(ZoneOffset.UTC);
+                    return position + 1;
                 }
-                return null;
+                return ~position;
             }
+            context.setParsed(ZoneId.of(parsedZoneId));
+            return position + parsedZoneId.length();
         }
 
         private int parsePrefixedOffset(DateTimeParseContext context, CharSequence text, int prefixPos, int position) {
@@ -3565,98 +4223,118 @@ public final class DateTimeFormatterBuilder {
 
         //-----------------------------------------------------------------------
         /**
-         * Model a tree of substrings to make the parsing easier. Due to the nature
-         * of time-zone names, it can be faster to parse based in unique substrings
-         * rather than just a character by character match.
+         * A character trie of the zone IDs in a snapshot.
          * <p>
-         * For example, to parse America/Denver we can look at the first two
-         * character "Am". We then notice that the shortest time-zone that starts
-         * with Am is America/Nome which is 12 characters long. Checking the first
-         * 12 characters of America/Denver gives America/Denv which is a substring
-         * of only 1 time-zone: America/Denver. Thus, with just 3 comparisons that
-         * match can be found.
+         * Two tries are held, one matching the exact characters and one matching
+         * characters folded to lower case, allowing case insensitive parsing
+         * without converting the text. Each node that completes a zone ID holds
+         * the ID, thus the longest match is found in a single pass over the text.
          * <p>
-         * This structure maps substrings to substrings of a longer length. Each
-         * node of the tree contains a length and a map of valid substrings to
-         * sub-nodes. The parser gets the length from the root node. It then
-         * extracts a substring of that length from the parseText. If the map
-         * contains the substring, it is set as the possible time-zone and the
-         * sub-node for that substring is retrieved. The process continues until the
-         * substring is no longer found, at which point the matched text is checked
-         * against the real time-zones.
+         * The trie is immutable once built.
          */
-        private static final class SubstringTree {
-            /**
-             * The length of the substring this node of the tree contains.
-             * Subtrees will have a longer length.
-             */
-            final int length;
-            /**
-             * Map of a substring to a set of substrings that contain the key.
-             */
-            private final Map<CharSequence, SubstringTree> substringMap = new HashMap<CharSequence, SubstringTree>();
+        static final class ZoneIdTrie {
             /**
-             * Map of a substring to a set of substrings that contain the key.
+             * The snapshot of zone IDs that the trie was built from.
              */
-            private final Map<String, SubstringTree> substringMapCI = new HashMap<String, SubstringTree>();
+            final Set<String> regionIds;
+            private final Node exact = new Node();
+            private final Node folded = new Node();
 
             /**
              * Constructor.
              *
-             * @param length  the length of this tree
+             * @param regionIds  the snapshot of zone IDs, not null
              */
-            private SubstringTree(int length) {
-                this.length = length;
-            }
-
-            private SubstringTree get(CharSequence substring2, boolean caseSensitive) {
-                if (caseSensitive) {
-                    return substringMap.get(substring2);
-                } else {
-                    return substringMapCI.get(substring2.toString().toLowerCase(Locale.ENGLISH));
+            ZoneIdTrie(Set<String> regionIds) {
+                this.regionIds = regionIds;
+                // sorted so that the first of any IDs differing only by case is used when folded
+                for (String id : new TreeSet<String>(regionIds)) {
+                    Node exactNode = exact;
+                    Node foldedNode = folded;
+                    for (int i = 0; i < id.length(); i++) {
+                        char ch = id.charAt(i);
+                        exactNode = exactNode.add(ch);
+                        foldedNode = foldedNode.add(fold(ch));
+                    }
+                    exactNode.id = id;
+                    if (foldedNode.id == null) {
+                        foldedNode.id = id;
+                    }
                 }
             }
 
             /**
-             * Values must be added from shortest to longest.
+             * Finds the longest zone ID matching the text at the position.
              *
-             * @param newSubstring  the substring to add, not null
+             * @param text  the text to match, not null
+             * @param position  the position to start matching from
+             * @param caseSensitive  whether to match case sensitively
+             * @return the matched zone ID, null if none match
              */
-            private void add(String newSubstring) {
-                int idLen = newSubstring.length();
-                if (idLen == length) {
-                    substringMap.put(newSubstring, null);
-                    substringMapCI.put(newSubstring.toLowerCase(Locale.ENGLISH), null);
-                } else if (idLen > length) {
-                    String substring = newSubstring.substring(0, length);
-                    SubstringTree parserTree = substringMap.get(substring);
-                    if (parserTree == null) {
-                        parserTree = new SubstringTree(idLen);
-                        substringMap.put(substring, parserTree);
-                        substringMapCI.put(substring.toLowerCase(Locale.ENGLISH), parserTree);
+            String match(CharSequence text, int position, boolean caseSensitive) {
+                Node node = (caseSensitive ? exact : folded);
+                String matched = null;
+                int length = text.length();
+                for (int pos = position; pos < length; pos++) {
+                    char ch = text.charAt(pos);
+                    node = node.get(caseSensitive ? ch : fold(ch));
+                    if (node == null) {
+                        break;
+                    }
+                    if (node.id != null) {
+                        matched = node.id;
                     }
-                    parserTree.add(newSubstring);
                 }
+                return matched;
             }
-        }
 
-        /**
-         * Builds an optimized parsing tree.
-         *
-         * @param availableIDs  the available IDs, not null, not empty
-         * @return the tree, not null
-         */
-        private static SubstringTree prepareParser(Set<String> availableIDs) {
-            // sort by length
-            List<String> ids = new ArrayList<String>(availableIDs);
-            Collections.sort(ids, LENGTH_SORT);
+            /**
+             * Folds the case of a character, consistent with {@link DateTimeParseContext#charEqualsIgnoreCase}.
+             *
+             * @param ch  the character to fold
+             * @return the folded character
+             */
+            private static char fold(char ch) {
+                return Character.toLowerCase(Character.toUpperCase(ch));
+            }
+
+            /**
+             * A node of the trie, holding the children sorted by character.
+             */
+            private static final class Node {
+                private static final char[] NO_CHARS = new char[0];
+                private static final Node[] NO_NODES = new Node[0];
+
+                private char[] chars = NO_CHARS;
+                private Node[] children = NO_NODES;
+                private String id;
+
+                Node get(char ch) {
+                    int index = Arrays.binarySearch(chars, ch);
+                    return (index >= 0 ? children[index] : null);
+                }
 
-            // build the tree
-            SubstringTree tree = new SubstringTree(ids.get(0).length());
-            for (String id : ids) {
-                tree.add(id);
+                Node add(char ch) {
+                    int index = Arrays.binarySearch(chars, ch);
+                    if (index >= 0) {
+                        return children[index];
+                    }
+                    index = ~index;
+                    int size = chars.length;
+                    char[] newChars = new char[size + 1];
+                    Node[] newChildren = new Node[size + 1];
+                    System.arraycopy(chars, 0, newChars, 0, index);
+                    System.arraycopy(children, 0, newChildren, 0, index);
+                    System.arraycopy(chars, index, newChars, index + 1, size - index);
+                    System.arraycopy(children, index, newChildren, index + 1, size - index);
+                    Node child = new Node();
+                    newChars[index] = ch;
+                    newChildren[index] = child;
+                    chars = newChars;
+                    children = newChildren;
+                    return child;
+                }
             }
-            return tree;
         }
 
         //-----------------------------------------------------------------------
@@ -3860,15 +4538,4 @@ public final class DateTimeFormatterBuilder {
         }
     }
 
-    //-------------------------------------------------------------------------
-    /**
-     * Length comparator.
-     */
-    static final Comparator<String> LENGTH_SORT = new Comparator<String>() {
-        @Override
-        public int compare(String str1, String str2) {
-            return str1.length() == str2.length() ? str1.compareTo(str2) : str1.length() - str2.length();
-        }
-    };
-
 }
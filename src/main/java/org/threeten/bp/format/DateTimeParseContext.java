@@ -31,19 +31,35 @@
  */
 package org.threeten.bp.format;
 
+import static org.threeten.bp.temporal.ChronoField.DAY_OF_MONTH;
+import static org.threeten.bp.temporal.ChronoField.HOUR_OF_DAY;
+import static org.threeten.bp.temporal.ChronoField.INSTANT_SECONDS;
+import static org.threeten.bp.temporal.ChronoField.MINUTE_OF_HOUR;
+import static org.threeten.bp.temporal.ChronoField.MONTH_OF_YEAR;
+import static org.threeten.bp.temporal.ChronoField.NANO_OF_SECOND;
+import static org.threeten.bp.temporal.ChronoField.OFFSET_SECONDS;
+import static org.threeten.bp.temporal.ChronoField.SECOND_OF_MINUTE;
+import static org.threeten.bp.temporal.ChronoField.YEAR;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.Month;
 import org.threeten.bp.Period;
+import org.threeten.bp.Year;
 import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZoneOffset;
 import org.threeten.bp.chrono.Chronology;
 import org.threeten.bp.chrono.IsoChronology;
 import org.threeten.bp.format.DateTimeFormatterBuilder.ReducedPrinterParser;
 import org.threeten.bp.jdk8.DefaultInterfaceTemporalAccessor;
 import org.threeten.bp.jdk8.Jdk8Methods;
+import org.threeten.bp.temporal.ChronoField;
 import org.threeten.bp.temporal.TemporalField;
 import org.threeten.bp.temporal.TemporalQueries;
 import org.threeten.bp.temporal.TemporalQuery;
@@ -61,11 +77,69 @@ import org.threeten.bp.temporal.UnsupportedTemporalTypeException;
  *
  * <h3>Specification for implementors</h3>
  * This class is a mutable context intended for use from a single thread.
- * Usage of the class is thread-safe within standard parsing as a new instance of this class
- * is automatically created for each parse and parsing is single-threaded
+ * Usage of the class is thread-safe within standard parsing as each parse obtains
+ * an instance that is confined to the parsing thread, either newly created
+ * or reused from a per-thread pool, and parsing is single-threaded
+ * <p>
+ * A pooled instance clears its references to the locale, symbols, chronology, zone
+ * and parsed values when released, so an idle thread does not retain the last formatter.
+ * The pool, and the per-thread buffer used when formatting, still hold an instance of
+ * a class of this library in a {@code ThreadLocal} of each thread that has parsed or formatted.
+ * Where that is unacceptable, for example when the library is deployed within a web application
+ * whose class loader must be unloaded while the threads of the container live on, set the system
+ * property {@code org.threeten.bp.format.DateTimeParseContext.disablePool} to {@code true}
+ * to create new instances for every call instead.
  */
 final class DateTimeParseContext {
 
+    /**
+     * The chrono fields, indexed by ordinal.
+     */
+    private static final ChronoField[] CHRONO_FIELDS = ChronoField.values();
+    /**
+     * The mask of the fields that are always present in a directly resolved date-time.
+     */
+    private static final long DATE_TIME_MASK = (1L << YEAR.ordinal()) | (1L << MONTH_OF_YEAR.ordinal()) |
+            (1L << DAY_OF_MONTH.ordinal()) | (1L << HOUR_OF_DAY.ordinal()) | (1L << MINUTE_OF_HOUR.ordinal());
+    /**
+     * The mask of the date fields that are resolved together.
+     */
+    private static final long DATE_MASK = (1L << YEAR.ordinal()) | (1L << MONTH_OF_YEAR.ordinal()) |
+            (1L << DAY_OF_MONTH.ordinal());
+    /**
+     * The mask of the hour-of-day field.
+     */
+    private static final long HOUR_MASK = 1L << HOUR_OF_DAY.ordinal();
+    /**
+     * The mask of the minute-of-hour field.
+     */
+    private static final long MINUTE_MASK = 1L << MINUTE_OF_HOUR.ordinal();
+    /**
+     * The mask of the second-of-minute field.
+     */
+    private static final long SECOND_MASK = 1L << SECOND_OF_MINUTE.ordinal();
+    /**
+     * The mask of the nano-of-second field.
+     */
+    private static final long NANO_MASK = 1L << NANO_OF_SECOND.ordinal();
+    /**
+     * The mask of the fields of a directly resolved instant.
+     */
+    private static final long INSTANT_MASK = (1L << INSTANT_SECONDS.ordinal()) | NANO_MASK;
+    /**
+     * The mask of the offset-seconds field.
+     */
+    private static final long OFFSET_MASK = 1L << OFFSET_SECONDS.ordinal();
+    /**
+     * Whether to disable the per-thread pool of contexts and print buffers.
+     */
+    static final boolean POOL_DISABLED =
+            Boolean.getBoolean("org.threeten.bp.format.DateTimeParseContext.disablePool");
+    /**
+     * The per-thread pool of contexts.
+     */
+    private static final ThreadLocal<DateTimeParseContext> POOL = new ThreadLocal<DateTimeParseContext>();
+
     /**
      * The locale, not null.
      */
@@ -94,6 +168,20 @@ final class DateTimeParseContext {
      * The list of parsed data.
      */
     private final ArrayList<Parsed> parsed = new ArrayList<Parsed>();
+    /**
+     * The values of the parsed chrono fields, indexed by optional depth and then by field ordinal.
+     * These are held as primitives to avoid boxing, and are only copied to the
+     * {@code Parsed} map when the map is required.
+     */
+    private long[][] chronoValues = new long[1][CHRONO_FIELDS.length];
+    /**
+     * The bitmask of parsed chrono fields, indexed by optional depth.
+     */
+    private long[] chronoMasks = new long[1];
+    /**
+     * Whether the context is in use, only relevant for pooled contexts.
+     */
+    private boolean inUse;
 
     /**
      * Creates a new instance of the context.
@@ -137,6 +225,71 @@ final class DateTimeParseContext {
         return new DateTimeParseContext(this);
     }
 
+    /**
+     * Obtains a context for the formatter, reusing a per-thread instance where possible.
+     * <p>
+     * The context must be passed to {@link #release()} once parsing is complete.
+     * The {@code Parsed} instance of the context must not be retained by the caller,
+     * as it is reused by the next parse on the same thread.
+     *
+     * @param formatter  the formatter controlling the parse, not null
+     * @return the context, not null
+     */
+    static DateTimeParseContext acquire(DateTimeFormatter formatter) {
+        if (POOL_DISABLED) {
+            return new DateTimeParseContext(formatter);
+        }
+        DateTimeParseContext context = POOL.get();
+        if (context == null) {
+            context = new DateTimeParseContext(formatter);
+            POOL.set(context);
+        } else if (context.inUse) {
+            return new DateTimeParseContext(formatter);  // nested parse on the same thread
+        } else {
+            context.reset(formatter);
+        }
+        context.inUse = true;
+        return context;
+    }
+
+    /**
+     * Releases a context obtained from {@link #acquire(DateTimeFormatter)}.
+     * <p>
+     * The references obtained from the formatter and the parsed values are cleared,
+     * so that a pooled context does not retain them while the thread is idle.
+     */
+    void release() {
+        this.locale = null;
+        this.symbols = null;
+        this.overrideChronology = null;
+        this.overrideZone = null;
+        clearParsed();
+        inUse = false;
+    }
+
+    /**
+     * Resets this context so it can be reused.
+     *
+     * @param formatter  the formatter controlling the parse, not null
+     */
+    void reset(DateTimeFormatter formatter) {
+        this.locale = formatter.getLocale();
+        this.symbols = formatter.getDecimalStyle();
+        this.overrideChronology = formatter.getChronology();
+        this.overrideZone = formatter.getZone();
+        this.caseSensitive = true;
+        this.strict = true;
+        clearParsed();
+    }
+
+    private void clearParsed() {
+        Parsed current = currentParsed();
+        current.reset();
+        parsed.clear();
+        parsed.add(current);
+        chronoMasks[0] = 0;
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Gets the locale.
@@ -286,7 +439,22 @@ final class DateTimeParseContext {
      * Starts the parsing of an optional segment of the input.
      */
     void startOptional() {
-        parsed.add(currentParsed().copy());
+        // the parsed data is shared until written to
+        parsed.add(currentParsed());
+        int depth = parsed.size() - 1;
+        if (depth == chronoMasks.length) {
+            long[][] values = new long[depth * 2][];
+            System.arraycopy(chronoValues, 0, values, 0, depth);
+            for (int i = depth; i < values.length; i++) {
+                values[i] = new long[CHRONO_FIELDS.length];
+            }
+            long[] masks = new long[depth * 2];
+            System.arraycopy(chronoMasks, 0, masks, 0, depth);
+            chronoValues = values;
+            chronoMasks = masks;
+        }
+        System.arraycopy(chronoValues[depth - 1], 0, chronoValues[depth], 0, CHRONO_FIELDS.length);
+        chronoMasks[depth] = chronoMasks[depth - 1];
     }
 
     /**
@@ -295,10 +463,15 @@ final class DateTimeParseContext {
      * @param successful  whether the optional segment was successfully parsed
      */
     void endOptional(boolean successful) {
+        int depth = parsed.size() - 1;
         if (successful) {
-            parsed.remove(parsed.size() - 2);
+            parsed.remove(depth - 1);
+            long[] values = chronoValues[depth - 1];
+            chronoValues[depth - 1] = chronoValues[depth];
+            chronoValues[depth] = values;
+            chronoMasks[depth - 1] = chronoMasks[depth];
         } else {
-            parsed.remove(parsed.size() - 1);
+            parsed.remove(depth);
         }
     }
 
@@ -312,6 +485,23 @@ final class DateTimeParseContext {
         return parsed.get(parsed.size() - 1);
     }
 
+    /**
+     * Gets the currently active temporal objects for update.
+     * <p>
+     * Optional segments share the parsed data of the enclosing segment until it is written to.
+     *
+     * @return the current temporal objects, not null
+     */
+    private Parsed writableParsed() {
+        int index = parsed.size() - 1;
+        Parsed current = parsed.get(index);
+        if (index > 0 && parsed.get(index - 1) == current) {
+            current = current.copy();
+            parsed.set(index, current);
+        }
+        return current;
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Gets the first value that was parsed for the specified field.
@@ -325,6 +515,14 @@ final class DateTimeParseContext {
      * @return the value mapped to the specified field, null if field was not parsed
      */
     Long getParsed(TemporalField field) {
+        if (field instanceof ChronoField) {
+            int depth = parsed.size() - 1;
+            int ordinal = ((ChronoField) field).ordinal();
+            if ((chronoMasks[depth] & (1L << ordinal)) == 0) {
+                return null;
+            }
+            return chronoValues[depth][ordinal];
+        }
         return currentParsed().fieldValues.get(field);
     }
 
@@ -342,7 +540,20 @@ final class DateTimeParseContext {
      */
     int setParsedField(TemporalField field, long value, int errorPos, int successPos) {
         Jdk8Methods.requireNonNull(field, "field");
-        Long old = currentParsed().fieldValues.put(field, value);
+        if (field instanceof ChronoField) {
+            int depth = parsed.size() - 1;
+            int ordinal = ((ChronoField) field).ordinal();
+            long bit = 1L << ordinal;
+            long[] values = chronoValues[depth];
+            long old = values[ordinal];
+            values[ordinal] = value;
+            if ((chronoMasks[depth] & bit) != 0) {
+                return (old != value ? ~errorPos : successPos);
+            }
+            chronoMasks[depth] |= bit;
+            return successPos;
+        }
+        Long old = writableParsed().fieldValues.put(field, value);
         return (old != null && old.longValue() != value) ? ~errorPos : successPos;
     }
 
@@ -356,7 +567,7 @@ final class DateTimeParseContext {
      */
     void setParsed(Chronology chrono) {
         Jdk8Methods.requireNonNull(chrono, "chrono");
-        Parsed currentParsed = currentParsed();
+        Parsed currentParsed = writableParsed();
         currentParsed.chrono = chrono;
         if (currentParsed.callbacks != null) {
             List<Object[]> callbacks = new ArrayList<Object[]>(currentParsed.callbacks);
@@ -369,7 +580,7 @@ final class DateTimeParseContext {
     }
 
     void addChronologyChangedParser(ReducedPrinterParser reducedPrinterParser, long value, int errorPos, int successPos) {
-        Parsed currentParsed = currentParsed();
+        Parsed currentParsed = writableParsed();
         if (currentParsed.callbacks == null) {
             currentParsed.callbacks = new ArrayList<Object[]>(2);
         }
@@ -386,14 +597,14 @@ final class DateTimeParseContext {
      */
     void setParsed(ZoneId zone) {
         Jdk8Methods.requireNonNull(zone, "zone");
-        currentParsed().zone = zone;
+        writableParsed().zone = zone;
     }
 
     /**
      * Stores the leap second.
      */
     void setParsedLeapSecond() {
-        currentParsed().leapSecond = true;
+        writableParsed().leapSecond = true;
     }
 
     //-----------------------------------------------------------------------
@@ -404,7 +615,174 @@ final class DateTimeParseContext {
      * @return an accessor with the results of the parse, not null
      */
     Parsed toParsed() {
-        return currentParsed();
+        Parsed current = currentParsed();
+        int depth = parsed.size() - 1;
+        long mask = chronoMasks[depth];
+        if (mask != 0) {
+            current = writableParsed();
+            long[] values = chronoValues[depth];
+            for (int ordinal = 0; mask != 0; ordinal++, mask >>>= 1) {
+                if ((mask & 1) != 0) {
+                    current.fieldValues.put(CHRONO_FIELDS[ordinal], values[ordinal]);
+                }
+            }
+        }
+        return current;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Resolves the parsed data directly to a {@code LocalDateTime} where possible.
+     * <p>
+     * This handles the common case where only the ISO year, month, day, hour, minute
+     * and optionally second and nano were parsed, with valid values.
+     * All resolver styles produce the same result in this case.
+     * Anything else returns null, and the caller must resolve using {@code DateTimeBuilder}.
+     *
+     * @return the date-time, null if it cannot be resolved directly
+     */
+    LocalDateTime toLocalDateTime() {
+        if (isDirectlyResolvable() == false) {
+            return null;
+        }
+        int depth = parsed.size() - 1;
+        return toLocalDateTime(chronoMasks[depth], chronoValues[depth]);
+    }
+
+    /**
+     * Resolves the parsed data directly to an {@code Instant} where possible.
+     * <p>
+     * This handles the instant seconds and nano fields parsed by {@code ISO_INSTANT},
+     * and the date, time and offset fields parsed by {@code ISO_OFFSET_DATE_TIME}, with valid values.
+     * Anything else returns null, and the caller must resolve using {@code DateTimeBuilder}.
+     *
+     * @return the instant, null if it cannot be resolved directly
+     */
+    Instant toInstant() {
+        if (isDirectlyResolvable() == false) {
+            return null;
+        }
+        int depth = parsed.size() - 1;
+        long mask = chronoMasks[depth];
+        long[] values = chronoValues[depth];
+        if (mask == INSTANT_MASK) {
+            long secs = values[INSTANT_SECONDS.ordinal()];
+            long nano = values[NANO_OF_SECOND.ordinal()];
+            if (secs < Instant.MIN.getEpochSecond() || secs > Instant.MAX.getEpochSecond() ||
+                    nano < 0 || nano > 999999999) {
+                return null;
+            }
+            return Instant.ofEpochSecond(secs, nano);
+        }
+        if ((mask & OFFSET_MASK) != 0) {
+            long offsetSecs = values[OFFSET_SECONDS.ordinal()];
+            if (offsetSecs < -18 * 3600 || offsetSecs > 18 * 3600) {
+                return null;
+            }
+            LocalDateTime dateTime = toLocalDateTime(mask & ~OFFSET_MASK, values);
+            if (dateTime == null) {
+                return null;
+            }
+            return dateTime.toInstant(ZoneOffset.ofTotalSeconds((int) offsetSecs));
+        }
+        return null;
+    }
+
+    /**
+     * Checks if the parsed data is definitely invalid for the resolver style.
+     * <p>
+     * This handles the ISO year, month and day, and the hour, minute, second and nano,
+     * optionally with an offset, in the combinations that the resolver always validates.
+     * It allows callers that must not throw to reject values that resolving would
+     * reject with an exception, such as month 13, hour 25 or, when strict, February 30th.
+     * Lenient resolving, and anything else that is not handled, returns false
+     * and the caller must resolve using {@code DateTimeBuilder}.
+     *
+     * @param resolverStyle  the resolver style, not null
+     * @return true if resolving would definitely fail
+     */
+    boolean isInvalid(ResolverStyle resolverStyle) {
+        if (resolverStyle == ResolverStyle.LENIENT || isDirectlyResolvable() == false) {
+            return false;
+        }
+        int depth = parsed.size() - 1;
+        long mask = chronoMasks[depth] & ~OFFSET_MASK;
+        long[] values = chronoValues[depth];
+        long dateMask = mask & DATE_MASK;
+        long timeMask = mask & ~DATE_MASK;
+        if (dateMask != 0 && dateMask != DATE_MASK) {
+            return false;
+        }
+        if (timeMask != 0 && timeMask != HOUR_MASK && timeMask != (HOUR_MASK | MINUTE_MASK) &&
+                timeMask != (HOUR_MASK | MINUTE_MASK | SECOND_MASK) &&
+                timeMask != (HOUR_MASK | MINUTE_MASK | SECOND_MASK | NANO_MASK)) {
+            return false;
+        }
+        if (dateMask != 0) {
+            long year = values[YEAR.ordinal()];
+            long month = values[MONTH_OF_YEAR.ordinal()];
+            long day = values[DAY_OF_MONTH.ordinal()];
+            if (YEAR.range().isValidValue(year) == false || MONTH_OF_YEAR.range().isValidValue(month) == false ||
+                    DAY_OF_MONTH.range().isValidValue(day) == false) {
+                return true;
+            }
+            if (resolverStyle == ResolverStyle.STRICT && day > 28 &&
+                    day > Month.of((int) month).length(IsoChronology.INSTANCE.isLeapYear(year))) {
+                return true;
+            }
+        }
+        if (timeMask != 0) {
+            long hour = values[HOUR_OF_DAY.ordinal()];
+            long minute = ((timeMask & MINUTE_MASK) != 0 ? values[MINUTE_OF_HOUR.ordinal()] : 0);
+            long second = ((timeMask & SECOND_MASK) != 0 ? values[SECOND_OF_MINUTE.ordinal()] : 0);
+            long nano = ((timeMask & NANO_MASK) != 0 ? values[NANO_OF_SECOND.ordinal()] : 0);
+            if (MINUTE_OF_HOUR.range().isValidValue(minute) == false ||
+                    SECOND_OF_MINUTE.range().isValidValue(second) == false ||
+                    NANO_OF_SECOND.range().isValidValue(nano) == false) {
+                return true;
+            }
+            // smart resolving accepts 24:00 as midnight at the end of the day
+            if (resolverStyle == ResolverStyle.SMART && hour == 24 && minute == 0 && second == 0 && nano == 0) {
+                return false;
+            }
+            return HOUR_OF_DAY.range().isValidValue(hour) == false;
+        }
+        return false;
+    }
+
+    /**
+     * Checks if the parsed data can be resolved without {@code DateTimeBuilder}.
+     *
+     * @return true if only ISO chrono fields were parsed, without zone or leap second
+     */
+    private boolean isDirectlyResolvable() {
+        Parsed current = currentParsed();
+        return current.fieldValues.isEmpty() && current.zone == null && current.leapSecond == false &&
+                overrideZone == null && getEffectiveChronology() == IsoChronology.INSTANCE;
+    }
+
+    private static LocalDateTime toLocalDateTime(long mask, long[] values) {
+        if (mask != DATE_TIME_MASK && mask != (DATE_TIME_MASK | SECOND_MASK) &&
+                mask != (DATE_TIME_MASK | SECOND_MASK | NANO_MASK)) {
+            return null;
+        }
+        long year = values[YEAR.ordinal()];
+        long month = values[MONTH_OF_YEAR.ordinal()];
+        long day = values[DAY_OF_MONTH.ordinal()];
+        long hour = values[HOUR_OF_DAY.ordinal()];
+        long minute = values[MINUTE_OF_HOUR.ordinal()];
+        long second = ((mask & SECOND_MASK) != 0 ? values[SECOND_OF_MINUTE.ordinal()] : 0);
+        long nano = ((mask & NANO_MASK) != 0 ? values[NANO_OF_SECOND.ordinal()] : 0);
+        // invalid values are handled differently by each resolver style
+        if (year < Year.MIN_VALUE || year > Year.MAX_VALUE || month < 1 || month > 12 || day < 1 ||
+                hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59 ||
+                nano < 0 || nano > 999999999) {
+            return null;
+        }
+        if (day > 28 && day > Month.of((int) month).length(IsoChronology.INSTANCE.isLeapYear(year))) {
+            return null;
+        }
+        return LocalDateTime.of((int) year, (int) month, (int) day, (int) hour, (int) minute, (int) second, (int) nano);
     }
 
     //-----------------------------------------------------------------------
@@ -415,7 +793,7 @@ final class DateTimeParseContext {
      */
     @Override
     public String toString() {
-        return currentParsed().toString();
+        return toParsed().toString();
     }
 
     //-----------------------------------------------------------------------
@@ -432,6 +810,14 @@ final class DateTimeParseContext {
 
         private Parsed() {
         }
+        private void reset() {
+            chrono = null;
+            zone = null;
+            fieldValues.clear();
+            leapSecond = false;
+            excessDays = Period.ZERO;
+            callbacks = null;
+        }
         protected Parsed copy() {
             Parsed cloned = new Parsed();
             cloned.chrono = this.chrono;
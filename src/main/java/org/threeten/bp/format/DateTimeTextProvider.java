@@ -31,6 +31,7 @@
  */
 package org.threeten.bp.format;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Locale;
 import java.util.Map.Entry;
@@ -100,4 +101,142 @@ abstract class DateTimeTextProvider {
      */
     public abstract Iterator<Entry<String, Long>> getTextIterator(TemporalField field, TextStyle style, Locale locale);
 
+    /**
+     * Gets a trie of text to field for the specified field, locale and style
+     * for the purpose of parsing.
+     * <p>
+     * The trie matches the same text as the iterator from
+     * {@link #getTextIterator(TemporalField, TextStyle, Locale)}, finding the
+     * longest matching text in a single pass over the text being parsed.
+     * <p>
+     * The default implementation returns null, in which case the iterator is used.
+     * Implementations that cache the parsable text should also cache the trie.
+     *
+     * @param field  the field to get text for, not null
+     * @param style  the style to get text for, null for all parsable text
+     * @param locale  the locale to get text for, not null
+     * @return the trie of text to field pairs, null if the field or style is not parsable
+     *  or the iterator must be used
+     */
+    public TextTrie getTextTrie(TemporalField field, TextStyle style, Locale locale) {
+        return null;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A character trie of the parsable text of a field.
+     * <p>
+     * Two tries are held, one matching the exact characters and one matching
+     * characters folded to lower case, allowing case insensitive parsing
+     * without converting the text. Each node that completes a text holds the
+     * entry of the text, thus the longest match is found in a single pass.
+     * <p>
+     * The trie is immutable once built.
+     */
+    static final class TextTrie {
+        private final Node exact = new Node();
+        private final Node folded = new Node();
+
+        /**
+         * Constructor.
+         * <p>
+         * Where two entries have the same text, or the same text ignoring case,
+         * the first in the iteration order is matched.
+         *
+         * @param entries  the text to field pairs, in order from longest text to shortest, not null
+         */
+        TextTrie(Iterator<Entry<String, Long>> entries) {
+            while (entries.hasNext()) {
+                Entry<String, Long> entry = entries.next();
+                String text = entry.getKey();
+                Node exactNode = exact;
+                Node foldedNode = folded;
+                for (int i = 0; i < text.length(); i++) {
+                    char ch = text.charAt(i);
+                    exactNode = exactNode.add(ch);
+                    foldedNode = foldedNode.add(fold(ch));
+                }
+                if (exactNode.entry == null) {
+                    exactNode.entry = entry;
+                }
+                if (foldedNode.entry == null) {
+                    foldedNode.entry = entry;
+                }
+            }
+        }
+
+        /**
+         * Finds the longest text matching the text being parsed at the position.
+         *
+         * @param text  the text to match, not null
+         * @param position  the position to start matching from
+         * @param caseSensitive  whether to match case sensitively
+         * @return the matched text to field pair, null if none match
+         */
+        Entry<String, Long> match(CharSequence text, int position, boolean caseSensitive) {
+            Node node = (caseSensitive ? exact : folded);
+            Entry<String, Long> matched = node.entry;
+            int length = text.length();
+            for (int pos = position; pos < length; pos++) {
+                char ch = text.charAt(pos);
+                node = node.get(caseSensitive ? ch : fold(ch));
+                if (node == null) {
+                    break;
+                }
+                if (node.entry != null) {
+                    matched = node.entry;
+                }
+            }
+            return matched;
+        }
+
+        /**
+         * Folds the case of a character, consistent with {@link DateTimeParseContext#charEqualsIgnoreCase}.
+         *
+         * @param ch  the character to fold
+         * @return the folded character
+         */
+        private static char fold(char ch) {
+            return Character.toLowerCase(Character.toUpperCase(ch));
+        }
+
+        /**
+         * A node of the trie, holding the children sorted by character.
+         */
+        private static final class Node {
+            private static final char[] NO_CHARS = new char[0];
+            private static final Node[] NO_NODES = new Node[0];
+
+            private char[] chars = NO_CHARS;
+            private Node[] children = NO_NODES;
+            private Entry<String, Long> entry;
+
+            Node get(char ch) {
+                int index = Arrays.binarySearch(chars, ch);
+                return (index >= 0 ? children[index] : null);
+            }
+
+            Node add(char ch) {
+                int index = Arrays.binarySearch(chars, ch);
+                if (index >= 0) {
+                    return children[index];
+                }
+                index = ~index;
+                int size = chars.length;
+                char[] newChars = new char[size + 1];
+                Node[] newChildren = new Node[size + 1];
+                System.arraycopy(chars, 0, newChars, 0, index);
+                System.arraycopy(children, 0, newChildren, 0, index);
+                System.arraycopy(chars, index, newChars, index + 1, size - index);
+                System.arraycopy(children, index, newChildren, index + 1, size - index);
+                Node child = new Node();
+                newChars[index] = ch;
+                newChildren[index] = child;
+                chars = newChars;
+                children = newChildren;
+                return child;
+            }
+        }
+    }
+
 }
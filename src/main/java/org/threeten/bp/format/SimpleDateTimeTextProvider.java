@@ -66,9 +66,9 @@ import org.threeten.bp.temporal.TemporalField;
 final class SimpleDateTimeTextProvider extends DateTimeTextProvider {
      // TODO: Better implementation based on CLDR
 
-    /** Cache. */
-    private static final ConcurrentMap<Entry<TemporalField, Locale>, Object> CACHE =
-        new ConcurrentHashMap<Entry<TemporalField, Locale>, Object>(16, 0.75f, 2);
+    /** Cache, keyed by field then locale, so that no key is created on lookup. */
+    private static final ConcurrentMap<TemporalField, ConcurrentMap<Locale, Object>> CACHE =
+        new ConcurrentHashMap<TemporalField, ConcurrentMap<Locale, Object>>(16, 0.75f, 2);
     /** Comparator. */
     private static final Comparator<Entry<String, Long>> COMPARATOR = new Comparator<Entry<String, Long>>() {
         @Override
@@ -103,14 +103,27 @@ final class SimpleDateTimeTextProvider extends DateTimeTextProvider {
         return null;
     }
 
+    @Override
+    public TextTrie getTextTrie(TemporalField field, TextStyle style, Locale locale) {
+        Object store = findStore(field, locale);
+        if (store instanceof LocaleStore) {
+            return ((LocaleStore) store).getTextTrie(style);
+        }
+        return null;
+    }
+
     //-----------------------------------------------------------------------
     private Object findStore(TemporalField field, Locale locale) {
-        Entry<TemporalField, Locale> key = createEntry(field, locale);
-        Object store = CACHE.get(key);
+        ConcurrentMap<Locale, Object> localeCache = CACHE.get(field);
+        if (localeCache == null) {
+            CACHE.putIfAbsent(field, new ConcurrentHashMap<Locale, Object>(16, 0.75f, 2));
+            localeCache = CACHE.get(field);
+        }
+        Object store = localeCache.get(locale);
         if (store == null) {
             store = createStore(field, locale);
-            CACHE.putIfAbsent(key, store);
-            store = CACHE.get(key);
+            localeCache.putIfAbsent(locale, store);
+            store = localeCache.get(locale);
         }
         return store;
     }
@@ -316,6 +329,10 @@ final class SimpleDateTimeTextProvider extends DateTimeTextProvider {
          * Parsable data.
          */
         private final Map<TextStyle, List<Entry<String, Long>>> parsable;
+        /**
+         * Parsable data as tries, built from the parsable lists.
+         */
+        private final Map<TextStyle, TextTrie> tries;
 
         //-----------------------------------------------------------------------
         /**
@@ -342,6 +359,11 @@ final class SimpleDateTimeTextProvider extends DateTimeTextProvider {
             }
             Collections.sort(allList, COMPARATOR);
             this.parsable = map;
+            Map<TextStyle, TextTrie> trieMap = new HashMap<TextStyle, TextTrie>();
+            for (Map.Entry<TextStyle, List<Entry<String, Long>>> entry : map.entrySet()) {
+                trieMap.put(entry.getKey(), new TextTrie(entry.getValue().iterator()));
+            }
+            this.tries = trieMap;
         }
 
         //-----------------------------------------------------------------------
@@ -371,6 +393,18 @@ final class SimpleDateTimeTextProvider extends DateTimeTextProvider {
             List<Entry<String, Long>> list = parsable.get(style);
             return list != null ? list.iterator() : null;
         }
+
+        /**
+         * Gets a trie of text to field for the specified style for the purpose of parsing.
+         * <p>
+         * The trie matches the same text as the iterator.
+         *
+         * @param style  the style to get text for, null for all parsable text
+         * @return the trie of text to field pairs, null if the style is not parsable
+         */
+        TextTrie getTextTrie(TextStyle style) {
+            return tries.get(style);
+        }
     }
 
 }
@@ -43,6 +43,31 @@ package org.threeten.bp.jdk8;
  */
 public final class Jdk8Methods {
 
+    /**
+     * The number of days in a 400 year cycle.
+     */
+    private static final int DAYS_PER_CYCLE = 146097;
+    /**
+     * The number of days from year zero to year 1970.
+     * There are five 400 year cycles from year zero to 2000.
+     * There are 7 leap years from 1970 to 2000.
+     */
+    private static final long DAYS_0000_TO_1970 = (DAYS_PER_CYCLE * 5L) - (30L * 365L + 7L);
+    /**
+     * The number of years by which dates are shifted to be positive in the fast algorithms.
+     * The fast algorithms use {@code int} arithmetic, and are used for years strictly
+     * between the negation of this value and this value.
+     */
+    static final int FAST_YEARS = 400 * 1000;
+    /**
+     * The Epoch Day of 0000-03-01, shifted back by {@code FAST_YEARS}, negated.
+     */
+    private static final long FAST_EPOCH_DAY_SHIFT = DAYS_PER_CYCLE * 1000L + DAYS_0000_TO_1970 - 60;
+    /**
+     * The number of days covered by the fast algorithms, from March of year {@code -FAST_YEARS}.
+     */
+    private static final long FAST_DAYS = DAYS_PER_CYCLE * 2000L;
+
     /**
      * Private constructor since this is a utility class.
      */
@@ -381,4 +406,155 @@ public final class Jdk8Methods {
         return ((a % b) + b) % b;
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Converts an epoch day to a year, month and day-of-month without allocation.
+     * <p>
+     * The result is packed into a {@code long}, with the year in the bits above bit 9,
+     * the month in bits 5 to 8 and the day-of-month in bits 0 to 4.
+     * The year is not validated.
+     *
+     * @param epochDay  the Epoch Day to convert, based on the epoch 1970-01-01
+     * @return the packed date
+     */
+    public static long toPackedDate(long epochDay) {
+        long shifted = epochDay + FAST_EPOCH_DAY_SHIFT;
+        if (shifted >= 0 && shifted < FAST_DAYS) {
+            return toPackedDateFast((int) shifted);
+        }
+        return toPackedDateByCycles(epochDay);
+    }
+
+    /**
+     * Converts a shifted day count to a packed date using Euclidean affine functions.
+     * <p>
+     * This is the algorithm of Neri and Schneider, which replaces most divisions
+     * by multiplications and shifts. It works on a calendar starting in March,
+     * so that the leap day is at the end of the year.
+     *
+     * @param shifted  the days from March 1st of year {@code -FAST_YEARS}, from 0 to {@code FAST_DAYS - 1}
+     * @return the packed date, as per {@link #toPackedDate(long)}
+     */
+    private static long toPackedDateFast(int shifted) {
+        // centuries, and day within the century, with the leap day at the end of the century
+        int n1 = 4 * shifted + 3;
+        int century = n1 / DAYS_PER_CYCLE;
+        int dayOfCentury = (n1 % DAYS_PER_CYCLE) >> 2;
+        // years within the century using 2^32 / 1461 fixed point, and march-based day-of-year
+        int yearOfCentury = (int) ((2939745L * (4 * dayOfCentury + 3)) >>> 32);
+        int marchDoy0 = dayOfCentury - ((1461 * yearOfCentury) >> 2);
+        // month and day-of-month using 2^16 / 2141 fixed point, march is month 3
+        int n3 = 2141 * marchDoy0 + 197913;
+        int janFeb = (marchDoy0 >= 306 ? 1 : 0);
+        int year = 100 * century + yearOfCentury + janFeb - FAST_YEARS;
+        int month = (n3 >>> 16) - 12 * janFeb;
+        int dom = (n3 & 0xFFFF) / 2141 + 1;
+        return ((long) year << 9) | (month << 5) | dom;
+    }
+
+    /**
+     * Converts an epoch day to a packed date using 400 year cycles.
+     * <p>
+     * This handles the full range of a {@code long}, and is used outside the range
+     * of {@link #toPackedDateFast(int)}.
+     *
+     * @param epochDay  the Epoch Day to convert, based on the epoch 1970-01-01
+     * @return the packed date, as per {@link #toPackedDate(long)}
+     */
+    static long toPackedDateByCycles(long epochDay) {
+        long zeroDay = epochDay + DAYS_0000_TO_1970;
+        // find the march-based year
+        zeroDay -= 60;  // adjust to 0000-03-01 so leap day is at end of four year cycle
+        long adjust = 0;
+        if (zeroDay < 0) {
+            // adjust negative years to positive for calculation
+            long adjustCycles = (zeroDay + 1) / DAYS_PER_CYCLE - 1;
+            adjust = adjustCycles * 400;
+            zeroDay += -adjustCycles * DAYS_PER_CYCLE;
+        }
+        long yearEst = (400 * zeroDay + 591) / DAYS_PER_CYCLE;
+        long doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        if (doyEst < 0) {
+            // fix estimate
+            yearEst--;
+            doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        }
+        yearEst += adjust;  // reset any negative year
+        int marchDoy0 = (int) doyEst;
+
+        // convert march-based values back to january-based
+        int marchMonth0 = (marchDoy0 * 5 + 2) / 153;
+        int month = (marchMonth0 + 2) % 12 + 1;
+        int dom = marchDoy0 - (marchMonth0 * 306 + 5) / 10 + 1;
+        yearEst += marchMonth0 / 10;
+        return (yearEst << 9) | (month << 5) | dom;
+    }
+
+    /**
+     * Converts a year, month and day-of-month to an epoch day without allocation.
+     *
+     * @param year  the year
+     * @param month  the month-of-year, from 1 to 12
+     * @param day  the day-of-month, valid for the year and month
+     * @return the Epoch Day, based on the epoch 1970-01-01
+     */
+    public static long toEpochDay(int year, int month, int day) {
+        if (year > -FAST_YEARS && year < FAST_YEARS) {
+            return toEpochDayFast(year, month, day);
+        }
+        return toEpochDayByCycles(year, month, day);
+    }
+
+    /**
+     * Converts a date to an epoch day using Euclidean affine functions.
+     * <p>
+     * This is the algorithm of Neri and Schneider, the inverse of {@link #toPackedDateFast(int)}.
+     *
+     * @param year  the year, strictly between {@code -FAST_YEARS} and {@code FAST_YEARS}
+     * @param month  the month-of-year, from 1 to 12
+     * @param day  the day-of-month, valid for the year and month
+     * @return the Epoch Day
+     */
+    private static long toEpochDayFast(int year, int month, int day) {
+        int janFeb = (month <= 2 ? 1 : 0);
+        int y = year + FAST_YEARS - janFeb;
+        int m = month + 12 * janFeb;
+        int century = y / 100;
+        int yearDays = ((1461 * y) >> 2) - century + (century >> 2);
+        int monthDays = (979 * m - 2919) >> 5;
+        return (yearDays + monthDays + day - 1) - FAST_EPOCH_DAY_SHIFT;
+    }
+
+    /**
+     * Converts a date to an epoch day using leap year counts.
+     * <p>
+     * This handles the full range of years, and is used outside the range
+     * of {@link #toEpochDayFast(int, int, int)}.
+     *
+     * @param year  the year
+     * @param month  the month-of-year, from 1 to 12
+     * @param day  the day-of-month, valid for the year and month
+     * @return the Epoch Day
+     */
+    static long toEpochDayByCycles(int year, int month, int day) {
+        long y = year;
+        long m = month;
+        long total = 0;
+        total += 365 * y;
+        if (y >= 0) {
+            total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        } else {
+            total -= y / -4 - y / -100 + y / -400;
+        }
+        total += ((367 * m - 362) / 12);
+        total += day - 1;
+        if (m > 2) {
+            total--;
+            if (((y & 3) == 0 && (y % 100 != 0 || y % 400 == 0)) == false) {
+                total--;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
 }
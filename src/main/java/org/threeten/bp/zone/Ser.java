@@ -39,6 +39,7 @@ import java.io.InvalidClassException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.io.StreamCorruptedException;
+import java.util.Map;
 
 import org.threeten.bp.ZoneOffset;
 
@@ -100,6 +101,19 @@ final class Ser implements Externalizable {
         writeInternal(SZR, object, out);
     }
 
+    /**
+     * Writes the rules in the compact format, where offsets refer to a shared table.
+     *
+     * @param object  the rules to write, not null
+     * @param out  the output stream, not null
+     * @param offsetIndices  the index of each offset in the shared table, not null
+     * @throws IOException if an error occurs
+     */
+    static void write(Object object, DataOutput out, Map<ZoneOffset, Integer> offsetIndices) throws IOException {
+        out.writeByte(SZR);
+        ((StandardZoneRules) object).writeExternal(out, offsetIndices);
+    }
+
     private static void writeInternal(byte type, Object object, DataOutput out) throws IOException {
         out.writeByte(type);
         switch (type) {
@@ -133,6 +147,22 @@ final class Ser implements Externalizable {
         return readInternal(type, in);
     }
 
+    /**
+     * Reads rules in the compact format, where offsets refer to a shared table.
+     *
+     * @param in  the input stream, not null
+     * @param offsets  the shared table of offsets, not null
+     * @return the rules, not null
+     * @throws IOException if an error occurs
+     */
+    static Object read(DataInput in, ZoneOffset[] offsets) throws IOException, ClassNotFoundException {
+        byte type = in.readByte();
+        if (type != SZR) {
+            throw new StreamCorruptedException("Unknown serialized type");
+        }
+        return StandardZoneRules.readExternal(in, offsets);
+    }
+
     private static Object readInternal(byte type, DataInput in) throws IOException, ClassNotFoundException {
         switch (type) {
             case SZR:
@@ -223,4 +253,98 @@ final class Ser implements Externalizable {
         }
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Writes an unsigned variable-length value to the stream.
+     * <p>
+     * Seven bits are written per byte, with the high bit set if more bytes follow.
+     *
+     * @param value  the value, treated as unsigned
+     * @param out  the output stream, not null
+     * @throws IOException if an error occurs
+     */
+    static void writeVarLong(long value, DataOutput out) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /**
+     * Reads an unsigned variable-length value from the stream.
+     *
+     * @param in  the input stream, not null
+     * @return the value, treated as unsigned
+     * @throws IOException if an error occurs
+     */
+    static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new StreamCorruptedException("Invalid variable-length value");
+    }
+
+    /**
+     * Writes a sorted array of epoch seconds to the stream, delta-encoded.
+     * <p>
+     * Each value is stored as the difference from the previous value, the first
+     * being relative to zero. Differences that are whole quarter hours, which is
+     * typical, are stored as a count of quarter hours, with the low bit of the
+     * variable-length value recording which form is used.
+     *
+     * @param epochSecs  the epoch seconds, not null
+     * @param out  the output stream, not null
+     * @throws IOException if an error occurs
+     */
+    static void writeEpochSecs(long[] epochSecs, DataOutput out) throws IOException {
+        writeVarLong(epochSecs.length, out);
+        long previous = 0;
+        for (long epochSec : epochSecs) {
+            long delta = epochSec - previous;
+            previous = epochSec;
+            if (delta % 900 == 0) {
+                writeVarLong(zigZag(delta / 900) << 1, out);
+            } else {
+                writeVarLong((zigZag(delta) << 1) | 1, out);
+            }
+        }
+    }
+
+    /**
+     * Reads a delta-encoded array of epoch seconds from the stream.
+     *
+     * @param in  the input stream, not null
+     * @return the epoch seconds, not null
+     * @throws IOException if an error occurs
+     */
+    static long[] readEpochSecs(DataInput in) throws IOException {
+        long size = readVarLong(in);
+        if (size < 0 || size > Integer.MAX_VALUE) {
+            throw new StreamCorruptedException("Invalid transition count");
+        }
+        long[] epochSecs = new long[(int) size];
+        long previous = 0;
+        for (int i = 0; i < epochSecs.length; i++) {
+            long stored = readVarLong(in);
+            long delta = unZigZag(stored >>> 1);
+            previous += ((stored & 1) == 0 ? delta * 900 : delta);
+            epochSecs[i] = previous;
+        }
+        return epochSecs;
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
 }
@@ -35,12 +35,12 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.io.Serializable;
+import java.io.StreamCorruptedException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.Map;
 
 import org.threeten.bp.Duration;
 import org.threeten.bp.Instant;
@@ -54,6 +54,11 @@ import org.threeten.bp.jdk8.Jdk8Methods;
  * The rules describing how the zone offset varies through the year and historically.
  * <p>
  * This class is used by the TZDB time-zone rules.
+ * <p>
+ * If the system properties {@code org.threeten.bp.zone.ZoneRules.precomputeStartYear}
+ * and {@code org.threeten.bp.zone.ZoneRules.precomputeEndYear} are set, then the
+ * transitions between those years (inclusive, UTC) are precomputed when the rules are
+ * created, allowing {@link #getOffset(Instant)} to use a single binary search.
  *
  * <h3>Specification for implementors</h3>
  * This class is immutable and thread-safe.
@@ -65,9 +70,17 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
      */
     private static final long serialVersionUID = 3044319355680032515L;
     /**
-     * The last year to have its transitions cached.
+     * The size of the cache of recent transitions, must be a power of two.
+     */
+    private static final int LAST_RULES_CACHE_SIZE = 128;
+    /**
+     * The first year to precompute transitions for, null if not configured.
      */
-    private static final int LAST_CACHED_YEAR = 2100;
+    private static final Integer PRECOMPUTE_START_YEAR = Integer.getInteger("org.threeten.bp.zone.ZoneRules.precomputeStartYear");
+    /**
+     * The last year to precompute transitions for, null if not configured.
+     */
+    private static final Integer PRECOMPUTE_END_YEAR = Integer.getInteger("org.threeten.bp.zone.ZoneRules.precomputeEndYear");
 
     /**
      * The transitions between standard offsets (epoch seconds), sorted.
@@ -87,6 +100,11 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
      * and the second entry is the end of the transition.
      */
     private final LocalDateTime[] savingsLocalTransitions;
+    /**
+     * The transitions between local date-times (local epoch seconds), sorted.
+     * This matches {@link #savingsLocalTransitions}.
+     */
+    private final long[] savingsLocalTransitionSecs;
     /**
      * The wall offsets.
      */
@@ -96,10 +114,32 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
      */
     private final ZoneOffsetTransitionRule[] lastRules;
     /**
-     * The map of recent transitions.
+     * The cache of recent transitions, indexed by the low bits of the year.
+     * Racy access is safe as the entries are immutable.
+     */
+    private final YearTransitions[] lastRulesCache = new YearTransitions[LAST_RULES_CACHE_SIZE];
+    /**
+     * The precomputed transitions, null if not precomputed.
+     */
+    private final TransitionWindow window;
+    /**
+     * The transitions for the year last used to find an offset, null if none.
+     * This speeds up lookups of nearby instants.
+     * Racy access is safe as the entries are immutable.
+     * The hints are only written when changed, to limit writes to a shared cache line
+     * when threads look up unrelated instants.
      */
-    private final ConcurrentMap<Integer, ZoneOffsetTransition[]> lastRulesCache =
-                new ConcurrentHashMap<Integer, ZoneOffsetTransition[]>();
+    private YearTransitions lastYearUsed;
+    /**
+     * The index of the interval last found in the historic transitions.
+     * Racy access is safe as any index is checked before use.
+     */
+    private int lastHistoricIndex = -1;
+    /**
+     * The index of the interval last found in the precomputed transitions.
+     * Racy access is safe as any index is checked before use.
+     */
+    private int lastWindowIndex = -1;
 
     /**
      * Creates an instance.
@@ -142,6 +182,7 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
             localTransitionOffsetList.add(trans.getOffsetAfter());
         }
         this.savingsLocalTransitions = localTransitionList.toArray(new LocalDateTime[localTransitionList.size()]);
+        this.savingsLocalTransitionSecs = toLocalEpochSeconds(savingsLocalTransitions);
         this.wallOffsets = localTransitionOffsetList.toArray(new ZoneOffset[localTransitionOffsetList.size()]);
 
         // convert savings transitions to instants
@@ -155,6 +196,7 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
             throw new IllegalArgumentException("Too many transition rules");
         }
         this.lastRules = lastRules.toArray(new ZoneOffsetTransitionRule[lastRules.size()]);
+        this.window = createDefaultWindow();
     }
 
     /**
@@ -195,6 +237,84 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
             }
         }
         this.savingsLocalTransitions = localTransitionList.toArray(new LocalDateTime[localTransitionList.size()]);
+        this.savingsLocalTransitionSecs = toLocalEpochSeconds(savingsLocalTransitions);
+        this.window = createDefaultWindow();
+    }
+
+    /**
+     * Creates a copy of the rules with transitions precomputed for a range of years.
+     *
+     * @param rules  the rules to copy, not null
+     * @param startYear  the first year to precompute, UTC
+     * @param endYear  the last year to precompute, UTC
+     */
+    StandardZoneRules(StandardZoneRules rules, int startYear, int endYear) {
+        super();
+        this.standardTransitions = rules.standardTransitions;
+        this.standardOffsets = rules.standardOffsets;
+        this.savingsInstantTransitions = rules.savingsInstantTransitions;
+        this.savingsLocalTransitions = rules.savingsLocalTransitions;
+        this.savingsLocalTransitionSecs = rules.savingsLocalTransitionSecs;
+        this.wallOffsets = rules.wallOffsets;
+        this.lastRules = rules.lastRules;
+        this.window = createWindow(startYear, endYear);
+    }
+
+    /**
+     * Converts the local transitions to local epoch seconds.
+     *
+     * @param localTransitions  the local transitions, not null
+     * @return the local epoch seconds, not null
+     */
+    private static long[] toLocalEpochSeconds(LocalDateTime[] localTransitions) {
+        long[] secs = new long[localTransitions.length];
+        for (int i = 0; i < localTransitions.length; i++) {
+            secs[i] = localTransitions[i].toEpochSecond(ZoneOffset.UTC);
+        }
+        return secs;
+    }
+
+    /**
+     * Creates the precomputed transitions as configured by system properties.
+     *
+     * @return the window, null if not configured
+     */
+    private TransitionWindow createDefaultWindow() {
+        if (PRECOMPUTE_START_YEAR == null || PRECOMPUTE_END_YEAR == null) {
+            return null;
+        }
+        return createWindow(PRECOMPUTE_START_YEAR, PRECOMPUTE_END_YEAR);
+    }
+
+    /**
+     * Creates the precomputed transitions.
+     * <p>
+     * This must be called once all other state has been initialized.
+     *
+     * @param startYear  the first year to precompute, UTC
+     * @param endYear  the last year to precompute, UTC
+     * @return the window, null if not required
+     */
+    private TransitionWindow createWindow(int startYear, int endYear) {
+        if (isFixedOffset() || startYear > endYear) {
+            return null;
+        }
+        long start = LocalDate.of(startYear, 1, 1).toEpochDay() * 86400;
+        long end = (LocalDate.of(endYear, 12, 31).toEpochDay() + 1) * 86400;
+        List<ZoneOffsetTransition> transitions = new ArrayList<ZoneOffsetTransition>();
+        ZoneOffsetTransition trans = nextTransition(Instant.ofEpochSecond(start - 1));
+        while (trans != null && trans.toEpochSecond() < end) {
+            transitions.add(trans);
+            trans = nextTransition(trans.getInstant());
+        }
+        long[] epochSecs = new long[transitions.size()];
+        ZoneOffset[] offsets = new ZoneOffset[transitions.size() + 1];
+        offsets[0] = getOffset(Instant.ofEpochSecond(start));
+        for (int i = 0; i < epochSecs.length; i++) {
+            epochSecs[i] = transitions.get(i).toEpochSecond();
+            offsets[i + 1] = transitions.get(i).getOffsetAfter();
+        }
+        return new TransitionWindow(start, end, epochSecs, offsets);
     }
 
     //-----------------------------------------------------------------------
@@ -268,6 +388,81 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
         return new StandardZoneRules(stdTrans, stdOffsets, savTrans, savOffsets, rules);
     }
 
+    /**
+     * Writes the state to the stream in the compact format.
+     * <p>
+     * Transitions are delta-encoded and offsets refer to a table shared between rules.
+     *
+     * @param out  the output stream, not null
+     * @param offsetIndices  the index of each offset in the shared table, not null
+     * @throws IOException if an error occurs
+     */
+    void writeExternal(DataOutput out, Map<ZoneOffset, Integer> offsetIndices) throws IOException {
+        Ser.writeEpochSecs(standardTransitions, out);
+        for (ZoneOffset offset : standardOffsets) {
+            Ser.writeVarLong(offsetIndices.get(offset), out);
+        }
+        Ser.writeEpochSecs(savingsInstantTransitions, out);
+        for (ZoneOffset offset : wallOffsets) {
+            Ser.writeVarLong(offsetIndices.get(offset), out);
+        }
+        out.writeByte(lastRules.length);
+        for (ZoneOffsetTransitionRule rule : lastRules) {
+            rule.writeExternal(out);
+        }
+    }
+
+    /**
+     * Reads the state from the stream in the compact format.
+     *
+     * @param in  the input stream, not null
+     * @param offsets  the shared table of offsets, not null
+     * @return the created object, not null
+     * @throws IOException if an error occurs
+     */
+    static StandardZoneRules readExternal(DataInput in, ZoneOffset[] offsets) throws IOException, ClassNotFoundException {
+        long[] stdTrans = Ser.readEpochSecs(in);
+        ZoneOffset[] stdOffsets = new ZoneOffset[stdTrans.length + 1];
+        for (int i = 0; i < stdOffsets.length; i++) {
+            stdOffsets[i] = readOffsetIndex(in, offsets);
+        }
+        long[] savTrans = Ser.readEpochSecs(in);
+        ZoneOffset[] savOffsets = new ZoneOffset[savTrans.length + 1];
+        for (int i = 0; i < savOffsets.length; i++) {
+            savOffsets[i] = readOffsetIndex(in, offsets);
+        }
+        int ruleSize = in.readByte();
+        ZoneOffsetTransitionRule[] rules = new ZoneOffsetTransitionRule[ruleSize];
+        for (int i = 0; i < ruleSize; i++) {
+            rules[i] = ZoneOffsetTransitionRule.readExternal(in);
+        }
+        return new StandardZoneRules(stdTrans, stdOffsets, savTrans, savOffsets, rules);
+    }
+
+    private static ZoneOffset readOffsetIndex(DataInput in, ZoneOffset[] offsets) throws IOException {
+        long index = Ser.readVarLong(in);
+        if (index < 0 || index >= offsets.length) {
+            throw new StreamCorruptedException("Invalid offset index");
+        }
+        return offsets[(int) index];
+    }
+
+    /**
+     * Counts the usage of each offset by these rules.
+     * <p>
+     * This is used to build the table of offsets shared between rules.
+     *
+     * @param offsetCounts  the map of offset to count to update, not null
+     */
+    void collectOffsets(Map<ZoneOffset, Integer> offsetCounts) {
+        for (ZoneOffset[] offsets : new ZoneOffset[][] {standardOffsets, wallOffsets}) {
+            for (ZoneOffset offset : offsets) {
+                Integer count = offsetCounts.get(offset);
+                offsetCounts.put(offset, count == null ? 1 : count + 1);
+            }
+        }
+    }
+
     //-----------------------------------------------------------------------
     @Override
     public boolean isFixedOffset() {
@@ -277,30 +472,98 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
     //-----------------------------------------------------------------------
     @Override
     public ZoneOffset getOffset(Instant instant) {
-        long epochSec = instant.getEpochSecond();
+        return findOffset(instant.getEpochSecond());
+    }
+
+    @Override
+    public int getOffsetSeconds(long epochSecond) {
+        return findOffset(epochSecond).getTotalSeconds();
+    }
+
+    /**
+     * Finds the offset applicable at the specified epoch second.
+     *
+     * @param epochSec  the epoch second
+     * @return the offset, not null
+     */
+    private ZoneOffset findOffset(long epochSec) {
+        // check if using precomputed transitions
+        TransitionWindow window = this.window;
+        if (window != null && epochSec >= window.start && epochSec < window.end) {
+            // check the last interval found first, as successive instants are often close
+            int index = lastWindowIndex;
+            if (isInInterval(window.transitions, index, epochSec) == false) {
+                index = findIndex(window.transitions, epochSec);
+                if (lastWindowIndex != index) {
+                    lastWindowIndex = index;
+                }
+            }
+            return window.offsets[index + 1];
+        }
 
         // check if using last rules
         if (lastRules.length > 0 &&
                 epochSec > savingsInstantTransitions[savingsInstantTransitions.length - 1]) {
-            int year = findYear(epochSec, wallOffsets[wallOffsets.length - 1]);
-            ZoneOffsetTransition[] transArray = findTransitionArray(year);
-            ZoneOffsetTransition trans = null;
-            for (int i = 0; i < transArray.length; i++) {
-                trans = transArray[i];
-                if (epochSec < trans.toEpochSecond()) {
-                    return trans.getOffsetBefore();
+            // check the last year used first, as successive instants are often close
+            YearTransitions yearTrans = lastYearUsed;
+            if (yearTrans == null || epochSec < yearTrans.start || epochSec >= yearTrans.end) {
+                int year = findYear(epochSec, wallOffsets[wallOffsets.length - 1]);
+                yearTrans = findYearTransitions(year);
+                if (lastYearUsed != yearTrans) {
+                    lastYearUsed = yearTrans;
+                }
+            }
+            long[] epochSecs = yearTrans.epochSecs;
+            ZoneOffsetTransition[] transArray = yearTrans.transitions;
+            for (int i = 0; i < epochSecs.length; i++) {
+                if (epochSec < epochSecs[i]) {
+                    return transArray[i].getOffsetBefore();
                 }
             }
-            return trans.getOffsetAfter();
+            return transArray[transArray.length - 1].getOffsetAfter();
         }
 
         // using historic rules
-        int index  = Arrays.binarySearch(savingsInstantTransitions, epochSec);
+        int index = lastHistoricIndex;
+        if (isInInterval(savingsInstantTransitions, index, epochSec) == false) {
+            index = findIndex(savingsInstantTransitions, epochSec);
+            if (lastHistoricIndex != index) {
+                lastHistoricIndex = index;
+            }
+        }
+        return wallOffsets[index + 1];
+    }
+
+    /**
+     * Finds the index of the interval containing the epoch second.
+     * <p>
+     * The result is the index of the transition at or before the epoch second,
+     * which is -1 if before the first transition.
+     *
+     * @param transitions  the transitions, sorted, not null
+     * @param epochSec  the epoch second
+     * @return the index, from -1 to the length minus one
+     */
+    private static int findIndex(long[] transitions, long epochSec) {
+        int index  = Arrays.binarySearch(transitions, epochSec);
         if (index < 0) {
             // switch negative insert position to start of matched range
             index = -index - 2;
         }
-        return wallOffsets[index + 1];
+        return index;
+    }
+
+    /**
+     * Checks if the epoch second is in the interval at the specified index.
+     *
+     * @param transitions  the transitions, sorted, not null
+     * @param index  the index, as returned by {@link #findIndex}
+     * @param epochSec  the epoch second
+     * @return true if the epoch second is in the interval
+     */
+    private static boolean isInInterval(long[] transitions, int index, long epochSec) {
+        return (index < 0 || transitions[index] <= epochSec) &&
+                (index + 1 >= transitions.length || epochSec < transitions[index + 1]);
     }
 
     //-----------------------------------------------------------------------
@@ -313,6 +576,49 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
         return (ZoneOffset) info;
     }
 
+    @Override
+    public int getOffsetSecondsForLocal(long localEpochSecond) {
+        // mirrors getOffsetInfo() using local epoch seconds to avoid allocation
+        // check if using last rules
+        if (lastRules.length > 0 &&
+                localEpochSecond > savingsLocalTransitionSecs[savingsLocalTransitionSecs.length - 1]) {
+            ZoneOffsetTransition[] transArray = findTransitionArray(findYear(localEpochSecond));
+            int offsetSecs = 0;
+            for (ZoneOffsetTransition trans : transArray) {
+                int before = trans.getOffsetBefore().getTotalSeconds();
+                int after = trans.getOffsetAfter().getTotalSeconds();
+                // the offset before applies until the end of any gap or overlap
+                if (localEpochSecond < trans.toEpochSecond() + Math.max(before, after)) {
+                    return before;
+                }
+                offsetSecs = after;
+            }
+            return offsetSecs;
+        }
+
+        // using historic rules
+        int index  = Arrays.binarySearch(savingsLocalTransitionSecs, localEpochSecond);
+        if (index == -1) {
+            // before first transition
+            return wallOffsets[0].getTotalSeconds();
+        }
+        if (index < 0) {
+            // switch negative insert position to start of matched range
+            index = -index - 2;
+        } else if (index < savingsLocalTransitionSecs.length - 1 &&
+                savingsLocalTransitionSecs[index] == savingsLocalTransitionSecs[index + 1]) {
+            // handle overlap immediately following gap
+            index++;
+        }
+        if ((index & 1) == 0) {
+            // gap or overlap, use the offset before
+            return wallOffsets[index / 2].getTotalSeconds();
+        } else {
+            // normal (neither gap or overlap)
+            return wallOffsets[index / 2 + 1].getTotalSeconds();
+        }
+    }
+
     @Override
     public List<ZoneOffset> getValidOffsets(LocalDateTime localDateTime) {
         // should probably be optimized
@@ -420,20 +726,35 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
      * @return the transition array, not null
      */
     private ZoneOffsetTransition[] findTransitionArray(int year) {
-        Integer yearObj = year;  // should use Year class, but this saves a class load
-        ZoneOffsetTransition[] transArray = lastRulesCache.get(yearObj);
-        if (transArray != null) {
-            return transArray;
+        return findYearTransitions(year).transitions;
+    }
+
+    /**
+     * Finds the transitions for the given year, as cached.
+     *
+     * @param year  the year, not null
+     * @return the transitions, not null
+     */
+    private YearTransitions findYearTransitions(int year) {
+        int slot = year & (LAST_RULES_CACHE_SIZE - 1);
+        YearTransitions cached = lastRulesCache[slot];
+        if (cached != null && cached.year == year) {
+            return cached;
         }
         ZoneOffsetTransitionRule[] ruleArray = lastRules;
-        transArray  = new ZoneOffsetTransition[ruleArray.length];
+        ZoneOffsetTransition[] transArray  = new ZoneOffsetTransition[ruleArray.length];
+        long[] epochSecs = new long[ruleArray.length];
         for (int i = 0; i < ruleArray.length; i++) {
             transArray[i] = ruleArray[i].createTransition(year);
-        }
-        if (year < LAST_CACHED_YEAR) {
-            lastRulesCache.putIfAbsent(yearObj, transArray);
-        }
-        return transArray;
+            epochSecs[i] = transArray[i].toEpochSecond();
+        }
+        // the bounds of the year as calculated by findYear()
+        long lastOffsetSecs = wallOffsets[wallOffsets.length - 1].getTotalSeconds();
+        long start = LocalDate.of(year, 1, 1).toEpochDay() * 86400 - lastOffsetSecs;
+        long end = (LocalDate.of(year, 12, 31).toEpochDay() + 1) * 86400 - lastOffsetSecs;
+        cached = new YearTransitions(year, transArray, epochSecs, start, end);
+        lastRulesCache[slot] = cached;
+        return cached;
     }
 
     //-----------------------------------------------------------------------
@@ -544,10 +865,12 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
     }
 
     private int findYear(long epochSecond, ZoneOffset offset) {
-        // inline for performance
-        long localSecond = epochSecond + offset.getTotalSeconds();
-        long localEpochDay = Jdk8Methods.floorDiv(localSecond, 86400);
-        return LocalDate.ofEpochDay(localEpochDay).getYear();
+        return findYear(epochSecond + offset.getTotalSeconds());
+    }
+
+    private static int findYear(long localSecond) {
+        // avoid allocating a LocalDate
+        return (int) (Jdk8Methods.toPackedDate(Jdk8Methods.floorDiv(localSecond, 86400)) >> 9);
     }
 
     //-------------------------------------------------------------------------
@@ -605,4 +928,54 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
         return "StandardZoneRules[currentStandardOffset=" + standardOffsets[standardOffsets.length - 1] + "]";
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * The transitions for a single year, as cached.
+     */
+    private static final class YearTransitions {
+        /** The year. */
+        private final int year;
+        /** The transitions. */
+        private final ZoneOffsetTransition[] transitions;
+        /** The transitions (epoch seconds). */
+        private final long[] epochSecs;
+        /** The first epoch second of the year, inclusive. */
+        private final long start;
+        /** The last epoch second of the year, exclusive. */
+        private final long end;
+
+        YearTransitions(int year, ZoneOffsetTransition[] transitions, long[] epochSecs, long start, long end) {
+            this.year = year;
+            this.transitions = transitions;
+            this.epochSecs = epochSecs;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    /**
+     * The precomputed transitions for a range of instants.
+     * <p>
+     * This is a paired structure, where the offset at index {@code i + 1} applies
+     * from the transition at index {@code i}, and the offset at index zero applies
+     * from the start of the range.
+     */
+    private static final class TransitionWindow {
+        /** The first epoch second covered, inclusive. */
+        private final long start;
+        /** The last epoch second covered, exclusive. */
+        private final long end;
+        /** The transitions (epoch seconds), sorted. */
+        private final long[] transitions;
+        /** The offsets. */
+        private final ZoneOffset[] offsets;
+
+        TransitionWindow(long start, long end, long[] transitions, ZoneOffset[] offsets) {
+            this.start = start;
+            this.end = end;
+            this.transitions = transitions;
+            this.offsets = offsets;
+        }
+    }
+
 }
@@ -39,13 +39,17 @@ import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.text.ParsePosition;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -55,6 +59,13 @@ import java.util.SortedMap;
 import java.util.StringTokenizer;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.jar.JarOutputStream;
 import java.util.zip.ZipEntry;
 
@@ -73,6 +84,10 @@ import org.threeten.bp.zone.ZoneOffsetTransitionRule.TimeDefinition;
 
 /**
  * A builder that can read the TZDB time-zone files and build {@code ZoneRules} instances.
+ * <p>
+ * The rules of each region can be built in parallel using an executor.
+ * In incremental mode, the rules of a region are reused from the previous version
+ * when the source lines of the zone, and of the rules it refers to, are unchanged.
  *
  * <h3>Specification for implementors</h3>
  * This class is a mutable builder. A new instance must be created for each compile.
@@ -108,6 +123,9 @@ final class TzdbZoneRulesCompiler {
         File dstDir = null;
         boolean unpacked = false;
         boolean verbose = false;
+        int threads = Runtime.getRuntime().availableProcessors();
+        File incrementalFile = null;
+        int formatVersion = 2;
 
         // parse options
         int i;
@@ -141,6 +159,27 @@ final class TzdbZoneRulesCompiler {
                     verbose = true;
                     continue;
                 }
+            } else if ("-threads".equals(arg)) {
+                if (++i < args.length) {
+                    try {
+                        threads = Integer.parseInt(args[i]);
+                        if (threads > 0) {
+                            continue;
+                        }
+                    } catch (NumberFormatException ex) {
+                        // fall through to help
+                    }
+                }
+            } else if ("-incremental".equals(arg)) {
+                if (incrementalFile == null && ++i < args.length) {
+                    incrementalFile = new File(args[i]);
+                    continue;
+                }
+            } else if ("-format".equals(arg)) {
+                if (++i < args.length && ("1".equals(args[i]) || "2".equals(args[i]))) {
+                    formatVersion = Integer.parseInt(args[i]);
+                    continue;
+                }
             } else if ("-help".equals(arg) == false) {
                 System.out.println("Unrecognised option: " + arg);
             }
@@ -189,6 +228,11 @@ final class TzdbZoneRulesCompiler {
             System.out.println("Source directory contains no valid source folders: " + baseSrcDir);
             return;
         }
+        Collections.sort(srcDirs);
+        if (incrementalFile != null && incrementalFile.isFile() == false) {
+            System.out.println("Incremental data file does not exist: " + incrementalFile);
+            return;
+        }
 
         // check destination directory
         if (dstDir.exists() == false && dstDir.mkdirs() == false) {
@@ -199,7 +243,14 @@ final class TzdbZoneRulesCompiler {
             System.out.println("Destination is not a directory: " + dstDir);
             return;
         }
-        process(srcDirs, srcFileNames, dstDir, unpacked, verbose);
+        ExecutorService executor = (threads > 1 ? Executors.newFixedThreadPool(threads) : null);
+        try {
+            process(baseSrcDir, srcDirs, srcFileNames, dstDir, unpacked, verbose, executor, incrementalFile, formatVersion);
+        } finally {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
     }
 
     /**
@@ -214,37 +265,70 @@ final class TzdbZoneRulesCompiler {
         System.out.println("   -unpacked             Generate dat files without jar files");
         System.out.println("   -help                 Print this usage message");
         System.out.println("   -verbose              Output verbose information during compilation");
+        System.out.println("   -threads <count>      The number of threads building regions (default processors)");
+        System.out.println("   -incremental <file>   Merge new versions into an existing TZDB.dat file");
+        System.out.println("   -format <1|2>         The format of the TZDB.dat file (default 2)");
         System.out.println(" There must be one directory for each version in srcdir");
         System.out.println(" Each directory must have the name of the version, such as 2009a");
         System.out.println(" Each directory must contain the unpacked tzdb files, such as asia or europe");
         System.out.println(" Directories must match the regex [12][0-9][0-9][0-9][A-Za-z0-9._-]+");
         System.out.println(" There will be one jar file for each version and one combined jar in dstdir");
         System.out.println(" If the version is specified, only that version is processed");
+        System.out.println(" In incremental mode, versions already in the existing file are not compiled");
+        System.out.println(" and regions whose source is unchanged from the previous version are reused");
+        System.out.println(" Format 2 is smaller, format 1 can also be read by releases before format 2 was added");
     }
 
     /**
      * Process to create the jar files.
      */
-    private static void process(List<File> srcDirs, List<String> srcFileNames, File dstDir, boolean unpacked, boolean verbose) {
+    private static void process(File baseSrcDir, List<File> srcDirs, List<String> srcFileNames, File dstDir,
+            boolean unpacked, boolean verbose, ExecutorService executor, File incrementalFile, int formatVersion) {
         // build actual jar files
-        Map<Object, Object> deduplicateMap = new HashMap<Object, Object>();
-        Map<String, SortedMap<String, ZoneRules>> allBuiltZones = new TreeMap<String, SortedMap<String, ZoneRules>>();
+        ConcurrentMap<Object, Object> deduplicateMap = new ConcurrentHashMap<Object, Object>();
+        TreeMap<String, SortedMap<String, ZoneRules>> allBuiltZones = new TreeMap<String, SortedMap<String, ZoneRules>>();
         Set<String> allRegionIds = new TreeSet<String>();
         Set<ZoneRules> allRules = new HashSet<ZoneRules>();
         SortedMap<LocalDate, Byte> bestLeapSeconds = null;
 
-        for (File srcDir : srcDirs) {
-            // source files in this directory
-            List<File> srcFiles = new ArrayList<File>();
-            for (String srcFileName : srcFileNames) {
-                File file = new File(srcDir, srcFileName);
-                if (file.exists()) {
-                    srcFiles.add(file);
+        // load the existing file and the source of its latest version
+        Map<String, String> previousSources = null;
+        SortedMap<String, ZoneRules> previousZones = null;
+        if (incrementalFile != null) {
+            try {
+                InputStream in = new FileInputStream(incrementalFile);
+                try {
+                    loadTzdbDat(in, allBuiltZones, allRegionIds, allRules);
+                } finally {
+                    in.close();
+                }
+                String previousVersion = allBuiltZones.lastKey();
+                List<File> previousFiles = sourceFiles(new File(baseSrcDir, previousVersion), srcFileNames);
+                if (previousFiles.isEmpty()) {
+                    System.out.println("Source of version " + previousVersion + " not found, all regions will be compiled");
+                } else {
+                    TzdbZoneRulesCompiler compiler = new TzdbZoneRulesCompiler(previousVersion, previousFiles, null, verbose);
+                    compiler.parseFiles();
+                    previousSources = compiler.getZoneSources();
+                    previousZones = allBuiltZones.get(previousVersion);
                 }
+            } catch (Exception ex) {
+                System.out.println("Failed: " + ex.toString());
+                ex.printStackTrace();
+                System.exit(1);
             }
+        }
+
+        for (File srcDir : srcDirs) {
+            // source files in this directory
+            List<File> srcFiles = sourceFiles(srcDir, srcFileNames);
             if (srcFiles.isEmpty()) {
                 continue;  // nothing to process
             }
+            if (allBuiltZones.containsKey(srcDir.getName())) {
+                System.out.println("Version " + srcDir.getName() + " is already in the incremental file.");
+                continue;
+            }
             File leapSecondsFile = new File(srcDir, "leapseconds");
             if (!leapSecondsFile.exists()) {
                 System.out.println("Version " + srcDir.getName() + " does not include leap seconds information.");
@@ -255,10 +339,18 @@ final class TzdbZoneRulesCompiler {
             String loopVersion = srcDir.getName();
             TzdbZoneRulesCompiler compiler = new TzdbZoneRulesCompiler(loopVersion, srcFiles, leapSecondsFile, verbose);
             compiler.setDeduplicateMap(deduplicateMap);
+            compiler.setExecutor(executor);
+            if (previousZones != null) {
+                compiler.setPrevious(previousSources, previousZones);
+            }
             try {
                 // compile
                 compiler.compile();
                 SortedMap<String, ZoneRules> builtZones = compiler.getZones();
+                if (incrementalFile != null) {
+                    previousSources = compiler.getZoneSources();
+                    previousZones = builtZones;
+                }
                 SortedMap<LocalDate, Byte> parsedLeapSeconds = compiler.getLeapSeconds();
 
                 // output version-specific file
@@ -267,7 +359,7 @@ final class TzdbZoneRulesCompiler {
                     if (verbose) {
                         System.out.println("Outputting file: " + dstFile);
                     }
-                    outputFile(dstFile, loopVersion, builtZones, parsedLeapSeconds);
+                    outputFile(dstFile, formatVersion, loopVersion, builtZones, parsedLeapSeconds);
                 }
 
                 // create totals
@@ -295,20 +387,55 @@ final class TzdbZoneRulesCompiler {
             if (verbose) {
                 System.out.println("Outputting combined files: " + dstDir);
             }
-            outputFilesDat(dstDir, allBuiltZones, allRegionIds, allRules, bestLeapSeconds);
+            outputFilesDat(dstDir, formatVersion, allBuiltZones, allRegionIds, allRules, bestLeapSeconds);
         } else {
             File dstFile = new File(dstDir, "threeten-TZDB-all.jar");
             if (verbose) {
                 System.out.println("Outputting combined file: " + dstFile);
             }
-            outputFile(dstFile, allBuiltZones, allRegionIds, allRules, bestLeapSeconds);
+            outputFile(dstFile, formatVersion, allBuiltZones, allRegionIds, allRules, bestLeapSeconds);
+        }
+    }
+
+    /**
+     * Finds the source files that exist in a directory.
+     */
+    private static List<File> sourceFiles(File srcDir, List<String> srcFileNames) {
+        List<File> srcFiles = new ArrayList<File>();
+        for (String srcFileName : srcFileNames) {
+            File file = new File(srcDir, srcFileName);
+            if (file.exists()) {
+                srcFiles.add(file);
+            }
+        }
+        return srcFiles;
+    }
+
+    /**
+     * Loads an existing timezone DAT file, adding its contents to the totals.
+     */
+    static void loadTzdbDat(InputStream in,
+            Map<String, SortedMap<String, ZoneRules>> allBuiltZones,
+            Set<String> allRegionIds, Set<ZoneRules> allRules) {
+        TzdbZoneRulesProvider provider = new TzdbZoneRulesProvider(in);
+        for (String regionId : provider.provideZoneIds()) {
+            for (Map.Entry<String, ZoneRules> entry : provider.provideVersions(regionId).entrySet()) {
+                SortedMap<String, ZoneRules> builtZones = allBuiltZones.get(entry.getKey());
+                if (builtZones == null) {
+                    builtZones = new TreeMap<String, ZoneRules>();
+                    allBuiltZones.put(entry.getKey(), builtZones);
+                }
+                builtZones.put(regionId, entry.getValue());
+                allRules.add(entry.getValue());
+            }
+            allRegionIds.add(regionId);
         }
     }
 
     /**
      * Outputs the DAT files.
      */
-    private static void outputFilesDat(File dstDir, Map<String, SortedMap<String, ZoneRules>> allBuiltZones,
+    private static void outputFilesDat(File dstDir, int formatVersion, Map<String, SortedMap<String, ZoneRules>> allBuiltZones,
             Set<String> allRegionIds, Set<ZoneRules> allRules, SortedMap<LocalDate, Byte> leapSeconds) {
         File tzdbFile = new File(dstDir, "TZDB.dat");
         tzdbFile.delete();
@@ -316,7 +443,7 @@ final class TzdbZoneRulesCompiler {
             FileOutputStream fos = null;
             try {
                 fos = new FileOutputStream(tzdbFile);
-                outputTzdbDat(fos, allBuiltZones, allRegionIds, allRules);
+                outputTzdbDat(fos, formatVersion, allBuiltZones, allRegionIds, allRules);
             } finally {
                 if (fos != null) {
                     fos.close();
@@ -332,23 +459,24 @@ final class TzdbZoneRulesCompiler {
     /**
      * Outputs the file.
      */
-    private static void outputFile(File dstFile, String version, SortedMap<String, ZoneRules> builtZones, SortedMap<LocalDate, Byte> leapSeconds) {
+    private static void outputFile(File dstFile, int formatVersion, String version,
+            SortedMap<String, ZoneRules> builtZones, SortedMap<LocalDate, Byte> leapSeconds) {
         Map<String, SortedMap<String, ZoneRules>> loopAllBuiltZones = new TreeMap<String, SortedMap<String, ZoneRules>>();
         loopAllBuiltZones.put(version, builtZones);
         Set<String> loopAllRegionIds = new TreeSet<String>(builtZones.keySet());
         Set<ZoneRules> loopAllRules = new HashSet<ZoneRules>(builtZones.values());
-        outputFile(dstFile, loopAllBuiltZones, loopAllRegionIds, loopAllRules, leapSeconds);
+        outputFile(dstFile, formatVersion, loopAllBuiltZones, loopAllRegionIds, loopAllRules, leapSeconds);
     }
 
     /**
      * Outputs the file.
      */
-    private static void outputFile(File dstFile, Map<String, SortedMap<String, ZoneRules>> allBuiltZones,
+    private static void outputFile(File dstFile, int formatVersion, Map<String, SortedMap<String, ZoneRules>> allBuiltZones,
             Set<String> allRegionIds, Set<ZoneRules> allRules, SortedMap<LocalDate, Byte> leapSeconds) {
         JarOutputStream jos = null;
         try {
             jos = new JarOutputStream(new FileOutputStream(dstFile));
-            outputTzdbEntry(jos, allBuiltZones, allRegionIds, allRules);
+            outputTzdbEntry(jos, formatVersion, allBuiltZones, allRegionIds, allRules);
         } catch (Exception ex) {
             System.out.println("Failed: " + ex.toString());
             ex.printStackTrace();
@@ -368,12 +496,12 @@ final class TzdbZoneRulesCompiler {
      * Outputs the timezone entry in the JAR file.
      */
     private static void outputTzdbEntry(
-            JarOutputStream jos, Map<String, SortedMap<String, ZoneRules>> allBuiltZones,
+            JarOutputStream jos, int formatVersion, Map<String, SortedMap<String, ZoneRules>> allBuiltZones,
             Set<String> allRegionIds, Set<ZoneRules> allRules) {
         // this format is not publicly specified
         try {
             jos.putNextEntry(new ZipEntry("org/threeten/bp/TZDB.dat"));
-            outputTzdbDat(jos, allBuiltZones, allRegionIds, allRules);
+            outputTzdbDat(jos, formatVersion, allBuiltZones, allRegionIds, allRules);
             jos.closeEntry();
         } catch (Exception ex) {
             System.out.println("Failed: " + ex.toString());
@@ -383,15 +511,21 @@ final class TzdbZoneRulesCompiler {
     }
 
     /**
-     * Outputs the timezone DAT file.
+     * Outputs the timezone DAT file in the specified format.
+     * <p>
+     * Format 1 stores each set of rules independently.
+     * Format 2 delta-encodes transitions and shares a table of offsets between rules.
+     * In both formats, identical rules, such as those of linked regions, are stored once.
+     * Releases that predate format 2 fail to load a format 2 file, thus format 1 must be
+     * used for files that may be on the classpath of an older release.
      */
-    private static void outputTzdbDat(OutputStream jos,
+    static void outputTzdbDat(OutputStream jos, int formatVersion,
             Map<String, SortedMap<String, ZoneRules>> allBuiltZones,
             Set<String> allRegionIds, Set<ZoneRules> allRules) throws IOException {
         DataOutputStream out = new DataOutputStream(jos);
 
         // file version
-        out.writeByte(1);
+        out.writeByte(formatVersion);
         // group
         out.writeUTF("TZDB");
         // versions
@@ -406,14 +540,40 @@ final class TzdbZoneRulesCompiler {
         for (String regionId : regionArray) {
             out.writeUTF(regionId);
         }
-        // rules
+        // offsets shared by the rules
         List<ZoneRules> rulesList = new ArrayList<ZoneRules>(allRules);
+        Map<ZoneOffset, Integer> offsetIndices = new HashMap<ZoneOffset, Integer>();
+        if (formatVersion == 2) {
+            // most frequently used first, so that most indices fit in a single byte
+            final Map<ZoneOffset, Integer> offsetCounts = new HashMap<ZoneOffset, Integer>();
+            for (ZoneRules rules : rulesList) {
+                ((StandardZoneRules) rules).collectOffsets(offsetCounts);
+            }
+            List<ZoneOffset> offsets = new ArrayList<ZoneOffset>(offsetCounts.keySet());
+            Collections.sort(offsets, new Comparator<ZoneOffset>() {
+                @Override
+                public int compare(ZoneOffset offset1, ZoneOffset offset2) {
+                    int cmp = offsetCounts.get(offset2).compareTo(offsetCounts.get(offset1));
+                    return (cmp != 0 ? cmp : offset1.compareTo(offset2));
+                }
+            });
+            out.writeShort(offsets.size());
+            for (ZoneOffset offset : offsets) {
+                offsetIndices.put(offset, offsetIndices.size());
+                Ser.writeOffset(offset, out);
+            }
+        }
+        // rules
         out.writeShort(rulesList.size());
         ByteArrayOutputStream baos = new ByteArrayOutputStream(1024);
         for (ZoneRules rules : rulesList) {
             baos.reset();
             DataOutputStream dataos = new DataOutputStream(baos);
-            Ser.write(rules, dataos);
+            if (formatVersion == 2) {
+                Ser.write(rules, dataos, offsetIndices);
+            } else {
+                Ser.write(rules, dataos);
+            }
             dataos.close();
             byte[] bytes = baos.toByteArray();
             out.writeShort(bytes.length);
@@ -439,10 +599,20 @@ final class TzdbZoneRulesCompiler {
     private final Map<String, List<TZDBZone>> zones = new HashMap<String, List<TZDBZone>>();
     /** The TZDB links. */
     private final Map<String, String> links = new HashMap<String, String>();
+    /** The normalized source lines of each zone. */
+    private final Map<String, StringBuilder> zoneSources = new HashMap<String, StringBuilder>();
+    /** The normalized source lines of each set of rules. */
+    private final Map<String, StringBuilder> ruleSources = new HashMap<String, StringBuilder>();
     /** The built zones. */
     private final SortedMap<String, ZoneRules> builtZones = new TreeMap<String, ZoneRules>();
     /** A map to deduplicate object instances. */
-    private Map<Object, Object> deduplicateMap = new HashMap<Object, Object>();
+    private ConcurrentMap<Object, Object> deduplicateMap = new ConcurrentHashMap<Object, Object>();
+    /** The executor used to build the zones, null to build in the calling thread. */
+    private ExecutorService executor;
+    /** The source of each zone in the previous version, null if not incremental. */
+    private Map<String, String> previousSources;
+    /** The built zones of the previous version, null if not incremental. */
+    private Map<String, ZoneRules> previousZones;
     /** Sorted collection of LeapSecondRules. */
     private final SortedMap<LocalDate, Byte> leapSeconds = new TreeMap<LocalDate, Byte>();
 
@@ -516,17 +686,63 @@ final class TzdbZoneRulesCompiler {
      *
      * @param deduplicateMap  the map to deduplicate items
      */
-    void setDeduplicateMap(Map<Object, Object> deduplicateMap) {
+    void setDeduplicateMap(ConcurrentMap<Object, Object> deduplicateMap) {
         this.deduplicateMap = deduplicateMap;
     }
 
+    /**
+     * Sets the executor used to build the zones in parallel.
+     *
+     * @param executor  the executor, null to build in the calling thread
+     */
+    void setExecutor(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Sets the previous version, enabling incremental compilation.
+     * <p>
+     * The rules of a zone are reused from the previous version if the source
+     * of the zone is unchanged, as returned by {@link #getZoneSources()}.
+     *
+     * @param previousSources  the source of each zone in the previous version, not null
+     * @param previousZones  the built zones of the previous version, not null
+     */
+    void setPrevious(Map<String, String> previousSources, Map<String, ZoneRules> previousZones) {
+        this.previousSources = previousSources;
+        this.previousZones = previousZones;
+    }
+
+    /**
+     * Gets the normalized source of each parsed zone.
+     * <p>
+     * The source of a zone consists of its own lines and the lines of the rules it refers to.
+     *
+     * @return the source keyed by zone ID, not null
+     */
+    Map<String, String> getZoneSources() {
+        Map<String, String> sources = new HashMap<String, String>();
+        for (Map.Entry<String, List<TZDBZone>> entry : zones.entrySet()) {
+            StringBuilder buf = new StringBuilder(zoneSources.get(entry.getKey()));
+            Set<String> ruleNames = new HashSet<String>();
+            for (TZDBZone zone : entry.getValue()) {
+                if (zone.savingsRule != null && ruleNames.add(zone.savingsRule)) {
+                    StringBuilder ruleSource = ruleSources.get(zone.savingsRule);
+                    buf.append('\n').append(zone.savingsRule).append('\n').append(ruleSource != null ? ruleSource : "");
+                }
+            }
+            sources.put(entry.getKey(), buf.toString());
+        }
+        return sources;
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Parses the source files.
      *
      * @throws Exception if an error occurs
      */
-    private void parseFiles() throws Exception {
+    void parseFiles() throws Exception {
         for (File file : sourceFiles) {
             printVerbose("Parsing file: " + file);
             parseFile(file);
@@ -638,6 +854,7 @@ final class TzdbZoneRulesCompiler {
         try {
             in = new BufferedReader(new FileReader(file));
             List<TZDBZone> openZone = null;
+            StringBuilder openZoneSource = null;
             for ( ; (line = in.readLine()) != null; lineNumber++) {
                 int index = line.indexOf('#');  // remove comments (doesn't handle # in quotes)
                 if (index >= 0) {
@@ -648,6 +865,7 @@ final class TzdbZoneRulesCompiler {
                 }
                 StringTokenizer st = new StringTokenizer(line, " \t");
                 if (openZone != null && Character.isWhitespace(line.charAt(0)) && st.hasMoreTokens()) {
+                    openZoneSource.append(normalize(line)).append('\n');
                     if (parseZoneLine(st, openZone)) {
                         openZone = null;
                     }
@@ -660,7 +878,10 @@ final class TzdbZoneRulesCompiler {
                                 throw new IllegalArgumentException("Invalid Zone line");
                             }
                             openZone = new ArrayList<TZDBZone>();
-                            zones.put(st.nextToken(), openZone);
+                            openZoneSource = new StringBuilder(normalize(line)).append('\n');
+                            String zoneId = st.nextToken();
+                            zones.put(zoneId, openZone);
+                            zoneSources.put(zoneId, openZoneSource);
                             if (parseZoneLine(st, openZone)) {
                                 openZone = null;
                             }
@@ -671,7 +892,7 @@ final class TzdbZoneRulesCompiler {
                                     printVerbose("Invalid Rule line in file: " + file + ", line: " + line);
                                     throw new IllegalArgumentException("Invalid Rule line");
                                 }
-                                parseRuleLine(st);
+                                parseRuleLine(st, normalize(line));
 
                             } else if (first.equals("Link")) {
                                 if (st.countTokens() < 2) {
@@ -702,14 +923,17 @@ final class TzdbZoneRulesCompiler {
      * Parses a Rule line.
      *
      * @param st  the tokenizer, not null
+     * @param source  the normalized source line, not null
      */
-    private void parseRuleLine(StringTokenizer st) {
+    private void parseRuleLine(StringTokenizer st, String source) {
         TZDBRule rule = new TZDBRule();
         String name = st.nextToken();
         if (rules.containsKey(name) == false) {
             rules.put(name, new ArrayList<TZDBRule>());
+            ruleSources.put(name, new StringBuilder());
         }
         rules.get(name).add(rule);
+        ruleSources.get(name).append(source).append('\n');
         rule.startYear = parseYear(st.nextToken(), 0);
         rule.endYear = parseYear(st.nextToken(), rule.startYear);
         if (rule.startYear > rule.endYear) {
@@ -799,6 +1023,16 @@ final class TzdbZoneRulesCompiler {
         }
     }
 
+    /**
+     * Normalizes a source line, such that changes to whitespace are ignored.
+     *
+     * @param line  the line without comments, not null
+     * @return the normalized line, not null
+     */
+    private String normalize(String line) {
+        return line.trim().replaceAll("\\s+", " ");
+    }
+
     private int parseYear(String str, int defaultYear) {
         str = str.toLowerCase();
         if (matches(str, "minimum")) {
@@ -900,17 +1134,38 @@ final class TzdbZoneRulesCompiler {
      * @throws Exception if an error occurs
      */
     private void buildZoneRules() throws Exception {
+        // the rules are shared between zones, thus adjust them before building
+        for (List<TZDBRule> ruleList : rules.values()) {
+            for (TZDBRule rule : ruleList) {
+                rule.adjustToFowards(2004);  // irrelevant, treat as leap year
+            }
+        }
+
         // build zones
-        for (String zoneId : zones.keySet()) {
-            printVerbose("Building zone " + zoneId);
-            zoneId = deduplicate(zoneId);
-            List<TZDBZone> tzdbZones = zones.get(zoneId);
-            ZoneRulesBuilder bld = new ZoneRulesBuilder();
-            for (TZDBZone tzdbZone : tzdbZones) {
-                bld = tzdbZone.addToBuilder(bld, rules);
+        final Map<String, String> sources = (previousZones != null ? getZoneSources() : null);
+        if (executor == null) {
+            for (String zoneId : zones.keySet()) {
+                builtZones.put(zoneId, buildZone(zoneId, sources));
+            }
+        } else {
+            List<String> zoneIds = new ArrayList<String>(zones.keySet());
+            List<Callable<ZoneRules>> tasks = new ArrayList<Callable<ZoneRules>>(zoneIds.size());
+            for (final String zoneId : zoneIds) {
+                tasks.add(new Callable<ZoneRules>() {
+                    @Override
+                    public ZoneRules call() throws Exception {
+                        return buildZone(zoneId, sources);
+                    }
+                });
+            }
+            List<Future<ZoneRules>> futures = executor.invokeAll(tasks);
+            for (int i = 0; i < zoneIds.size(); i++) {
+                try {
+                    builtZones.put(zoneIds.get(i), futures.get(i).get());
+                } catch (ExecutionException ex) {
+                    throw new Exception("Failed while building zone '" + zoneIds.get(i) + "' for '" + version + "'", ex.getCause());
+                }
             }
-            ZoneRules buildRules = bld.toRules(zoneId, deduplicateMap);
-            builtZones.put(zoneId, deduplicate(buildRules));
         }
 
         // build aliases
@@ -939,6 +1194,34 @@ final class TzdbZoneRulesCompiler {
     }
 
     //-----------------------------------------------------------------------
+    /**
+     * Builds a single zone, or reuses it from the previous version if the source is unchanged.
+     * <p>
+     * This may be called in parallel for different zones.
+     *
+     * @param zoneId  the zone ID, not null
+     * @param sources  the source of each zone, null if not incremental
+     * @return the rules, not null
+     */
+    private ZoneRules buildZone(String zoneId, Map<String, String> sources) {
+        zoneId = deduplicate(zoneId);
+        if (sources != null && sources.get(zoneId).equals(previousSources.get(zoneId))) {
+            ZoneRules previousRules = previousZones.get(zoneId);
+            if (previousRules != null) {
+                printVerbose("Reusing zone " + zoneId);
+                return deduplicate(previousRules);
+            }
+        }
+        printVerbose("Building zone " + zoneId);
+        List<TZDBZone> tzdbZones = zones.get(zoneId);
+        ZoneRulesBuilder bld = new ZoneRulesBuilder();
+        for (TZDBZone tzdbZone : tzdbZones) {
+            bld = tzdbZone.addToBuilder(bld, rules);
+        }
+        ZoneRules buildRules = bld.toRules(zoneId, deduplicateMap);
+        return deduplicate(buildRules);
+    }
+
     /**
      * Deduplicates an object instance.
      *
@@ -948,10 +1231,8 @@ final class TzdbZoneRulesCompiler {
      */
     @SuppressWarnings("unchecked")
     <T> T deduplicate(T object) {
-        if (deduplicateMap.containsKey(object) == false) {
-            deduplicateMap.put(object, object);
-        }
-        return (T) deduplicateMap.get(object);
+        Object existing = deduplicateMap.putIfAbsent(object, object);
+        return (T) (existing != null ? existing : object);
     }
 
     //-----------------------------------------------------------------------
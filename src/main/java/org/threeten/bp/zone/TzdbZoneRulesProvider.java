@@ -33,48 +33,104 @@ package org.threeten.bp.zone;
 
 import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
 import java.io.StreamCorruptedException;
 import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.NavigableMap;
 import java.util.Set;
+import java.util.Timer;
+import java.util.TimerTask;
 import java.util.TreeMap;
-import java.util.concurrent.ConcurrentNavigableMap;
-import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 
+import org.threeten.bp.ZoneOffset;
 import org.threeten.bp.jdk8.Jdk8Methods;
 
 /**
  * Loads time-zone rules for 'TZDB'.
  * <p>
  * This class is public for the service loader to access.
+ * <p>
+ * By default, the serialized rules of every region are copied onto the heap when
+ * the provider is loaded, and each region is decoded on first use.
+ * Alternatively, the data file can be memory-mapped, in which case only the index
+ * of regions and rule positions is held on the heap and each region is decoded
+ * directly from the mapped file on first use.
+ * Memory-mapping is used by the {@link #TzdbZoneRulesProvider(File)} constructor
+ * and by the default constructor if the system property
+ * {@code org.threeten.bp.zone.TzdbZoneRulesProvider.memoryMapped} is {@code true}.
+ * A data file that is not a plain file, such as one within a jar file, is extracted
+ * once to the directory specified by the system property
+ * {@code org.threeten.bp.zone.TzdbZoneRulesProvider.cacheDir}, which defaults to
+ * a sub-directory of {@code java.io.tmpdir}.
+ * <p>
+ * The provider created by the {@code ServiceLoader} can also watch a directory for an
+ * updated {@code TZDB.dat} file. The directory is specified by the system property
+ * {@code org.threeten.bp.zone.TzdbZoneRulesProvider.watchDir} and is checked by a
+ * background daemon thread every {@code org.threeten.bp.zone.TzdbZoneRulesProvider.watchInterval}
+ * milliseconds, defaulting to one minute. When the file changes, it is loaded by the
+ * background thread and any new versions are published atomically, thus threads looking
+ * up rules never block. While watching, the rules are not cached in {@code ZoneId},
+ * so that existing zone IDs see the updated rules.
+ * Only versions that are not already loaded are added, as rules from loaded versions
+ * may be in use. An updated file must therefore use a new version ID, such as
+ * {@code 2013b_1} for a locally patched {@code 2013b}, otherwise it is ignored.
+ * A watched file that cannot be loaded, for example because it is only partly written,
+ * is ignored, including at startup, and is loaded once it becomes valid.
  *
  * <h3>Specification for implementors</h3>
- * This class is immutable and thread-safe.
+ * This class is thread-safe.
  */
 public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
     // TODO: can this be private/hidden in any way?
     // service loader seems to need it to be public
 
     /**
-     * All the regions that are available.
+     * The name of the data file.
      */
-    private final Set<String> regionIds = new CopyOnWriteArraySet<String>();
+    private static final String DATA_FILE = "TZDB.dat";
+
     /**
-     * All the versions that are available.
+     * The regions and versions that are available, replaced as a whole when data is loaded.
      */
-    private final ConcurrentNavigableMap<String, Version> versions = new ConcurrentSkipListMap<String, Version>();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
     /**
      * All the URLs that have been loaded.
      * Uses String to avoid equals() on URL.
      */
     private Set<String> loadedUrls = new CopyOnWriteArraySet<String>();
+    /**
+     * Whether to memory-map the data files rather than copying them to the heap.
+     */
+    private final boolean memoryMapped;
+    /**
+     * The data file that is watched for updates, null if not watching.
+     */
+    private final File watchedFile;
+    /**
+     * The last modified time and length of the watched file when last loaded.
+     * Guarded by the refresh lock.
+     */
+    private long watchedModified = -1;
+    private long watchedLength = -1;
+    /**
+     * The lock used to serialize loading of updated data, never used by readers.
+     */
+    private final Object refreshLock = new Object();
 
     /**
      * Creates an instance.
@@ -84,9 +140,41 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
      */
     public TzdbZoneRulesProvider() {
         super();
+        this.memoryMapped = Boolean.getBoolean("org.threeten.bp.zone.TzdbZoneRulesProvider.memoryMapped");
+        String watchDir = System.getProperty("org.threeten.bp.zone.TzdbZoneRulesProvider.watchDir");
+        this.watchedFile = (watchDir != null ? new File(watchDir, DATA_FILE) : null);
         if (load(ZoneRulesProvider.class.getClassLoader()) == false) {
             throw new ZoneRulesException("No time-zone rules found for 'TZDB'");
         }
+        if (watchedFile != null) {
+            refreshWatchedOnStartup();
+            long interval = Long.getLong("org.threeten.bp.zone.TzdbZoneRulesProvider.watchInterval", 60000L);
+            startWatcher(interval);
+        }
+    }
+
+    /**
+     * Creates an instance that loads the specified URL and watches a directory for updates.
+     * <p>
+     * The directory is checked each time {@link #provideRefresh()} is called,
+     * no background thread is started.
+     *
+     * @param url  the URL to load, not null
+     * @param watchDir  the directory to watch for an updated data file, not null
+     * @throws ZoneRulesException if unable to load
+     */
+    TzdbZoneRulesProvider(URL url, File watchDir) {
+        super();
+        this.memoryMapped = false;
+        this.watchedFile = new File(watchDir, DATA_FILE);
+        try {
+            if (load(url) == false) {
+                throw new ZoneRulesException("No time-zone rules found: " + url);
+            }
+        } catch (Exception ex) {
+            throw new ZoneRulesException("Unable to load TZDB time-zone rules: " + url, ex);
+        }
+        refreshWatchedOnStartup();
     }
 
     /**
@@ -99,6 +187,8 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
      */
     public TzdbZoneRulesProvider(URL url) {
         super();
+        this.memoryMapped = false;
+        this.watchedFile = null;
         try {
             if (load(url) == false) {
                 throw new ZoneRulesException("No time-zone rules found: " + url);
@@ -118,6 +208,8 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
      */
     public TzdbZoneRulesProvider(InputStream stream) {
         super();
+        this.memoryMapped = false;
+        this.watchedFile = null;
         try {
             load(stream);
         } catch (Exception ex) {
@@ -125,26 +217,55 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
         }
     }
 
+    /**
+     * Creates an instance and memory-maps the specified file.
+     * <p>
+     * Only the index of the file is read onto the heap, the rules for each
+     * region are decoded from the mapped file on first use.
+     * The file must not be modified while the provider is in use.
+     *
+     * @param file  the file to map, not null
+     * @throws ZoneRulesException if unable to load
+     */
+    public TzdbZoneRulesProvider(File file) {
+        super();
+        this.memoryMapped = true;
+        this.watchedFile = null;
+        try {
+            if (loadedUrls.add(file.toURI().toURL().toExternalForm())) {
+                loadMapped(file);
+            }
+        } catch (Exception ex) {
+            throw new ZoneRulesException("Unable to load TZDB time-zone rules: " + file, ex);
+        }
+    }
+
     //-----------------------------------------------------------------------
     @Override
     protected Set<String> provideZoneIds() {
-        return new HashSet<String>(regionIds);
+        return snapshot.regionIds;
     }
 
     @Override
     protected ZoneRules provideRules(String zoneId, boolean forCaching) {
         Jdk8Methods.requireNonNull(zoneId, "zoneId");
-        ZoneRules rules = versions.lastEntry().getValue().getRules(zoneId);
-        if (rules == null) {
-            throw new ZoneRulesException("Unknown time-zone ID: " + zoneId);
+        if (forCaching && watchedFile != null) {
+            return null;
         }
-        return rules;
+        // a region removed in a later version remains available from an earlier version
+        for (Version version : snapshot.versions.descendingMap().values()) {
+            ZoneRules rules = version.getRules(zoneId);
+            if (rules != null) {
+                return rules;
+            }
+        }
+        throw new ZoneRulesException("Unknown time-zone ID: " + zoneId);
     }
 
     @Override
     protected NavigableMap<String, ZoneRules> provideVersions(String zoneId) {
         TreeMap<String, ZoneRules> map = new TreeMap<String, ZoneRules>();
-        for (Version version : versions.values()) {
+        for (Version version : snapshot.versions.values()) {
             ZoneRules rules = version.getRules(zoneId);
             if (rules != null) {
                 map.put(version.versionId, rules);
@@ -153,6 +274,88 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
         return map;
     }
 
+    /**
+     * Loads the watched data file if it has changed since it was last loaded.
+     * <p>
+     * The file is loaded by the calling thread and the new versions are published
+     * atomically, thus other threads continue to use the previous rules until the
+     * new rules are fully loaded.
+     *
+     * @return true if the rules were updated
+     * @throws ZoneRulesException if the watched file cannot be loaded
+     */
+    @Override
+    protected boolean provideRefresh() {
+        return (watchedFile != null ? refreshWatched() : false);
+    }
+
+    /**
+     * Loads the watched data file if it has changed.
+     *
+     * @return true if updated
+     * @throws ZoneRulesException if unable to load
+     */
+    private boolean refreshWatched() {
+        synchronized (refreshLock) {
+            long modified = watchedFile.lastModified();
+            long length = watchedFile.length();
+            if (watchedFile.isFile() == false || (modified == watchedModified && length == watchedLength)) {
+                return false;
+            }
+            // the file is copied to the heap as it may be replaced again while in use
+            try {
+                InputStream in = new FileInputStream(watchedFile);
+                try {
+                    Snapshot previous = snapshot;
+                    load(in);
+                    watchedModified = modified;
+                    watchedLength = length;
+                    return snapshot != previous;
+                } finally {
+                    in.close();
+                }
+            } catch (Exception ex) {
+                throw new ZoneRulesException("Unable to load TZDB time-zone rules: " + watchedFile, ex);
+            }
+        }
+    }
+
+    /**
+     * Loads the watched data file during construction if it is valid.
+     * <p>
+     * A file that cannot be loaded must not prevent the bundled rules from being used.
+     * As the last modified time and length are only recorded on success, the file
+     * is loaded again by the next refresh.
+     */
+    private void refreshWatchedOnStartup() {
+        try {
+            refreshWatched();
+        } catch (ZoneRulesException ex) {
+            // retain the bundled rules, the file will be checked again on refresh
+        }
+    }
+
+    /**
+     * Starts the background thread that watches the data file.
+     *
+     * @param interval  the interval between checks in milliseconds
+     */
+    private void startWatcher(long interval) {
+        Timer timer = new Timer("ThreeTen TZDB watcher", true);
+        timer.schedule(new TimerTask() {
+            @Override
+            public void run() {
+                try {
+                    if (refreshWatched()) {
+                        registerRefreshed(TzdbZoneRulesProvider.this);
+                    }
+                } catch (RuntimeException ex) {
+                    // retain the current rules, the file will be checked again when modified
+                }
+            }
+        }, interval, interval);
+    }
+
     //-------------------------------------------------------------------------
     /**
      * Loads the rules.
@@ -188,6 +391,9 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
     private boolean load(URL url) throws ClassNotFoundException, IOException, ZoneRulesException {
         boolean updated = false;
         if (loadedUrls.add(url.toExternalForm())) {
+            if (memoryMapped) {
+                return loadMapped(toFile(url, cacheDir()));
+            }
             InputStream in = null;
             try {
                 in = url.openStream();
@@ -208,29 +414,138 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
      * @throws Exception if an error occurs
      */
     private boolean load(InputStream in) throws IOException, StreamCorruptedException {
-        boolean updated = false;
-        Iterable<Version> loadedVersions = loadData(in);
+        return register(loadData(new DataInputStream(in), null));
+    }
+
+    /**
+     * Loads the rules by memory-mapping a file.
+     *
+     * @param file  the file to map, not null
+     * @return true if updated
+     * @throws IOException if an IO error occurs
+     */
+    private boolean loadMapped(File file) throws IOException, StreamCorruptedException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = raf.getChannel();
+            // the mapping remains valid after the channel is closed
+            ByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return register(loadData(new DataInputStream(new ByteBufferInputStream(buf)), buf));
+        } finally {
+            raf.close();
+        }
+    }
+
+    /**
+     * Obtains a plain file for the URL, extracting the data to the cache directory if necessary.
+     * <p>
+     * The extracted file is named using the URL and the last modified time of the
+     * resource, thus it is only extracted once for each version of the containing jar file.
+     *
+     * @param url  the URL to convert, not null
+     * @param dir  the directory to extract to, not null
+     * @return the file, not null
+     * @throws IOException if an IO error occurs
+     */
+    static File toFile(URL url, File dir) throws IOException {
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return new File(url.toURI());
+            } catch (Exception ex) {
+                // fall through and extract
+            }
+        }
+        URLConnection conn = url.openConnection();
+        String name = "TZDB-" + Integer.toHexString(url.toExternalForm().hashCode()) +
+                "-" + Long.toHexString(conn.getLastModified()) + ".dat";
+        File file = new File(dir, name);
+        if (file.isFile()) {
+            return file;
+        }
+        if (dir.isDirectory() == false && dir.mkdirs() == false && dir.isDirectory() == false) {
+            throw new IOException("Unable to create TZDB cache directory: " + dir);
+        }
+        // extract to a temporary file and rename, so that other processes never see a partial file
+        File tmp = File.createTempFile("TZDB-", ".tmp", dir);
+        InputStream in = conn.getInputStream();
+        try {
+            OutputStream out = new FileOutputStream(tmp);
+            try {
+                byte[] bytes = new byte[8192];
+                int len;
+                while ((len = in.read(bytes)) > 0) {
+                    out.write(bytes, 0, len);
+                }
+            } finally {
+                out.close();
+            }
+        } finally {
+            in.close();
+        }
+        if (tmp.renameTo(file) == false) {
+            tmp.delete();
+            if (file.isFile() == false) {
+                throw new IOException("Unable to extract TZDB data file: " + file);
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Gets the directory that data files are extracted to for memory-mapping.
+     *
+     * @return the directory, not null
+     */
+    private static File cacheDir() {
+        String dirName = System.getProperty("org.threeten.bp.zone.TzdbZoneRulesProvider.cacheDir");
+        return (dirName != null ? new File(dirName) : new File(System.getProperty("java.io.tmpdir"), "threetenbp-tzdb"));
+    }
+
+    /**
+     * Registers the loaded versions.
+     * <p>
+     * A new snapshot is published containing the existing versions and any new versions.
+     * Versions that are already loaded are retained, as rules from them may be in use.
+     * Callers must not register concurrently, which is ensured by only registering
+     * during construction or while holding the refresh lock.
+     *
+     * @param loadedVersions  the loaded versions, not null
+     * @return true if updated
+     */
+    private boolean register(Iterable<Version> loadedVersions) {
+        // see https://github.com/ThreeTen/threetenbp/pull/28 for issue wrt
+        // multiple versions of lib on classpath
+        Snapshot current = snapshot;
+        TreeMap<String, Version> versions = new TreeMap<String, Version>(current.versions);
+        Set<String> regionIds = new HashSet<String>(current.regionIds);
+        boolean added = false;
         for (Version loadedVersion : loadedVersions) {
-            // see https://github.com/ThreeTen/threetenbp/pull/28 for issue wrt
-            // multiple versions of lib on classpath
-            Version existing = versions.putIfAbsent(loadedVersion.versionId, loadedVersion);
-            if (existing != null && !existing.versionId.equals(loadedVersion.versionId)) {
-                throw new ZoneRulesException("Data already loaded for TZDB time-zone rules version: " + loadedVersion.versionId);
+            if (versions.containsKey(loadedVersion.versionId) == false) {
+                versions.put(loadedVersion.versionId, loadedVersion);
+                regionIds.addAll(Arrays.asList(loadedVersion.regionArray));
+                added = true;
             }
-            updated = true;
         }
-        return updated;
+        if (added) {
+            snapshot = new Snapshot(regionIds, versions);
+        }
+        return loadedVersions.iterator().hasNext();
     }
 
     /**
      * Loads the rules from an input stream.
+     * <p>
+     * If the mapped buffer is specified, the stream must read from it, and the position
+     * of the rules within the buffer is stored instead of copying them to the heap.
      *
-     * @param in  the stream to load, not null, not closed after use
+     * @param dis  the stream to load, not null, not closed after use
+     * @param mapped  the buffer being read by the stream, null to copy the rules
      * @throws Exception if an error occurs
      */
-    private Iterable<Version> loadData(InputStream in) throws IOException, StreamCorruptedException {
-        DataInputStream dis = new DataInputStream(in);
-        if (dis.readByte() != 1) {
+    private Iterable<Version> loadData(DataInputStream dis, ByteBuffer mapped) throws IOException, StreamCorruptedException {
+        // version 1 stores each rule independently, version 2 uses the compact format
+        int formatVersion = dis.readByte();
+        if (formatVersion != 1 && formatVersion != 2) {
             throw new StreamCorruptedException("File format not recognised");
         }
         // group
@@ -250,14 +565,31 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
         for (int i = 0; i < regionCount; i++) {
             regionArray[i] = dis.readUTF();
         }
-        regionIds.addAll(Arrays.asList(regionArray));
+        // offsets shared by the rules
+        ZoneOffset[] offsetArray = null;
+        if (formatVersion == 2) {
+            offsetArray = new ZoneOffset[dis.readShort()];
+            for (int i = 0; i < offsetArray.length; i++) {
+                offsetArray[i] = Ser.readOffset(dis);
+            }
+        }
         // rules
         int ruleCount = dis.readShort();
         Object[] ruleArray = new Object[ruleCount];
-        for (int i = 0; i < ruleCount; i++) {
-            byte[] bytes = new byte[dis.readShort()];
-            dis.readFully(bytes);
-            ruleArray[i] = bytes;
+        int[] rulePositions = null;
+        if (mapped != null) {
+            rulePositions = new int[ruleCount];
+            for (int i = 0; i < ruleCount; i++) {
+                int length = dis.readShort();
+                rulePositions[i] = mapped.position();
+                mapped.position(rulePositions[i] + length);
+            }
+        } else {
+            for (int i = 0; i < ruleCount; i++) {
+                byte[] bytes = new byte[dis.readShort()];
+                dis.readFully(bytes);
+                ruleArray[i] = bytes;
+            }
         }
         AtomicReferenceArray<Object> ruleData = new AtomicReferenceArray<Object>(ruleArray);
         // link version-region-rules
@@ -270,7 +602,7 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
                 versionRegionArray[j] = regionArray[dis.readShort()];
                 versionRulesArray[j] = dis.readShort();
             }
-            versionSet.add(new Version(versionArray[i], versionRegionArray, versionRulesArray, ruleData));
+            versionSet.add(new Version(versionArray[i], versionRegionArray, versionRulesArray, ruleData, offsetArray, mapped, rulePositions));
         }
         return versionSet;
     }
@@ -280,21 +612,50 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
         return "TZDB";
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * An immutable snapshot of the loaded regions and versions.
+     */
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(new HashSet<String>(), new TreeMap<String, Version>());
+
+        final Set<String> regionIds;
+        // never modified after construction
+        final TreeMap<String, Version> versions;
+
+        Snapshot(Set<String> regionIds, TreeMap<String, Version> versions) {
+            this.regionIds = Collections.unmodifiableSet(regionIds);
+            this.versions = versions;
+        }
+    }
+
     //-----------------------------------------------------------------------
     /**
      * A version of the TZDB rules.
+     * <p>
+     * The rule data holds either the serialized bytes or the decoded rules.
+     * When memory-mapped, the rule data is initially empty and the rules are
+     * decoded from the mapped buffer at the stored position.
+     * The offsets are only present for the compact format.
      */
     static class Version {
         private final String versionId;
         private final String[] regionArray;
         private final short[] ruleIndices;
         private final AtomicReferenceArray<Object> ruleData;
+        private final ZoneOffset[] offsets;
+        private final ByteBuffer mapped;
+        private final int[] rulePositions;
 
-        Version(String versionId, String[] regionIds, short[] ruleIndices, AtomicReferenceArray<Object> ruleData) {
+        Version(String versionId, String[] regionIds, short[] ruleIndices, AtomicReferenceArray<Object> ruleData,
+                ZoneOffset[] offsets, ByteBuffer mapped, int[] rulePositions) {
             this.ruleData = ruleData;
+            this.offsets = offsets;
             this.versionId = versionId;
             this.regionArray = regionIds;
             this.ruleIndices = ruleIndices;
+            this.mapped = mapped;
+            this.rulePositions = rulePositions;
         }
 
         ZoneRules getRules(String regionId) {
@@ -314,16 +675,72 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
             if (obj instanceof byte[]) {
                 byte[] bytes = (byte[]) obj;
                 DataInputStream dis = new DataInputStream(new ByteArrayInputStream(bytes));
-                obj = Ser.read(dis);
+                obj = readRules(dis);
                 ruleData.set(index, obj);
+            } else if (obj == null) {
+                // duplicate as the position of the shared buffer is not thread-safe
+                ByteBuffer buf = mapped.duplicate();
+                buf.position(rulePositions[index]);
+                obj = readRules(new DataInputStream(new ByteBufferInputStream(buf)));
+                if (ruleData.compareAndSet(index, null, obj) == false) {
+                    obj = ruleData.get(index);
+                }
             }
             return (ZoneRules) obj;
         }
 
+        private Object readRules(DataInputStream dis) throws Exception {
+            return (offsets != null ? Ser.read(dis, offsets) : Ser.read(dis));
+        }
+
         @Override
         public String toString() {
             return versionId;
         }
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Input stream reading from a byte buffer, typically memory-mapped.
+     * <p>
+     * The position of the buffer is advanced as data is read.
+     */
+    static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buf;
+
+        ByteBufferInputStream(ByteBuffer buf) {
+            this.buf = buf;
+        }
+
+        @Override
+        public int read() {
+            return buf.hasRemaining() ? buf.get() & 255 : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (buf.hasRemaining() == false) {
+                return -1;
+            }
+            len = Math.min(len, buf.remaining());
+            buf.get(bytes, off, len);
+            return len;
+        }
+
+        @Override
+        public long skip(long n) {
+            int len = (int) Math.max(0, Math.min(n, buf.remaining()));
+            buf.position(buf.position() + len);
+            return len;
+        }
+
+        @Override
+        public int available() {
+            return buf.remaining();
+        }
+    }
+
 }
@@ -132,6 +132,18 @@ public abstract class ZoneRules {
      */
     public abstract ZoneOffset getOffset(Instant instant);
 
+    /**
+     * Gets the offset applicable at the specified epoch second in these rules.
+     * <p>
+     * This is equivalent to {@link #getOffset(Instant)}, but avoids the need to
+     * create an {@code Instant} and returns the total offset in seconds.
+     * The supplied implementations do not allocate objects for typical inputs.
+     *
+     * @param epochSecond  the epoch second to find the offset for, from 1970-01-01T00:00:00Z
+     * @return the total offset in seconds
+     */
+    public abstract int getOffsetSeconds(long epochSecond);
+
     /**
      * Gets a suitable offset for the specified local date-time in these rules.
      * <p>
@@ -162,6 +174,21 @@ public abstract class ZoneRules {
      */
     public abstract ZoneOffset getOffset(LocalDateTime localDateTime);
 
+    /**
+     * Gets a suitable offset for the specified local epoch second in these rules.
+     * <p>
+     * This is equivalent to {@link #getOffset(LocalDateTime)}, where the local
+     * date-time is expressed as a count of seconds from 1970-01-01T00:00 local time,
+     * and the total offset in seconds is returned.
+     * As with that method, in the case of a Gap or Overlap the offset before the
+     * transition is returned.
+     * The supplied implementations do not allocate objects for typical inputs.
+     *
+     * @param localEpochSecond  the local date-time to query, as seconds from 1970-01-01T00:00
+     * @return the best available total offset in seconds for the local date-time
+     */
+    public abstract int getOffsetSecondsForLocal(long localEpochSecond);
+
     /**
      * Gets the offset applicable at the specified local date-time in these rules.
      * <p>
@@ -425,11 +452,21 @@ public abstract class ZoneRules {
             return offset;
         }
 
+        @Override
+        public int getOffsetSeconds(long epochSecond) {
+            return offset.getTotalSeconds();
+        }
+
         @Override
         public ZoneOffset getOffset(LocalDateTime localDateTime) {
             return offset;
         }
 
+        @Override
+        public int getOffsetSecondsForLocal(long localEpochSecond) {
+            return offset.getTotalSeconds();
+        }
+
         @Override
         public List<ZoneOffset> getValidOffsets(LocalDateTime localDateTime) {
             return Collections.singletonList(offset);
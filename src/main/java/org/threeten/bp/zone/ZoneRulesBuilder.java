@@ -37,9 +37,9 @@ import static org.threeten.bp.temporal.TemporalAdjusters.previousOrSame;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.threeten.bp.DateTimeException;
 import org.threeten.bp.DayOfWeek;
@@ -78,7 +78,7 @@ class ZoneRulesBuilder {
     /**
      * A map for deduplicating the output.
      */
-    private Map<Object, Object> deduplicateMap;
+    private ConcurrentMap<Object, Object> deduplicateMap;
 
     //-----------------------------------------------------------------------
     /**
@@ -296,7 +296,7 @@ class ZoneRulesBuilder {
      * @throws IllegalStateException if there is only one rule defined as being forever for any given window
      */
     public ZoneRules toRules(String zoneId) {
-        return toRules(zoneId, new HashMap<Object, Object>());
+        return toRules(zoneId, new ConcurrentHashMap<Object, Object>());
     }
 
     /**
@@ -306,12 +306,12 @@ class ZoneRulesBuilder {
      * Further rules should not be added to this builder once this method is called.
      *
      * @param zoneId  the time-zone ID, not null
-     * @param deduplicateMap  a map for deduplicating the values, not null
+     * @param deduplicateMap  a map for deduplicating the values, may be shared between threads, not null
      * @return the zone rules, not null
      * @throws IllegalStateException if no windows have been added
      * @throws IllegalStateException if there is only one rule defined as being forever for any given window
      */
-    ZoneRules toRules(String zoneId, Map<Object, Object> deduplicateMap) {
+    ZoneRules toRules(String zoneId, ConcurrentMap<Object, Object> deduplicateMap) {
         Jdk8Methods.requireNonNull(zoneId, "zoneId");
         this.deduplicateMap = deduplicateMap;
         if (windowList.isEmpty()) {
@@ -411,10 +411,8 @@ class ZoneRulesBuilder {
      */
     @SuppressWarnings("unchecked")
     <T> T deduplicate(T object) {
-        if (deduplicateMap.containsKey(object) == false) {
-            deduplicateMap.put(object, object);
-        }
-        return (T) deduplicateMap.get(object);
+        Object existing = deduplicateMap.putIfAbsent(object, object);
+        return (T) (existing != null ? existing : object);
     }
 
     //-----------------------------------------------------------------------
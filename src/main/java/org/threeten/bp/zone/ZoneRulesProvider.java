@@ -31,6 +31,7 @@
  */
 package org.threeten.bp.zone;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.NavigableMap;
 import java.util.ServiceConfigurationError;
@@ -68,7 +69,12 @@ import org.threeten.bp.jdk8.Jdk8Methods;
  * <p>
  * Many systems would like to update time-zone rules dynamically without stopping the JVM.
  * When examined in detail, this is a complex problem.
- * Providers may choose to handle dynamic updates, however the default provider does not.
+ * Providers may choose to handle dynamic updates, see {@link #refresh()}.
+ * The default provider can reload an updated data file from a directory, checked by a
+ * background thread, when the system property
+ * {@code org.threeten.bp.zone.TzdbZoneRulesProvider.watchDir} is set, with the interval
+ * between checks set by {@code org.threeten.bp.zone.TzdbZoneRulesProvider.watchInterval}.
+ * See {@link TzdbZoneRulesProvider} for details.
  */
 public abstract class ZoneRulesProvider {
 
@@ -80,11 +86,16 @@ public abstract class ZoneRulesProvider {
      * The lookup from zone region ID to provider.
      */
     private static final ConcurrentMap<String, ZoneRulesProvider> ZONES = new ConcurrentHashMap<String, ZoneRulesProvider>(512, 0.75f, 2);
+    /**
+     * The immutable snapshot of zone region IDs, replaced when the IDs change.
+     */
+    private static volatile Set<String> ZONE_IDS = Collections.emptySet();
     static {
         ServiceLoader<ZoneRulesProvider> loader = ServiceLoader.load(ZoneRulesProvider.class, ZoneRulesProvider.class.getClassLoader());
         for (ZoneRulesProvider provider : loader) {
             try {
                 registerProvider0(provider);
+                PROVIDERS.add(provider);
             } catch (ServiceConfigurationError ex) {
                 if (!(ex.getCause() instanceof SecurityException)) {
                     throw ex;
@@ -102,7 +113,21 @@ public abstract class ZoneRulesProvider {
      * @return a modifiable copy of the set of zone IDs, not null
      */
     public static Set<String> getAvailableZoneIds() {
-        return new HashSet<String>(ZONES.keySet());
+        return new HashSet<String>(ZONE_IDS);
+    }
+
+    /**
+     * Gets an immutable snapshot of the set of available zone IDs.
+     * <p>
+     * The snapshot is built once each time a provider is registered or refreshed,
+     * and the same instance is returned until then.
+     * Callers may therefore cache data derived from the snapshot, using the
+     * identity of the snapshot as the version of the derived data.
+     *
+     * @return the unmodifiable set of zone IDs, not null
+     */
+    public static Set<String> getAvailableZoneIdsSnapshot() {
+        return ZONE_IDS;
     }
 
     /**
@@ -218,6 +243,39 @@ public abstract class ZoneRulesProvider {
                     ", currently loading from provider: " + provider);
             }
         }
+        updateZoneIds();
+    }
+
+    /**
+     * Registers any zone IDs added to a provider by a refresh.
+     * <p>
+     * Zone IDs are never removed, thus those already registered for the provider are retained.
+     * A new snapshot of the zone IDs is always published, as the rules may have changed
+     * even if no zone IDs were added.
+     *
+     * @param provider  the provider that was refreshed, not null
+     * @throws ZoneRulesException if a new zone ID is registered to a different provider
+     */
+    static void registerRefreshed(ZoneRulesProvider provider) {
+        for (String zoneId : provider.provideZoneIds()) {
+            Jdk8Methods.requireNonNull(zoneId, "zoneId");
+            ZoneRulesProvider old = ZONES.putIfAbsent(zoneId, provider);
+            if (old != null && old != provider) {
+                throw new ZoneRulesException(
+                    "Unable to register zone as one already registered with that ID: " + zoneId +
+                    ", currently refreshing provider: " + provider);
+            }
+        }
+        updateZoneIds();
+    }
+
+    /**
+     * Publishes a new snapshot of the zone IDs.
+     * <p>
+     * This is synchronized so that the last snapshot published contains all registered IDs.
+     */
+    private static synchronized void updateZoneIds() {
+        ZONE_IDS = Collections.unmodifiableSet(new HashSet<String>(ZONES.keySet()));
     }
 
     //-------------------------------------------------------------------------
@@ -229,8 +287,11 @@ public abstract class ZoneRulesProvider {
      * After calling this method, the offset stored in any {@link ZonedDateTime}
      * may be invalid for the zone ID.
      * <p>
-     * Dynamic behavior is entirely optional and most providers, including the
-     * default provider, do not support it.
+     * Any zone IDs added by the refresh become available.
+     * <p>
+     * Dynamic behavior is entirely optional and most providers do not support it.
+     * The default provider only supports it when watching a directory for updates,
+     * see {@link TzdbZoneRulesProvider}.
      *
      * @return true if the rules were updated
      * @throws ZoneRulesException if an error occurs during the refresh
@@ -238,7 +299,10 @@ public abstract class ZoneRulesProvider {
     public static boolean refresh() {
         boolean changed = false;
         for (ZoneRulesProvider provider : PROVIDERS) {
-            changed |= provider.provideRefresh();
+            if (provider.provideRefresh()) {
+                registerRefreshed(provider);
+                changed = true;
+            }
         }
         return changed;
     }
@@ -40,10 +40,12 @@ import static org.threeten.bp.temporal.ChronoField.SECOND_OF_MINUTE;
 import static org.threeten.bp.temporal.ChronoField.YEAR;
 
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 import java.text.NumberFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.Date;
@@ -106,6 +108,7 @@ public class Performance {
         List<LocalDateTime> ldt = setupDateTime();
         queryListDateTime(ldt);
         formatListDateTime(ldt);
+        parseListDateTime(ldt);
         sortListDateTime(ldt);
 
         List<ZonedDateTime> zdt = setupZonedDateTime();
@@ -116,6 +119,10 @@ public class Performance {
         List<Instant> instants = setupInstant();
         queryListInstant(instants);
         formatListInstant(instants);
+        formatAsciiListInstant(instants);
+        parseListInstant(instants);
+        parseAsciiListInstant(instants);
+        parseBatchListInstant(instants);
         sortListInstant(instants);
 
         List<Date> judates = setupDate();
@@ -126,6 +133,7 @@ public class Performance {
         List<LocalDate> ld = setupLocalDate();
         queryListLocalDate(ld);
         formatListLocalDate(ld);
+        epochDayListLocalDate(ld);
         sortListLocalDate(ld);
 
         List<LocalTime> lt = setupTime();
@@ -140,6 +148,14 @@ public class Performance {
 
         deriveTime(lt);
         deriveDateTime(ldt);
+
+        nowClock("System", Clock.systemUTC());
+        nowClock("Nanos", Clock.systemNanos(ZoneOffset.UTC));
+        epochNanosClock(Clock.systemNanos(ZoneOffset.UTC));
+        nowClock("Cached", Clock.cached(ZoneOffset.UTC, Duration.ofMillis(1)));
+        nowLocalDateTime("System", Clock.systemDefaultZone());
+        nowLocalDateTime("Cached", Clock.cached(ZoneId.systemDefault(), Duration.ofMillis(1)));
+        systemDefaultZone();
     }
 
     //-----------------------------------------------------------------------
@@ -196,6 +212,22 @@ public class Performance {
         result("LocalDT-P", end - start);
     }
 
+    private static void parseListDateTime(List<LocalDateTime> list) {
+        DateTimeFormatter format = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+        List<String> texts = new ArrayList<String>(list.size());
+        for (LocalDateTime dt : list) {
+            texts.add(format.format(dt));
+        }
+        long total = 0;
+        long start = System.nanoTime();
+        for (String text : texts) {
+            total += format.parseLocalDateTime(text).getSecond();
+        }
+        long end = System.nanoTime();
+        System.out.println("LocalDT:   Parse:  " + NF.format(end - start) + " ns" + " " + total);
+        result("LocalDT-R", end - start);
+    }
+
     private static void deriveDateTime(List<LocalDateTime> list) {
         long total = 0;
         long start = System.nanoTime();
@@ -247,6 +279,26 @@ public class Performance {
         result("LocalD-Q", end - start);
     }
 
+    private static void epochDayListLocalDate(List<LocalDate> list) {
+        long[] epochDays = new long[list.size()];
+        long start = System.nanoTime();
+        for (int i = 0; i < epochDays.length; i++) {
+            epochDays[i] = list.get(i).toEpochDay();
+        }
+        long end = System.nanoTime();
+        System.out.println("LocalD:    ToEpoc: " + NF.format(end - start) + " ns" + " " + epochDays[0]);
+        result("LocalD-E", end - start);
+
+        LocalDate[] dates = new LocalDate[epochDays.length];
+        start = System.nanoTime();
+        for (int i = 0; i < epochDays.length; i++) {
+            dates[i] = LocalDate.ofEpochDay(epochDays[i]);
+        }
+        end = System.nanoTime();
+        System.out.println("LocalD:    OfEpoc: " + NF.format(end - start) + " ns" + " " + dates[0]);
+        result("LocalD-O", end - start);
+    }
+
     private static void formatListLocalDate(List<LocalDate> list) {
         StringBuilder buf = new StringBuilder();
         DateTimeFormatter format = DateTimeFormatter.ISO_DATE.withLocale(Locale.ENGLISH);
@@ -426,6 +478,68 @@ public class Performance {
         result("Instant-P", end - start);
     }
 
+    private static void formatAsciiListInstant(List<Instant> list) {
+        ByteBuffer buf = ByteBuffer.allocate(64);
+        DateTimeFormatter format = DateTimeFormatter.ISO_INSTANT.withLocale(Locale.ENGLISH);
+        long start = System.nanoTime();
+        for (Instant dt : list) {
+            buf.clear();
+            format.formatToAscii(dt, buf);
+        }
+        long end = System.nanoTime();
+        System.out.println("Instant:   Ascii:  " + NF.format(end - start) + " ns" + " " + buf.position());
+        result("Instant-A", end - start);
+    }
+
+    private static void parseListInstant(List<Instant> list) {
+        DateTimeFormatter format = DateTimeFormatter.ISO_INSTANT;
+        List<String> texts = new ArrayList<String>(list.size());
+        for (Instant dt : list) {
+            texts.add(format.format(dt));
+        }
+        long total = 0;
+        long start = System.nanoTime();
+        for (String text : texts) {
+            total += format.parseInstant(text).getNano();
+        }
+        long end = System.nanoTime();
+        System.out.println("Instant:   Parse:  " + NF.format(end - start) + " ns" + " " + total);
+        result("Instant-R", end - start);
+    }
+
+    private static void parseAsciiListInstant(List<Instant> list) {
+        DateTimeFormatter format = DateTimeFormatter.ISO_INSTANT;
+        ByteBuffer buf = ByteBuffer.allocate(list.size() * 32);
+        int[] offsets = new int[list.size() + 1];
+        for (int i = 0; i < list.size(); i++) {
+            format.formatToAscii(list.get(i), buf);
+            offsets[i + 1] = buf.position();
+        }
+        byte[] bytes = buf.array();
+        long total = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < list.size(); i++) {
+            total += format.parse(bytes, offsets[i], offsets[i + 1] - offsets[i], Instant.FROM).getNano();
+        }
+        long end = System.nanoTime();
+        System.out.println("Instant:   PAscii: " + NF.format(end - start) + " ns" + " " + total);
+        result("Instant-B", end - start);
+    }
+
+    private static void parseBatchListInstant(List<Instant> list) {
+        DateTimeFormatter format = DateTimeFormatter.ISO_INSTANT;
+        String[] texts = new String[list.size()];
+        for (int i = 0; i < texts.length; i++) {
+            texts[i] = format.format(list.get(i));
+        }
+        long[] out = new long[texts.length];
+        long start = System.nanoTime();
+        BitSet failures = format.parseToEpochMillis(texts, out, null);
+        long end = System.nanoTime();
+        System.out.println("Instant:   PBatch: " + NF.format(end - start) + " ns" + " " + failures.cardinality());
+        result("Instant-C", end - start);
+    }
+
     //-----------------------------------------------------------------------
     private static List<Date> setupDate() {
         Random random = new Random(47658758756875687L);
@@ -528,6 +642,52 @@ public class Performance {
         result("GregCal-P", end - start);
     }
 
+    //-----------------------------------------------------------------------
+    //-----------------------------------------------------------------------
+    private static void nowClock(String name, Clock clock) {
+        Instant[] instants = new Instant[SIZE];
+        long start = System.nanoTime();
+        for (int i = 0; i < SIZE; i++) {
+            instants[i] = clock.instant();
+        }
+        long end = System.nanoTime();
+        System.out.println("Clock:     " + name + ": " + NF.format(end - start) + " ns" + " " + instants[SIZE - 1]);
+        result("Clock-" + name, end - start);
+    }
+
+    private static void epochNanosClock(Clock clock) {
+        long total = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < SIZE; i++) {
+            total += clock.epochNanos();
+        }
+        long end = System.nanoTime();
+        System.out.println("Clock:     Epoch:  " + NF.format(end - start) + " ns" + " " + total);
+        result("Clock-E", end - start);
+    }
+
+    private static void nowLocalDateTime(String name, Clock clock) {
+        LocalDateTime[] dates = new LocalDateTime[SIZE];
+        long start = System.nanoTime();
+        for (int i = 0; i < SIZE; i++) {
+            dates[i] = LocalDateTime.now(clock);
+        }
+        long end = System.nanoTime();
+        System.out.println("LocalDT:   " + name + ": " + NF.format(end - start) + " ns" + " " + dates[SIZE - 1]);
+        result("LocalDT-Now-" + name, end - start);
+    }
+
+    private static void systemDefaultZone() {
+        LocalDate[] dates = new LocalDate[SIZE];
+        long start = System.nanoTime();
+        for (int i = 0; i < SIZE; i++) {
+            dates[i] = LocalDate.now();
+        }
+        long end = System.nanoTime();
+        System.out.println("LocalD:    Now:    " + NF.format(end - start) + " ns" + " " + dates[SIZE - 1]);
+        result("LocalD-Now", end - start);
+    }
+
     //-----------------------------------------------------------------------
     private static void result(String name, long result) {
         long[] values = RESULTS.get(name);
@@ -35,6 +35,7 @@ import java.text.NumberFormat;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.Random;
 
 import org.threeten.bp.zone.ZoneRules;
 
@@ -66,12 +67,29 @@ public class PerformanceZone {
             jsrInstantGetOffset();
             jsrRulesLocalGetOffset();
             jsrRulesInstantGetOffset();
+            jsrRulesInstantGetOffsetSequence("Sorted", sortedInstants());
+            jsrRulesInstantGetOffsetSequence("MostSo", mostlySortedInstants());
+            jsrRulesInstantGetOffsetSequence("Random", randomInstants());
+            jsrRulesInstantGetOffsetThreads("RndThr", randomInstants(), 4);
             jdkLocalGetOffset();
             jdkInstantGetOffset();
+            jsrZoneIdOf();
             System.out.println();
         }
     }
 
+    //-----------------------------------------------------------------------
+    private static void jsrZoneIdOf() {
+        String[] ids = {"Europe/London", "America/New_York", "UTC+01:00", "GMT-5"};
+        ZoneId[] list = new ZoneId[SIZE];
+        long start = System.nanoTime();
+        for (int i = 0; i < SIZE; i++) {
+            list[i] = ZoneId.of(ids[i & 3]);
+        }
+        long end = System.nanoTime();
+        System.out.println("JSR-Of:  Setup:  " + NF.format(end - start) + " ns" + list[0]);
+    }
+
     //-----------------------------------------------------------------------
     private static void jsrLocalGetOffset() {
         LocalDateTime dt = LocalDateTime.of(YEAR, 6, 1, 12, 0);
@@ -124,6 +142,79 @@ public class PerformanceZone {
         System.out.println("JSR-InR: Setup:  " + NF.format(end - start) + " ns" + list[0]);
     }
 
+    //-----------------------------------------------------------------------
+    private static void jsrRulesInstantGetOffsetSequence(String name, Instant[] instants) {
+        ZoneRules tz = ZoneId.of("Europe/London").getRules();
+        ZoneOffset[] list = new ZoneOffset[SIZE];
+        long start = System.nanoTime();
+        for (int i = 0; i < SIZE; i++) {
+            list[i] = tz.getOffset(instants[i]);
+        }
+        long end = System.nanoTime();
+        System.out.println("JSR-" + name + ":  " + NF.format(end - start) + " ns" + list[0]);
+    }
+
+    private static void jsrRulesInstantGetOffsetThreads(String name, final Instant[] instants, int threadCount) {
+        // threads sharing one rules instance, each looking up different instants
+        final ZoneRules tz = ZoneId.of("Europe/London").getRules();
+        final ZoneOffset[] list = new ZoneOffset[SIZE];
+        Thread[] threads = new Thread[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            final int offset = t;
+            final int step = threadCount;
+            threads[t] = new Thread() {
+                @Override
+                public void run() {
+                    for (int i = offset; i < SIZE; i += step) {
+                        list[i] = tz.getOffset(instants[i]);
+                    }
+                }
+            };
+        }
+        long start = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+        long end = System.nanoTime();
+        System.out.println("JSR-" + name + ":  " + NF.format(end - start) + " ns" + list[0]);
+    }
+
+    private static Instant[] sortedInstants() {
+        // log-like stream, one event every 100ms
+        Instant[] instants = new Instant[SIZE];
+        long millis = LocalDateTime.of(2016, 3, 27, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+        for (int i = 0; i < SIZE; i++) {
+            instants[i] = Instant.ofEpochMilli(millis + i * 100L);
+        }
+        return instants;
+    }
+
+    private static Instant[] mostlySortedInstants() {
+        // sorted stream with occasional late arrivals
+        Random random = new Random(1);
+        Instant[] instants = sortedInstants();
+        for (int i = 0; i < SIZE; i += 50) {
+            instants[i] = instants[i].minusSeconds(random.nextInt(86400 * 30));
+        }
+        return instants;
+    }
+
+    private static Instant[] randomInstants() {
+        Random random = new Random(1);
+        Instant[] instants = new Instant[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            instants[i] = Instant.ofEpochSecond((long) (random.nextDouble() * 4000000000L));
+        }
+        return instants;
+    }
+
     //-----------------------------------------------------------------------
     private static void jdkLocalGetOffset() {
         java.util.TimeZone tz = java.util.TimeZone.getTimeZone("Europe/London");
@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2007-present Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.testng.annotations.Test;
+import org.threeten.bp.Clock.CachedClock;
+import org.threeten.bp.Clock.CachedClock.Current;
+import org.threeten.bp.zone.ZoneRules;
+import org.threeten.bp.zone.ZoneRulesException;
+import org.threeten.bp.zone.ZoneRulesProvider;
+
+/**
+ * Test cached clock.
+ */
+@Test
+public class TestClock_Cached extends AbstractTest {
+
+    private static final ZoneId MOSCOW = ZoneId.of("Europe/Moscow");
+    private static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+    private static final Duration ONE_MILLI = Duration.ofMillis(1);
+    private static final Duration TEN_MILLIS = Duration.ofMillis(10);
+
+    //-----------------------------------------------------------------------
+    public void test_isSerializable() throws IOException, ClassNotFoundException {
+        assertSerializable(Clock.cached(PARIS, ONE_MILLI));
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_instant() {
+        Clock clock = Clock.cached(ZoneOffset.UTC, ONE_MILLI);
+        for (int i = 0; i < 10000; i++) {
+            // assume can eventually get these within 10 milliseconds
+            Instant instant = clock.instant();
+            long systemMillis = System.currentTimeMillis();
+            if (systemMillis - instant.toEpochMilli() < 10) {
+                return;  // success
+            }
+        }
+        fail();
+    }
+
+    public void test_instant_advances() throws InterruptedException {
+        Clock clock = Clock.cached(ZoneOffset.UTC, ONE_MILLI);
+        Instant first = clock.instant();
+        for (int i = 0; i < 100; i++) {
+            Thread.sleep(10);
+            if (clock.instant().isAfter(first)) {
+                return;  // success
+            }
+        }
+        fail();
+    }
+
+    public void test_instant_truncated() throws InterruptedException {
+        Clock clock = Clock.cached(ZoneOffset.UTC, TEN_MILLIS);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(clock.millis() % 10, 0);
+            assertEquals(clock.instant().getNano() % 10000000, 0);
+            Thread.sleep(7);
+        }
+    }
+
+    public void test_instant_neverBackwards() {
+        Clock clock = Clock.cached(ZoneOffset.UTC, ONE_MILLI);
+        Instant last = clock.instant();
+        for (int i = 0; i < 100000; i++) {
+            Instant instant = clock.instant();
+            assertEquals(instant.isBefore(last), false);
+            last = instant;
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_now_consistentWithInstant() {
+        Clock clock = Clock.cached(PARIS, TEN_MILLIS);
+        ZonedDateTime zdt = ZonedDateTime.now(clock);
+        assertEquals(zdt.getZone(), PARIS);
+        assertEquals(zdt, ZonedDateTime.ofInstant(zdt.toInstant(), PARIS));
+        assertEquals(zdt.toInstant().toEpochMilli() % 10, 0);
+    }
+
+    public void test_now_factories() {
+        Clock clock = Clock.cached(PARIS, Duration.ofMillis(1000));
+        for (int i = 0; i < 100; i++) {
+            // retry if the ticker updated between the calls
+            Instant instant = clock.instant();
+            LocalDateTime ldt = LocalDateTime.now(clock);
+            LocalDate date = LocalDate.now(clock);
+            LocalTime time = LocalTime.now(clock);
+            OffsetDateTime odt = OffsetDateTime.now(clock);
+            OffsetTime ot = OffsetTime.now(clock);
+            ZonedDateTime zdt = ZonedDateTime.now(clock);
+            if (instant.equals(clock.instant())) {
+                ZonedDateTime expected = ZonedDateTime.ofInstant(instant, PARIS);
+                assertEquals(ldt, expected.toLocalDateTime());
+                assertEquals(date, expected.toLocalDate());
+                assertEquals(time, expected.toLocalTime());
+                assertEquals(odt, expected.toOffsetDateTime());
+                assertEquals(ot, expected.toOffsetDateTime().toOffsetTime());
+                assertEquals(zdt, expected);
+                return;
+            }
+        }
+        fail();
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_current_update() {
+        Instant instant = Instant.ofEpochSecond(1000);
+        Current current = new Current(PARIS, 10, 1000003);
+        assertEquals(current.tick.instant, instant);
+        assertEquals(current.tick.dateTime, ZonedDateTime.ofInstant(instant, PARIS));
+        current.update(1000012);
+        assertEquals(current.tick.instant, instant.plusMillis(10));
+        assertEquals(current.tick.dateTime, ZonedDateTime.ofInstant(instant.plusMillis(10), PARIS));
+    }
+
+    public void test_current_update_notLater() {
+        Current current = new Current(PARIS, 10, 1000003);
+        Object tick = current.tick;
+        current.update(1000009);
+        assertSame(current.tick, tick);
+        current.update(999995);
+        assertSame(current.tick, tick);
+    }
+
+    public void test_current_delay() {
+        Current current = new Current(PARIS, 10, 1000003);
+        assertEquals(current.delay(1000003), 7);
+        assertEquals(current.delay(1000010), 10);
+        assertEquals(current.delay(-3), 3);
+    }
+
+    public void test_ticker_survivesFailingZone() throws InterruptedException {
+        ZoneRulesProvider.registerProvider(new FailingProvider());
+        ZoneId zone = ZoneId.of("Test/CachedClockFail");
+        Clock failing = Clock.cached(zone, ONE_MILLI);
+        Clock healthy = Clock.cached(PARIS, ONE_MILLI);
+        FailingProvider.fail = true;
+        try {
+            Instant stuck = failing.instant();
+            Thread.sleep(20);
+            CachedClock.Ticker.tick(System.currentTimeMillis());
+            assertEquals(failing.instant(), stuck);
+            assertTrue(healthy.instant().isAfter(stuck));
+        } finally {
+            FailingProvider.fail = false;
+        }
+        Instant resumed = failing.instant();
+        for (int i = 0; i < 100; i++) {
+            Thread.sleep(10);
+            if (failing.instant().isAfter(resumed)) {
+                return;  // success, the ticker is still running
+            }
+        }
+        fail();
+    }
+
+    static class FailingProvider extends ZoneRulesProvider {
+        static volatile boolean fail;
+        final ZoneRules rules = ZoneOffset.ofHours(2).getRules();
+        @Override
+        protected Set<String> provideZoneIds() {
+            return new HashSet<String>(Collections.singleton("Test/CachedClockFail"));
+        }
+        @Override
+        protected NavigableMap<String, ZoneRules> provideVersions(String zoneId) {
+            NavigableMap<String, ZoneRules> result = new TreeMap<String, ZoneRules>();
+            result.put("1", rules);
+            return result;
+        }
+        @Override
+        protected ZoneRules provideRules(String zoneId, boolean forCaching) {
+            if (forCaching) {
+                return null;
+            }
+            if (fail) {
+                throw new ZoneRulesException("Failing");
+            }
+            return rules;
+        }
+    }
+
+    //-------------------------------------------------------------------------
+    public void test_cached() {
+        Clock test = Clock.cached(PARIS, TEN_MILLIS);
+        assertEquals(test.getZone(), PARIS);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_cached_nullZoneId() {
+        Clock.cached(null, ONE_MILLI);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_cached_nullGranularity() {
+        Clock.cached(PARIS, null);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void test_cached_zeroGranularity() {
+        Clock.cached(PARIS, Duration.ZERO);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void test_cached_negativeGranularity() {
+        Clock.cached(PARIS, Duration.ofMillis(-1));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void test_cached_fractionalGranularity() {
+        Clock.cached(PARIS, Duration.ofNanos(1500000));
+    }
+
+    public void test_withZone() {
+        Clock test = Clock.cached(PARIS, TEN_MILLIS);
+        Clock changed = test.withZone(MOSCOW);
+        assertEquals(test.getZone(), PARIS);
+        assertEquals(changed.getZone(), MOSCOW);
+        assertEquals(changed, Clock.cached(MOSCOW, TEN_MILLIS));
+        assertEquals(ZonedDateTime.now(changed).getZone(), MOSCOW);
+    }
+
+    public void test_withZone_same() {
+        Clock test = Clock.cached(PARIS, TEN_MILLIS);
+        assertSame(test.withZone(PARIS), test);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_withZone_null() {
+        Clock.cached(PARIS, TEN_MILLIS).withZone(null);
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_equals() {
+        Clock a = Clock.cached(PARIS, TEN_MILLIS);
+        Clock b = Clock.cached(PARIS, TEN_MILLIS);
+        assertEquals(a.equals(a), true);
+        assertEquals(a.equals(b), true);
+        assertEquals(b.equals(a), true);
+        assertEquals(a.equals(Clock.cached(MOSCOW, TEN_MILLIS)), false);
+        assertEquals(a.equals(Clock.cached(PARIS, ONE_MILLI)), false);
+        assertEquals(a.equals(Clock.system(PARIS)), false);
+        assertEquals(a.equals(null), false);
+    }
+
+    public void test_hashCode() {
+        Clock a = Clock.cached(PARIS, TEN_MILLIS);
+        Clock b = Clock.cached(PARIS, TEN_MILLIS);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertTrue(a.hashCode() != Clock.cached(PARIS, ONE_MILLI).hashCode());
+    }
+
+    public void test_toString() {
+        Clock test = Clock.cached(PARIS, TEN_MILLIS);
+        assertEquals(test.toString(), "CachedClock[Europe/Paris,PT0.01S]");
+    }
+
+}
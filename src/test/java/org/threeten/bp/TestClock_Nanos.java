@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2007-present Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.IOException;
+
+import org.testng.annotations.Test;
+import org.threeten.bp.Clock.NanoClock.Anchor;
+
+/**
+ * Test nanosecond system clock.
+ */
+@Test
+public class TestClock_Nanos extends AbstractTest {
+
+    private static final ZoneId MOSCOW = ZoneId.of("Europe/Moscow");
+    private static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+    private static final long MILLI = 1000000L;
+
+    //-----------------------------------------------------------------------
+    public void test_isSerializable() throws IOException, ClassNotFoundException {
+        assertSerializable(Clock.systemNanos(PARIS));
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_instant() {
+        Clock clock = Clock.systemNanos(ZoneOffset.UTC);
+        for (int i = 0; i < 10000; i++) {
+            // assume can eventually get these within 10 milliseconds
+            Instant instant = clock.instant();
+            long systemMillis = System.currentTimeMillis();
+            if (Math.abs(systemMillis - instant.toEpochMilli()) < 10) {
+                return;  // success
+            }
+        }
+        fail();
+    }
+
+    public void test_millis() {
+        Clock clock = Clock.systemNanos(ZoneOffset.UTC);
+        for (int i = 0; i < 10000; i++) {
+            // assume can eventually get these within 10 milliseconds
+            long millis = clock.millis();
+            long systemMillis = System.currentTimeMillis();
+            if (Math.abs(systemMillis - millis) < 10) {
+                return;  // success
+            }
+        }
+        fail();
+    }
+
+    public void test_epochNanos_matchesInstant() {
+        Clock clock = Clock.systemNanos(ZoneOffset.UTC);
+        long before = clock.epochNanos();
+        Instant instant = clock.instant();
+        long after = clock.epochNanos();
+        long nanos = instant.getEpochSecond() * 1000000000L + instant.getNano();
+        assertTrue(before <= nanos);
+        assertTrue(nanos <= after);
+    }
+
+    public void test_epochNanos_neverBackwards() {
+        Clock clock = Clock.systemNanos(ZoneOffset.UTC);
+        long last = clock.epochNanos();
+        for (int i = 0; i < 100000; i++) {
+            long nanos = clock.epochNanos();
+            assertTrue(nanos >= last);
+            last = nanos;
+        }
+    }
+
+    public void test_epochNanos_subMillisecond() {
+        Clock clock = Clock.systemNanos(ZoneOffset.UTC);
+        for (int i = 0; i < 10000; i++) {
+            if (clock.epochNanos() % MILLI != 0) {
+                return;  // success
+            }
+        }
+        fail();
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_anchor_epochNanos() {
+        Anchor anchor = new Anchor(1000 * MILLI, 50, Long.MIN_VALUE, 0);
+        assertEquals(anchor.epochNanos(50), 1000 * MILLI);
+        assertEquals(anchor.epochNanos(75), 1000 * MILLI + 25);
+        assertEquals(anchor.epochNanos(40), 1000 * MILLI - 10);
+    }
+
+    public void test_anchor_epochNanos_floor() {
+        Anchor anchor = new Anchor(1000 * MILLI, 50, 1000 * MILLI + 20, 0);
+        assertEquals(anchor.epochNanos(50), 1000 * MILLI + 20);
+        assertEquals(anchor.epochNanos(75), 1000 * MILLI + 25);
+    }
+
+    public void test_anchor_resync_withinMilli() {
+        Anchor anchor = new Anchor(1000 * MILLI, 0, Long.MIN_VALUE, 0);
+        Anchor test = anchor.resync(2000 * MILLI, 1000 * MILLI + 300);
+        assertEquals(test.epochNanos(1000 * MILLI + 300), 2000 * MILLI + 300);
+        assertEquals(test.epochNanos(1000 * MILLI + 400), 2000 * MILLI + 400);
+    }
+
+    public void test_anchor_resync_behind() {
+        Anchor anchor = new Anchor(1000 * MILLI, 0, Long.MIN_VALUE, 0);
+        Anchor test = anchor.resync(2005 * MILLI, 1000 * MILLI);
+        assertEquals(test.epochNanos(1000 * MILLI), 2005 * MILLI);
+        assertEquals(test.epochNanos(1000 * MILLI + 1), 2005 * MILLI + 1);
+    }
+
+    public void test_anchor_resync_ahead() {
+        Anchor anchor = new Anchor(1000 * MILLI, 0, Long.MIN_VALUE, 0);
+        Anchor test = anchor.resync(1995 * MILLI, 1000 * MILLI);
+        // continues from the instant already reached, running slower until the system clock catches up
+        assertEquals(test.epochNanos(1000 * MILLI), 2000 * MILLI);
+        assertEquals(test.epochNanos(1010 * MILLI), 2009 * MILLI);
+        assertEquals(test.epochNanos(1050 * MILLI), 2046 * MILLI - 1);
+        assertEquals(test.epochNanos(1100 * MILLI), 2096 * MILLI - 1);
+    }
+
+    public void test_anchor_resync_wallClockSteppedBack() {
+        long hour = 3600 * 1000 * MILLI;
+        Anchor anchor = new Anchor(1000 * MILLI, 0, Long.MIN_VALUE, 0);
+        Anchor test = anchor.resync(2000 * MILLI - hour, 1000 * MILLI);
+        // keeps advancing, never backwards, at a bounded slower rate
+        long last = test.epochNanos(1000 * MILLI);
+        assertEquals(last, 2000 * MILLI);
+        for (long nanoTime = 1001 * MILLI; nanoTime < 2000 * MILLI; nanoTime += MILLI) {
+            long nanos = test.epochNanos(nanoTime);
+            assertEquals(nanos - last, MILLI - MILLI / Clock.NanoClock.SLEW_DIVISOR);
+            last = nanos;
+        }
+        // later re-synchronizations keep the pace until the system clock has caught up
+        long nanoTime = 1000 * MILLI;
+        long wallNanos = 2000 * MILLI - hour;
+        long previous = test.epochNanos(nanoTime);
+        Anchor current = test;
+        for (int i = 0; i < 12 * 3600; i++) {
+            nanoTime += 1000 * MILLI;
+            wallNanos += 1000 * MILLI;
+            current = current.resync(wallNanos, nanoTime);
+            long nanos = current.epochNanos(nanoTime);
+            assertTrue(nanos > previous);
+            previous = nanos;
+        }
+        assertTrue(current.epochNanos(nanoTime) < wallNanos + MILLI);
+        assertEquals(current.correction, 0);
+    }
+
+    //-------------------------------------------------------------------------
+    public void test_systemNanos_ZoneId() {
+        Clock test = Clock.systemNanos(PARIS);
+        assertEquals(test.getZone(), PARIS);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_systemNanos_nullZoneId() {
+        Clock.systemNanos(null);
+    }
+
+    public void test_withZone() {
+        Clock test = Clock.systemNanos(PARIS);
+        Clock changed = test.withZone(MOSCOW);
+        assertEquals(test.getZone(), PARIS);
+        assertEquals(changed.getZone(), MOSCOW);
+        assertEquals(changed, Clock.systemNanos(MOSCOW));
+    }
+
+    public void test_withZone_same() {
+        Clock test = Clock.systemNanos(PARIS);
+        Clock changed = test.withZone(PARIS);
+        assertSame(test, changed);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_withZone_null() {
+        Clock.systemNanos(PARIS).withZone(null);
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_epochNanos_default() {
+        Clock test = Clock.fixed(Instant.ofEpochSecond(-2, 300), ZoneOffset.UTC);
+        assertEquals(test.epochNanos(), -2000000000L + 300);
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void test_epochNanos_default_overflow() {
+        Clock.fixed(Instant.ofEpochSecond(Long.MAX_VALUE / 1000000000L + 1), ZoneOffset.UTC).epochNanos();
+    }
+
+    public void test_epochNanos_offset() {
+        Clock test = Clock.offset(Clock.fixed(Instant.ofEpochSecond(2, 300), ZoneOffset.UTC), Duration.ofNanos(-400));
+        assertEquals(test.epochNanos(), 2000000000L - 100);
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_equals() {
+        Clock a = Clock.systemNanos(ZoneOffset.UTC);
+        Clock b = Clock.systemNanos(ZoneOffset.UTC);
+        Clock c = Clock.systemNanos(PARIS);
+        assertEquals(a.equals(a), true);
+        assertEquals(a.equals(b), true);
+        assertEquals(b.equals(a), true);
+        assertEquals(a.equals(c), false);
+        assertEquals(a.equals(null), false);
+        assertEquals(a.equals(Clock.systemUTC()), false);
+        assertEquals(Clock.systemUTC().equals(a), false);
+    }
+
+    public void test_hashCode() {
+        Clock a = Clock.systemNanos(ZoneOffset.UTC);
+        Clock b = Clock.systemNanos(ZoneOffset.UTC);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertEquals(a.hashCode() == Clock.systemNanos(PARIS).hashCode(), false);
+    }
+
+    public void test_toString() {
+        Clock test = Clock.systemNanos(PARIS);
+        assertEquals(test.toString(), "NanoClock[Europe/Paris]");
+    }
+
+}
@@ -36,7 +36,10 @@ import static org.testng.Assert.assertEquals;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.Random;
 import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.testng.annotations.Test;
 
@@ -157,4 +160,70 @@ public class TestDateTimeUtils {
         assertEquals(DateTimeUtils.toSqlTimestamp(instant), sqlDateTime);
     }
 
+    //-----------------------------------------------------------------------
+    public void test_toLocalDateTimeFields() {
+        Random random = new Random(1);
+        long[] epochMillis = new long[10000];
+        for (int i = 0; i < epochMillis.length; i++) {
+            epochMillis[i] = (long) ((random.nextDouble() - 0.5d) * 2e13);
+        }
+        epochMillis[0] = Long.MIN_VALUE;
+        epochMillis[1] = Long.MAX_VALUE;
+        epochMillis[2] = -1;
+        for (ZoneId zone : new ZoneId[] {PARIS, ZoneId.of("America/New_York"), ZoneOffset.ofHours(-5), ZoneOffset.UTC}) {
+            assertLocalDateTimeFields(epochMillis, zone, null);
+        }
+    }
+
+    public void test_toLocalDateTimeFields_sorted_parallel() {
+        long[] epochMillis = new long[100000];
+        long millis = 1451606400000L;
+        for (int i = 0; i < epochMillis.length; i++) {
+            epochMillis[i] = millis;
+            millis += 123457;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            assertLocalDateTimeFields(epochMillis, PARIS, executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public void test_toLocalDateTimeFields_nullFields() {
+        long[] epochMillis = {1341048640123L};
+        int[] hours = new int[1];
+        DateTimeUtils.toLocalDateTimeFields(epochMillis, PARIS, null, null, null, hours, null, null, null, null);
+        assertEquals(hours[0], 11);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void test_toLocalDateTimeFields_outputTooShort() {
+        DateTimeUtils.toLocalDateTimeFields(new long[2], PARIS, new int[1], null, null, null, null, null, null, null);
+    }
+
+    private void assertLocalDateTimeFields(long[] epochMillis, ZoneId zone, ExecutorService executor) {
+        int size = epochMillis.length;
+        int[] years = new int[size];
+        int[] months = new int[size];
+        int[] days = new int[size];
+        int[] hours = new int[size];
+        int[] minutes = new int[size];
+        int[] seconds = new int[size];
+        int[] nanos = new int[size];
+        int[] offsets = new int[size];
+        DateTimeUtils.toLocalDateTimeFields(epochMillis, zone, years, months, days, hours, minutes, seconds, nanos, offsets, executor);
+        for (int i = 0; i < size; i++) {
+            ZonedDateTime expected = ZonedDateTime.ofInstant(Instant.ofEpochMilli(epochMillis[i]), zone);
+            assertEquals(years[i], expected.getYear());
+            assertEquals(months[i], expected.getMonthValue());
+            assertEquals(days[i], expected.getDayOfMonth());
+            assertEquals(hours[i], expected.getHour());
+            assertEquals(minutes[i], expected.getMinute());
+            assertEquals(seconds[i], expected.getSecond());
+            assertEquals(nanos[i], expected.getNano());
+            assertEquals(offsets[i], expected.getOffset().getTotalSeconds());
+        }
+    }
+
 }
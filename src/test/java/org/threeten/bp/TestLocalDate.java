@@ -1844,6 +1844,7 @@ public class TestLocalDate extends AbstractDateTimeTest {
         assertEquals(LocalDate.of(-1, 12, 31).toEpochDay(), -678942 - 40587);
     }
 
+
     //-----------------------------------------------------------------------
     // compareTo()
     //-----------------------------------------------------------------------
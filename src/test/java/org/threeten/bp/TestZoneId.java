@@ -34,17 +34,25 @@ package org.threeten.bp;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
 import java.util.SimpleTimeZone;
 import java.util.TimeZone;
+import java.util.TreeMap;
 
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
@@ -53,6 +61,7 @@ import org.threeten.bp.temporal.TemporalAccessor;
 import org.threeten.bp.zone.ZoneOffsetTransition;
 import org.threeten.bp.zone.ZoneRules;
 import org.threeten.bp.zone.ZoneRulesException;
+import org.threeten.bp.zone.ZoneRulesProvider;
 
 /**
  * Test ZoneId.
@@ -167,6 +176,57 @@ public class TestZoneId extends AbstractTest {
         assertEquals(test.getId(), TimeZone.getDefault().getID());
     }
 
+    public void test_systemDefault_cached() {
+        assertSame(ZoneId.systemDefault(), ZoneId.systemDefault());
+    }
+
+    public void test_systemDefault_changed() {
+        TimeZone current = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("Europe/Paris"));
+            assertEquals(ZoneId.systemDefault(), ZoneId.of("Europe/Paris"));
+            TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+            assertEquals(ZoneId.systemDefault(), ZoneId.of("Asia/Tokyo"));
+            TimeZone.setDefault(TimeZone.getTimeZone("EST"));
+            assertEquals(ZoneId.systemDefault(), ZoneOffset.of("-05:00"));
+        } finally {
+            TimeZone.setDefault(current);
+        }
+        assertEquals(ZoneId.systemDefault().getId(), ZoneId.of(current.getID(), ZoneId.SHORT_IDS).getId());
+    }
+
+    public void test_systemDefault_changedId() {
+        TimeZone current = TimeZone.getDefault();
+        try {
+            TimeZone zone = new SimpleTimeZone(0, "Europe/Paris");
+            TimeZone.setDefault(zone);
+            assertEquals(ZoneId.systemDefault(), ZoneId.of("Europe/Paris"));
+            zone.setID("Asia/Tokyo");
+            // depending on the JDK, the default may or may not share the instance set
+            if (TimeZone.getDefault().getID().equals("Asia/Tokyo")) {
+                assertEquals(ZoneId.systemDefault(), ZoneId.of("Asia/Tokyo"));
+            }
+        } finally {
+            TimeZone.setDefault(current);
+        }
+    }
+
+    public void test_systemDefault_pinned() {
+        TimeZone current = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("Europe/Paris"));
+            assertEquals(ZoneId.refreshSystemDefault(), ZoneId.of("Europe/Paris"));
+            assertEquals(ZoneId.systemDefault(true), ZoneId.of("Europe/Paris"));
+            TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+            assertEquals(ZoneId.systemDefault(true), ZoneId.of("Europe/Paris"));
+            assertEquals(ZoneId.refreshSystemDefault(), ZoneId.of("Asia/Tokyo"));
+            assertEquals(ZoneId.systemDefault(true), ZoneId.of("Asia/Tokyo"));
+        } finally {
+            TimeZone.setDefault(current);
+        }
+        assertEquals(ZoneId.refreshSystemDefault().getId(), ZoneId.of(current.getID(), ZoneId.SHORT_IDS).getId());
+    }
+
     @Test(expectedExceptions = DateTimeException.class)
     public void test_systemDefault_unableToConvert_badFormat() {
         TimeZone current = TimeZone.getDefault();
@@ -396,6 +456,60 @@ public class TestZoneId extends AbstractTest {
         ZoneId.of("Unknown");
     }
 
+    //-----------------------------------------------------------------------
+    public void test_of_string_cached_region() {
+        assertSame(ZoneId.of("Europe/London"), ZoneId.of("Europe/London"));
+    }
+
+    public void test_of_string_cached_prefixed() {
+        assertSame(ZoneId.of("UTC+01:00"), ZoneId.of("UTC+01:00"));
+        assertSame(ZoneId.of("GMT-5"), ZoneId.of("GMT-5"));
+        assertSame(ZoneId.of("UT+0"), ZoneId.of("UT+0"));
+        assertSame(ZoneId.of("UTC"), ZoneId.of("UTC"));
+        assertEquals(ZoneId.of("GMT-5").getId(), "GMT-05:00");
+        assertEquals(ZoneId.of("UT+0").getId(), "UT");
+    }
+
+    public void test_of_string_cached_unknownNotCached() {
+        for (int i = 0; i < 2; i++) {
+            try {
+                ZoneId.of("Unknown/Cached");
+                fail();
+            } catch (ZoneRulesException ex) {
+                // expected
+            }
+        }
+    }
+
+    public void test_of_string_cached_invalidatedOnRegister() {
+        ZoneId before = ZoneId.of("Europe/Paris");
+        assertSame(ZoneId.of("Europe/Paris"), before);
+        ZoneRulesProvider.registerProvider(new MockCacheProvider());
+        ZoneId after = ZoneId.of("Europe/Paris");
+        assertNotSame(after, before);
+        assertEquals(after, before);
+        assertSame(ZoneId.of("Europe/Paris"), after);
+        assertEquals(ZoneId.of("Test/RegionCache").getRules(), ZoneOffset.ofHours(3).getRules());
+    }
+
+    static class MockCacheProvider extends ZoneRulesProvider {
+        final ZoneRules rules = ZoneOffset.ofHours(3).getRules();
+        @Override
+        protected Set<String> provideZoneIds() {
+            return new HashSet<String>(Collections.singleton("Test/RegionCache"));
+        }
+        @Override
+        protected NavigableMap<String, ZoneRules> provideVersions(String zoneId) {
+            NavigableMap<String, ZoneRules> result = new TreeMap<String, ZoneRules>();
+            result.put("1", rules);
+            return result;
+        }
+        @Override
+        protected ZoneRules provideRules(String zoneId, boolean forCaching) {
+            return rules;
+        }
+    }
+
     //-------------------------------------------------------------------------
     // TODO: test by deserialization
 //    public void test_ofUnchecked_string_invalidNotChecked() {
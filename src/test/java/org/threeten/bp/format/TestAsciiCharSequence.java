@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import static org.testng.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Test AsciiCharSequence.
+ */
+@Test
+public class TestAsciiCharSequence {
+
+    private static final byte[] BYTES = {'x', '2', '0', '1', '2', '-', '0', '6', 'y', (byte) 0xE9};
+
+    @DataProvider(name="views")
+    Object[][] data_views() {
+        ByteBuffer direct = ByteBuffer.allocateDirect(BYTES.length);
+        direct.put(BYTES);
+        direct.position(1);
+        direct.limit(8);
+        ByteBuffer heap = ByteBuffer.wrap(BYTES, 1, 7);
+        ByteBuffer sliced = ByteBuffer.wrap(BYTES);
+        sliced.position(1);
+        sliced = sliced.slice();
+        sliced.limit(7);
+        return new Object[][] {
+            {AsciiCharSequence.of(BYTES, 1, 7)},
+            {AsciiCharSequence.of(heap)},
+            {AsciiCharSequence.of(sliced)},
+            {AsciiCharSequence.of(direct)},
+        };
+    }
+
+    @Test(dataProvider="views")
+    public void test_view(AsciiCharSequence test) {
+        assertEquals(test.length(), 7);
+        assertEquals(test.charAt(0), '2');
+        assertEquals(test.charAt(6), '6');
+        assertEquals(test.toString(), "2012-06");
+        assertEquals(test.subSequence(5, 7).toString(), "06");
+        assertEquals(test.subSequence(5, 7).charAt(1), '6');
+        assertEquals(test.subSequence(3, 3).length(), 0);
+    }
+
+    @Test(dataProvider="views", expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_charAt_tooBig(AsciiCharSequence test) {
+        test.charAt(7);
+    }
+
+    @Test(dataProvider="views", expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_charAt_negative(AsciiCharSequence test) {
+        test.charAt(-1);
+    }
+
+    @Test(dataProvider="views", expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_subSequence_tooBig(AsciiCharSequence test) {
+        test.subSequence(2, 8);
+    }
+
+    @Test(dataProvider="views", expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_subSequence_reversed(AsciiCharSequence test) {
+        test.subSequence(3, 2);
+    }
+
+    public void test_nonAscii() {
+        AsciiCharSequence test = AsciiCharSequence.of(BYTES, 9, 1);
+        assertEquals(test.charAt(0), '\u00e9');
+    }
+
+    public void test_bufferPositionUnchanged() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(4);
+        buffer.put(new byte[] {'a', 'b', 'c', 'd'});
+        buffer.position(1);
+        AsciiCharSequence test = AsciiCharSequence.of(buffer);
+        assertEquals(test.toString(), "bcd");
+        assertEquals(buffer.position(), 1);
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_of_negativeOffset() {
+        AsciiCharSequence.of(BYTES, -1, 2);
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_of_negativeLength() {
+        AsciiCharSequence.of(BYTES, 1, -1);
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_of_tooLong() {
+        AsciiCharSequence.of(BYTES, 5, 6);
+    }
+
+}
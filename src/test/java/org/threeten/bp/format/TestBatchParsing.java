@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.BitSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.threeten.bp.Instant;
+import org.threeten.bp.ZoneOffset;
+
+/**
+ * Test parsing of arrays of texts to epoch milliseconds.
+ */
+@Test
+public class TestBatchParsing {
+
+    private static final String[] TEXTS = {
+        "2012-07-27T10:15:30.123Z",
+        "1970-01-01T00:00:00Z",
+        "not a date",
+        "2012-02-30T10:15:30Z",
+        null,
+        "1969-12-31T23:59:59.999Z",
+        "2012-07-27T10:15:30Zextra",
+        "",
+    };
+    private static final long[] EXPECTED = {
+        Instant.parse("2012-07-27T10:15:30.123Z").toEpochMilli(), 0, 0, 0, 0, -1, 0, 0,
+    };
+    private static final BitSet EXPECTED_FAILURES = bits(2, 3, 4, 6, 7);
+
+    private ExecutorService executor;
+
+    @BeforeClass
+    public void setUpExecutor() {
+        executor = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterClass
+    public void tearDownExecutor() {
+        executor.shutdown();
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_texts() {
+        long[] out = new long[TEXTS.length];
+        out[2] = 99;
+        BitSet failures = DateTimeFormatter.ISO_INSTANT.parseToEpochMillis(TEXTS, out, null);
+        assertEquals(failures, EXPECTED_FAILURES);
+        assertEquals(out, EXPECTED);
+    }
+
+    public void test_chars() {
+        StringBuilder buf = new StringBuilder();
+        int[] offsets = new int[TEXTS.length + 1];
+        for (int i = 0; i < TEXTS.length; i++) {
+            buf.append(TEXTS[i] != null ? TEXTS[i] : "");
+            offsets[i + 1] = buf.length();
+        }
+        long[] out = new long[TEXTS.length];
+        BitSet failures = DateTimeFormatter.ISO_INSTANT.parseToEpochMillis(buf.toString().toCharArray(), offsets, out, null);
+        assertEquals(failures, EXPECTED_FAILURES);
+        assertEquals(out, EXPECTED);
+    }
+
+    public void test_texts_generic() {
+        // resolved via the zone override rather than the direct path
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm").withZone(ZoneOffset.ofHours(1));
+        String[] texts = {"27/07/2012 10:15", "32/02/2012 10:15", "01/01/1970 01:00"};
+        long[] out = new long[3];
+        BitSet failures = formatter.parseToEpochMillis(texts, out, null);
+        assertEquals(failures, bits(1));
+        assertEquals(out, new long[] {Instant.parse("2012-07-27T09:15:00Z").toEpochMilli(), 0, 0});
+    }
+
+    public void test_texts_noOffset() {
+        String[] texts = {"2012-07-27T10:15:30"};
+        long[] out = new long[1];
+        BitSet failures = DateTimeFormatter.ISO_LOCAL_DATE_TIME.parseToEpochMillis(texts, out, null);
+        assertEquals(failures, bits(0));
+    }
+
+    public void test_texts_parallel() {
+        int count = 50000;
+        String[] texts = new String[count];
+        long[] expected = new long[count];
+        BitSet expectedFailures = new BitSet();
+        for (int i = 0; i < count; i++) {
+            Instant instant = Instant.ofEpochSecond(i * 86399L, (i % 1000) * 1000000);
+            if (i % 97 == 0) {
+                texts[i] = "bad" + i;
+                expectedFailures.set(i);
+            } else {
+                texts[i] = instant.toString();
+                expected[i] = instant.toEpochMilli();
+            }
+        }
+        long[] out = new long[count];
+        BitSet failures = DateTimeFormatter.ISO_INSTANT.parseToEpochMillis(texts, out, executor);
+        assertEquals(failures, expectedFailures);
+        assertEquals(out, expected);
+    }
+
+    @Test(expectedExceptions=IllegalArgumentException.class)
+    public void test_texts_outputTooShort() {
+        DateTimeFormatter.ISO_INSTANT.parseToEpochMillis(TEXTS, new long[TEXTS.length - 1], null);
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_chars_offsetsDescending() {
+        DateTimeFormatter.ISO_INSTANT.parseToEpochMillis(new char[10], new int[] {0, 5, 4}, new long[2], null);
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_chars_offsetsBeyondArray() {
+        DateTimeFormatter.ISO_INSTANT.parseToEpochMillis(new char[10], new int[] {0, 11}, new long[1], null);
+    }
+
+    @Test(expectedExceptions=IllegalArgumentException.class)
+    public void test_chars_offsetsEmpty() {
+        DateTimeFormatter.ISO_INSTANT.parseToEpochMillis(new char[10], new int[0], new long[1], null);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_texts_null() {
+        DateTimeFormatter.ISO_INSTANT.parseToEpochMillis((CharSequence[]) null, new long[1], null);
+    }
+
+    private static BitSet bits(int... indices) {
+        BitSet bits = new BitSet();
+        for (int index : indices) {
+            bits.set(index);
+        }
+        return bits;
+    }
+
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDate;
+import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.LocalTime;
+import org.threeten.bp.OffsetDateTime;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZoneOffset;
+import org.threeten.bp.ZonedDateTime;
+import org.threeten.bp.format.DateTimeFormatterBuilder.CompiledPrinterParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.CompositePrinterParser;
+import org.threeten.bp.temporal.TemporalAccessor;
+
+/**
+ * Test CompiledPrinterParser against the generic printer-parser chain.
+ */
+@Test
+public class TestCompiledPrinterParser {
+
+    @DataProvider(name="compiled")
+    Object[][] data_compiled() {
+        return new Object[][] {
+            {DateTimeFormatter.ISO_LOCAL_DATE_TIME},
+            {DateTimeFormatter.ISO_OFFSET_DATE_TIME},
+            {DateTimeFormatter.ISO_INSTANT},
+            {DateTimeFormatter.ISO_LOCAL_DATE},
+            {DateTimeFormatter.ISO_LOCAL_TIME},
+            {DateTimeFormatter.ISO_OFFSET_TIME},
+            {DateTimeFormatter.ISO_DATE},
+            {DateTimeFormatter.ISO_TIME},
+            {DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS")},
+        };
+    }
+
+    public void test_compile_unsupported() {
+        assertNull(compile(DateTimeFormatter.ISO_ZONED_DATE_TIME));
+        assertNull(compile(DateTimeFormatter.BASIC_ISO_DATE));
+        assertNull(compile(DateTimeFormatter.RFC_1123_DATE_TIME));
+        assertNull(compile(DateTimeFormatter.ofPattern("dd MMM yyyy")));
+    }
+
+    @Test(dataProvider="compiled")
+    public void test_compile_supported(DateTimeFormatter formatter) {
+        assertNotNull(compile(formatter));
+    }
+
+    //-----------------------------------------------------------------------
+    @Test(dataProvider="compiled")
+    public void test_print_sample(DateTimeFormatter formatter) {
+        ZoneOffset[] offsets = {ZoneOffset.UTC, ZoneOffset.ofHours(2), ZoneOffset.ofHoursMinutes(-5, -30),
+                ZoneOffset.ofHoursMinutesSeconds(10, 5, 30), ZoneOffset.ofTotalSeconds(-18 * 3600)};
+        int[] years = {0, 1, 999, 1970, 2012, 9999, 10000, -1, -10000, 123456};
+        int[] nanos = {0, 1, 10, 100000000, 120000000, 123000000, 123400000, 123456000, 123456789, 999999999};
+        for (int year : years) {
+            for (int nano : nanos) {
+                for (ZoneOffset offset : offsets) {
+                    LocalDateTime ldt = LocalDateTime.of(year, 6, 30, 11, 30, nano % 60, nano);
+                    assertPrint(formatter, OffsetDateTime.of(ldt, offset));
+                    assertPrint(formatter, ldt);
+                }
+            }
+        }
+        assertPrint(formatter, LocalDateTime.of(2012, 6, 30, 0, 0));
+        assertPrint(formatter, Instant.ofEpochSecond(0));
+        assertPrint(formatter, ZonedDateTime.of(LocalDateTime.of(2012, 6, 30, 0, 0), ZoneId.of("Europe/Paris")));
+        assertPrint(formatter, LocalDate.of(2012, 6, 30));
+        assertPrint(formatter, LocalTime.of(11, 30, 0, 500));
+    }
+
+    @Test(dataProvider="compiled")
+    public void test_print_random(DateTimeFormatter formatter) {
+        Random random = new Random(1234);
+        for (int i = 0; i < 5000; i++) {
+            long second = random.nextLong() % (400L * 365 * 86400) - 200L * 365 * 86400;
+            if (i % 2 == 0) {
+                second *= 30;  // include years outside 0000 to 9999
+            }
+            int nano = random.nextInt(1000000000);
+            if (i % 3 == 0) {
+                nano = (nano / 1000000) * 1000000;
+            }
+            Instant instant = Instant.ofEpochSecond(second, nano);
+            ZoneOffset offset = ZoneOffset.ofTotalSeconds((random.nextInt(36 * 4) - 18 * 4) * 900);
+            assertPrint(formatter, instant);
+            assertPrint(formatter, OffsetDateTime.ofInstant(instant, offset));
+        }
+    }
+
+    public void test_print_maxLength() {
+        CompiledPrinterParser compiled = compile(DateTimeFormatter.ISO_INSTANT);
+        assertEquals(compiled.print(Instant.parse("9999-12-31T23:59:59.123456789Z"), new char[compiled.getMaxLength()], 0), 30);
+        assertEquals(compiled.print(Instant.parse("+10000-01-01T00:00:00Z"), new char[compiled.getMaxLength()], 0), -1);
+    }
+
+    //-----------------------------------------------------------------------
+    @Test(dataProvider="compiled")
+    public void test_parse_sample(DateTimeFormatter formatter) {
+        String[] texts = {
+            "2012-06-30T11:30", "2012-06-30T11:30:15", "2012-06-30T11:30:15.", "2012-06-30T11:30:15.1",
+            "2012-06-30T11:30:15.123456789", "2012-06-30T11:30:15.1234567891", "2012-06-30t11:30:15",
+            "2012-06-30T11:30:15Z", "2012-06-30T11:30:15z", "2012-06-30T11:30:15+01:00", "2012-06-30T11:30:15-05:30:15",
+            "2012-06-30T11:30:15.5+01:00", "2012-06-30T11:30:15+01", "2012-06-30T11:30:15+0100",
+            "2012-06-30T23:59:60Z", "2012-06-30T24:00:00Z", "2012-06-30T24:00:01Z", "2012-06-31T11:30:15Z",
+            "2012-13-30T11:30:15Z", "+12345-06-30T11:30:15Z", "-0001-06-30T11:30:15Z", "12345-06-30T11:30:15Z",
+            "0000-01-01T00:00:00Z", "9999-12-31T23:59:59.999999999Z", "2012-06-30T11:30:15.123Z",
+            "2012-06-30T11:30:15.Z", "2012-6-30T11:30:15Z", "2012-06-30 11:30:15.123", "2012-06-30 11:30:15.12",
+            "20120630", "2012-06-30", "11:30", "11:30:15.1+01:00", "", "2", "2012-06-30T", "X012-06-30T11:30:15Z",
+        };
+        for (String text : texts) {
+            assertParse(formatter, text, 0);
+            assertParse(formatter, "XX" + text, 2);
+        }
+    }
+
+    public void test_parse_caseSensitive() {
+        DateTimeFormatter formatter = new DateTimeFormatterBuilder().parseCaseSensitive()
+                .append(DateTimeFormatter.ISO_INSTANT).toFormatter();
+        assertParse(formatter, "2012-06-30T11:30:15Z", 0);
+        assertParse(formatter, "2012-06-30t11:30:15z", 0);
+        formatter = new DateTimeFormatterBuilder().parseLenient()
+                .append(DateTimeFormatter.ISO_LOCAL_DATE_TIME).toFormatter();
+        assertParse(formatter, "2012-6-3T1:3:5.1", 0);
+    }
+
+    public void test_formatter() {
+        assertEquals(DateTimeFormatter.ISO_INSTANT.format(Instant.ofEpochSecond(1341055815L, 120000000)),
+                "2012-06-30T11:30:15.120Z");
+        assertEquals(DateTimeFormatter.ISO_INSTANT.parse("2012-06-30T11:30:15.12Z", Instant.FROM),
+                Instant.ofEpochSecond(1341055815L, 120000000));
+        assertEquals(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(LocalDateTime.of(2012, 6, 30, 11, 30)),
+                "2012-06-30T11:30:00");
+        StringBuilder buf = new StringBuilder("x");
+        DateTimeFormatter.ISO_OFFSET_DATE_TIME.formatTo(
+                OffsetDateTime.of(LocalDateTime.of(2012, 6, 30, 11, 30), ZoneOffset.ofHours(1)), buf);
+        assertEquals(buf.toString(), "x2012-06-30T11:30:00+01:00");
+        // chronology override falls back to the generic printer
+        assertEquals(DateTimeFormatter.ISO_LOCAL_DATE_TIME.withZone(ZoneOffset.UTC).format(Instant.ofEpochSecond(0)),
+                "1970-01-01T00:00:00");
+    }
+
+    //-----------------------------------------------------------------------
+    private static CompiledPrinterParser compile(DateTimeFormatter formatter) {
+        return CompiledPrinterParser.compile(formatter.toPrinterParser(false));
+    }
+
+    private static void assertPrint(DateTimeFormatter formatter, TemporalAccessor temporal) {
+        CompositePrinterParser pp = formatter.toPrinterParser(false);
+        String expected;
+        try {
+            StringBuilder buf = new StringBuilder();
+            pp.print(new DateTimePrintContext(temporal, formatter), buf);
+            expected = buf.toString();
+        } catch (RuntimeException ex) {
+            expected = null;
+        }
+        CompiledPrinterParser compiled = compile(formatter);
+        char[] buf = new char[compiled.getMaxLength()];
+        int length = compiled.print(temporal, buf, 0);
+        if (length >= 0) {
+            assertEquals(new String(buf, 0, length), expected, temporal.toString());
+        } else {
+            // only values outside the fixed-width domain use the generic printer
+            assertTrue(expected == null || expected.startsWith("+") || expected.startsWith("-"), expected);
+        }
+    }
+
+    private static void assertParse(DateTimeFormatter formatter, String text, int position) {
+        CompositePrinterParser pp = formatter.toPrinterParser(false);
+        DateTimeParseContext expectedContext = new DateTimeParseContext(formatter);
+        String expected;
+        try {
+            expected = pp.parse(expectedContext, text, position) + " " + expectedContext + " " + expectedContext.toParsed().leapSecond;
+        } catch (RuntimeException ex) {
+            expected = ex.getClass().getName();
+        }
+        DateTimeParseContext actualContext = new DateTimeParseContext(formatter);
+        String actual;
+        try {
+            actual = compile(formatter).parse(actualContext, text, position) + " " + actualContext + " " + actualContext.toParsed().leapSecond;
+        } catch (RuntimeException ex) {
+            actual = ex.getClass().getName();
+        }
+        assertEquals(actual, expected, text);
+    }
+
+}
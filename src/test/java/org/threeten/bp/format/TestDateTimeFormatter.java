@@ -34,18 +34,26 @@ package org.threeten.bp.format;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 import static org.threeten.bp.temporal.ChronoField.DAY_OF_MONTH;
 
 import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.ReadOnlyBufferException;
 import java.text.Format;
 import java.text.ParseException;
 import java.text.ParsePosition;
 import java.util.Locale;
 
 import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 import org.threeten.bp.DateTimeException;
+import org.threeten.bp.Instant;
 import org.threeten.bp.LocalDate;
+import org.threeten.bp.LocalDateTime;
 import org.threeten.bp.LocalTime;
 import org.threeten.bp.YearMonth;
 import org.threeten.bp.ZoneId;
@@ -147,9 +155,225 @@ public class TestDateTimeFormatter {
         }
     }
 
+    //-----------------------------------------------------------------------
+    // formatTo(char[]/CharBuffer/ByteBuffer)
+    //-----------------------------------------------------------------------
+    private static final LocalDateTime SINK_DATE_TIME = LocalDateTime.of(2008, 6, 30, 11, 30, 5, 123000000);
+
+    @DataProvider(name="sinkFormatters")
+    Object[][] data_sinkFormatters() {
+        return new Object[][] {
+            {DateTimeFormatter.ISO_LOCAL_DATE_TIME},  // compiled
+            {DateTimeFormatter.ofPattern("EEEE d MMMM uuuu HH:mm", Locale.ENGLISH)},  // generic
+            {DateTimeFormatter.ISO_LOCAL_DATE.withDecimalStyle(DecimalStyle.STANDARD.withZeroDigit('A'))},
+        };
+    }
+
+    @Test(dataProvider="sinkFormatters")
+    public void test_formatTo_charArray(DateTimeFormatter formatter) {
+        String expected = formatter.format(SINK_DATE_TIME);
+        char[] chars = new char[64];
+        chars[2] = '#';
+        int length = formatter.formatTo(SINK_DATE_TIME, chars, 3);
+        assertEquals(length, expected.length());
+        assertEquals(new String(chars, 3, length), expected);
+        assertEquals(chars[2], '#');
+    }
+
+    @Test(dataProvider="sinkFormatters")
+    public void test_formatTo_charArray_exactFit(DateTimeFormatter formatter) {
+        String expected = formatter.format(SINK_DATE_TIME);
+        char[] chars = new char[expected.length() + 1];
+        assertEquals(formatter.formatTo(SINK_DATE_TIME, chars, 1), expected.length());
+        assertEquals(new String(chars, 1, expected.length()), expected);
+    }
+
+    @Test(dataProvider="sinkFormatters", expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_formatTo_charArray_tooSmall(DateTimeFormatter formatter) {
+        String expected = formatter.format(SINK_DATE_TIME);
+        formatter.formatTo(SINK_DATE_TIME, new char[expected.length() + 1], 2);
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_formatTo_charArray_negativeOffset() {
+        DateTimeFormatter.ISO_LOCAL_DATE.formatTo(SINK_DATE_TIME, new char[20], -1);
+    }
+
+    @Test(expectedExceptions=DateTimeException.class)
+    public void test_formatTo_charArray_noSuchField() {
+        DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(LocalDate.of(2008, 6, 30), new char[64], 0);
+    }
+
+    @Test(dataProvider="sinkFormatters")
+    public void test_formatTo_charBuffer(DateTimeFormatter formatter) {
+        String expected = formatter.format(SINK_DATE_TIME);
+        CharBuffer buffer = CharBuffer.allocate(64);
+        buffer.put("AB");
+        int length = formatter.formatTo(SINK_DATE_TIME, buffer);
+        assertEquals(length, expected.length());
+        assertEquals(buffer.position(), expected.length() + 2);
+        buffer.flip();
+        assertEquals(buffer.toString(), "AB" + expected);
+    }
+
+    @Test(dataProvider="sinkFormatters")
+    public void test_formatTo_charBuffer_sliced(DateTimeFormatter formatter) {
+        String expected = formatter.format(SINK_DATE_TIME);
+        CharBuffer buffer = CharBuffer.allocate(expected.length() + 4);
+        buffer.position(3);
+        CharBuffer slice = buffer.slice();
+        slice.put('X');
+        assertEquals(formatter.formatTo(SINK_DATE_TIME, slice), expected.length());
+        assertEquals(slice.remaining(), 0);
+        buffer.position(4);
+        assertEquals(buffer.toString(), expected);
+    }
+
+    @Test(dataProvider="sinkFormatters")
+    public void test_formatTo_charBuffer_noArray(DateTimeFormatter formatter) {
+        String expected = formatter.format(SINK_DATE_TIME);
+        CharBuffer buffer = ByteBuffer.allocateDirect(128).asCharBuffer();
+        assertEquals(buffer.hasArray(), false);
+        assertEquals(formatter.formatTo(SINK_DATE_TIME, buffer), expected.length());
+        buffer.flip();
+        assertEquals(buffer.toString(), expected);
+    }
+
+    @Test(dataProvider="sinkFormatters")
+    public void test_formatTo_charBuffer_overflow(DateTimeFormatter formatter) {
+        String expected = formatter.format(SINK_DATE_TIME);
+        CharBuffer buffer = CharBuffer.allocate(expected.length() + 1);
+        buffer.position(2);
+        try {
+            formatter.formatTo(SINK_DATE_TIME, buffer);
+            fail();
+        } catch (BufferOverflowException ex) {
+            assertEquals(buffer.position(), 2);
+        }
+    }
+
+    @Test(expectedExceptions=ReadOnlyBufferException.class)
+    public void test_formatTo_charBuffer_readOnly() {
+        DateTimeFormatter.ISO_LOCAL_DATE.formatTo(SINK_DATE_TIME, CharBuffer.allocate(20).asReadOnlyBuffer());
+    }
+
+    @Test(dataProvider="sinkFormatters")
+    public void test_formatToAscii_heap(DateTimeFormatter formatter) throws Exception {
+        String expected = formatter.format(SINK_DATE_TIME);
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        buffer.put((byte) 'A');
+        int length = formatter.formatToAscii(SINK_DATE_TIME, buffer);
+        assertEquals(length, expected.length());
+        assertEquals(buffer.position(), expected.length() + 1);
+        assertEquals(new String(buffer.array(), 0, buffer.position(), "US-ASCII"), "A" + expected);
+    }
+
+    @Test(dataProvider="sinkFormatters")
+    public void test_formatToAscii_direct(DateTimeFormatter formatter) throws Exception {
+        String expected = formatter.format(SINK_DATE_TIME);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+        int length = formatter.formatToAscii(SINK_DATE_TIME, buffer);
+        assertEquals(length, expected.length());
+        buffer.flip();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        assertEquals(new String(bytes, "US-ASCII"), expected);
+    }
+
+    @Test(dataProvider="sinkFormatters")
+    public void test_formatToAscii_overflow(DateTimeFormatter formatter) {
+        String expected = formatter.format(SINK_DATE_TIME);
+        ByteBuffer buffer = ByteBuffer.allocate(expected.length() - 1);
+        try {
+            formatter.formatToAscii(SINK_DATE_TIME, buffer);
+            fail();
+        } catch (BufferOverflowException ex) {
+            assertEquals(buffer.position(), 0);
+        }
+    }
+
+    @Test
+    public void test_formatToAscii_nonAscii() {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("'\u00e9' uuuu");
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        try {
+            formatter.formatToAscii(SINK_DATE_TIME, buffer);
+            fail();
+        } catch (DateTimeException ex) {
+            assertEquals(buffer.position(), 0);
+        }
+    }
+
+    @Test(expectedExceptions=ReadOnlyBufferException.class)
+    public void test_formatToAscii_readOnly() {
+        DateTimeFormatter.ISO_LOCAL_DATE.formatToAscii(SINK_DATE_TIME, ByteBuffer.allocate(20).asReadOnlyBuffer());
+    }
+
     //-----------------------------------------------------------------------
     // parse(Class)
     //-----------------------------------------------------------------------
+    @Test
+    public void test_parse_bytes() throws Exception {
+        byte[] bytes = "xx2012-07-27T10:15:30.5yy".getBytes("US-ASCII");
+        assertEquals(DateTimeFormatter.ISO_LOCAL_DATE_TIME.parse(bytes, 2, 21, LocalDateTime.FROM), LocalDateTime.of(2012, 7, 27, 10, 15, 30, 500000000));
+        assertEquals(DateTimeFormatter.ISO_LOCAL_DATE.parse(bytes, 2, 10, LocalDate.FROM), LocalDate.of(2012, 7, 27));
+        assertEquals(DATE_FORMATTER.parse("ONE2012 07 27".getBytes("US-ASCII"), 0, 13, LocalDate.FROM), LocalDate.of(2012, 7, 27));
+    }
+
+    @Test
+    public void test_parse_bytes_instant() throws Exception {
+        byte[] bytes = "2012-07-27T10:15:30Z".getBytes("US-ASCII");
+        assertEquals(DateTimeFormatter.ISO_INSTANT.parse(bytes, 0, bytes.length, Instant.FROM), Instant.parse("2012-07-27T10:15:30Z"));
+    }
+
+    @Test
+    public void test_parse_bytes_text() throws Exception {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("d MMMM uuuu", Locale.ENGLISH);
+        byte[] bytes = "27 July 2012".getBytes("US-ASCII");
+        assertEquals(formatter.parse(bytes, 0, bytes.length, LocalDate.FROM), LocalDate.of(2012, 7, 27));
+    }
+
+    @Test
+    public void test_parse_bytes_error() throws Exception {
+        byte[] bytes = "2012-07-2X".getBytes("US-ASCII");
+        try {
+            DateTimeFormatter.ISO_LOCAL_DATE.parse(bytes, 0, bytes.length, LocalDate.FROM);
+            fail();
+        } catch (DateTimeParseException ex) {
+            assertEquals(ex.getParsedString(), "2012-07-2X");
+            assertEquals(ex.getErrorIndex(), 8);
+        }
+    }
+
+    @Test(expectedExceptions=DateTimeParseException.class)
+    public void test_parse_bytes_unparsedText() throws Exception {
+        byte[] bytes = "2012-07-27Z".getBytes("US-ASCII");
+        DateTimeFormatter.ISO_LOCAL_DATE.parse(bytes, 0, bytes.length, LocalDate.FROM);
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_parse_bytes_badRegion() throws Exception {
+        DateTimeFormatter.ISO_LOCAL_DATE.parse(new byte[4], 2, 3, LocalDate.FROM);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_parse_bytes_nullType() throws Exception {
+        DateTimeFormatter.ISO_LOCAL_DATE.parse(new byte[4], 0, 4, (TemporalQuery<?>) null);
+    }
+
+    @Test
+    public void test_parse_byteBuffer() throws Exception {
+        ByteBuffer heap = ByteBuffer.wrap("xx2012-07-27T10:15:30".getBytes("US-ASCII"));
+        heap.position(2);
+        assertEquals(DateTimeFormatter.ISO_LOCAL_DATE_TIME.parse(heap, LocalDateTime.FROM), LocalDateTime.of(2012, 7, 27, 10, 15, 30));
+        assertEquals(heap.position(), 2);
+        ByteBuffer direct = ByteBuffer.allocateDirect(32);
+        direct.put("2012-07-27T10:15:30+01:00".getBytes("US-ASCII"));
+        direct.flip();
+        assertEquals(DateTimeFormatter.ISO_OFFSET_DATE_TIME.parse(direct, Instant.FROM), Instant.parse("2012-07-27T09:15:30Z"));
+        assertEquals(DateTimeFormatter.ISO_OFFSET_DATE_TIME.parse(direct, ZonedDateTime.FROM).getOffset().getTotalSeconds(), 3600);
+    }
+
     @Test
     public void test_parse_Class_String() throws Exception {
         LocalDate result = DATE_FORMATTER.parse("ONE2012 07 27", LocalDate.FROM);
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+import static org.threeten.bp.temporal.ChronoField.DAY_OF_MONTH;
+import static org.threeten.bp.temporal.ChronoField.HOUR_OF_DAY;
+import static org.threeten.bp.temporal.ChronoField.MONTH_OF_YEAR;
+import static org.threeten.bp.temporal.ChronoField.YEAR;
+
+import java.util.Locale;
+
+import org.testng.annotations.Test;
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.ZoneOffset;
+import org.threeten.bp.format.DateTimeParseContext.Parsed;
+import org.threeten.bp.temporal.IsoFields;
+
+/**
+ * Test DateTimeParseContext.
+ */
+@Test
+public class TestDateTimeParseContext {
+
+    public void test_setParsedField_chronoField() {
+        DateTimeParseContext context = new DateTimeParseContext(DateTimeFormatter.ISO_LOCAL_DATE);
+        assertNull(context.getParsed(YEAR));
+        assertEquals(context.setParsedField(YEAR, 2012, 0, 4), 4);
+        assertEquals(context.getParsed(YEAR), Long.valueOf(2012));
+        assertEquals(context.setParsedField(YEAR, 2012, 4, 8), 8);
+        assertEquals(context.setParsedField(YEAR, 2013, 4, 8), ~4);
+        assertEquals(context.setParsedField(IsoFields.QUARTER_OF_YEAR, 2, 8, 9), 9);
+        Parsed parsed = context.toParsed();
+        assertEquals(parsed.fieldValues.size(), 2);
+        assertEquals(parsed.getLong(IsoFields.QUARTER_OF_YEAR), 2);
+    }
+
+    public void test_optional_failed() {
+        DateTimeParseContext context = new DateTimeParseContext(DateTimeFormatter.ISO_LOCAL_DATE);
+        context.setParsedField(YEAR, 2012, 0, 4);
+        context.startOptional();
+        context.setParsedField(MONTH_OF_YEAR, 6, 4, 6);
+        context.setParsed(ZoneOffset.UTC);
+        assertEquals(context.getParsed(MONTH_OF_YEAR), Long.valueOf(6));
+        context.endOptional(false);
+        assertNull(context.getParsed(MONTH_OF_YEAR));
+        assertEquals(context.getParsed(YEAR), Long.valueOf(2012));
+        assertNull(context.toParsed().zone);
+        assertEquals(context.toParsed().fieldValues.size(), 1);
+    }
+
+    public void test_optional_successful_nested() {
+        DateTimeParseContext context = new DateTimeParseContext(DateTimeFormatter.ISO_LOCAL_DATE);
+        context.setParsedField(YEAR, 2012, 0, 4);
+        for (int i = 0; i < 5; i++) {
+            context.startOptional();
+        }
+        context.setParsedField(MONTH_OF_YEAR, 6, 4, 6);
+        context.setParsed(ZoneOffset.UTC);
+        context.endOptional(false);
+        context.setParsedField(DAY_OF_MONTH, 30, 6, 8);
+        for (int i = 0; i < 4; i++) {
+            context.endOptional(true);
+        }
+        assertNull(context.getParsed(MONTH_OF_YEAR));
+        assertEquals(context.getParsed(DAY_OF_MONTH), Long.valueOf(30));
+        assertEquals(context.getParsed(YEAR), Long.valueOf(2012));
+        assertNull(context.toParsed().zone);
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_acquire_reused() {
+        DateTimeParseContext context = DateTimeParseContext.acquire(DateTimeFormatter.ISO_LOCAL_DATE);
+        context.setParsedField(YEAR, 2012, 0, 4);
+        context.setCaseSensitive(false);
+        DateTimeParseContext nested = DateTimeParseContext.acquire(DateTimeFormatter.ISO_LOCAL_DATE);
+        assertNotSame(nested, context);
+        nested.release();
+        context.release();
+
+        DateTimeParseContext reused = DateTimeParseContext.acquire(DateTimeFormatter.ISO_LOCAL_DATE.withLocale(Locale.FRANCE));
+        assertSame(reused, context);
+        assertNull(reused.getParsed(YEAR));
+        assertTrue(reused.isCaseSensitive());
+        assertEquals(reused.getLocale(), Locale.FRANCE);
+        assertEquals(reused.toParsed().fieldValues.size(), 0);
+        reused.release();
+    }
+
+    public void test_release_clearsReferences() {
+        DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE.withZone(ZoneOffset.UTC);
+        DateTimeParseContext context = DateTimeParseContext.acquire(formatter);
+        context.setParsedField(YEAR, 2012, 0, 4);
+        context.setParsed(ZoneOffset.ofHours(1));
+        context.release();
+        assertNull(context.getLocale());
+        assertNull(context.getSymbols());
+        assertNull(context.toParsed().zone);
+        assertNull(context.toParsed().chrono);
+        assertEquals(context.toParsed().fieldValues.size(), 0);
+
+        DateTimeParseContext reused = DateTimeParseContext.acquire(formatter);
+        assertSame(reused, context);
+        assertEquals(reused.getLocale(), formatter.getLocale());
+        assertEquals(reused.getEffectiveChronology(), formatter.getChronology());
+        reused.release();
+    }
+
+    public void test_parse_repeated() {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(DateTimeFormatter.ISO_LOCAL_DATE_TIME.parse("2012-06-30T11:30:1" + i, LocalDateTime.FROM),
+                    LocalDateTime.of(2012, 6, 30, 11, 30, 10 + i));
+        }
+        try {
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME.parse("2012-06-30X");
+            fail();
+        } catch (DateTimeParseException ex) {
+            assertEquals(ex.getErrorIndex(), 10);
+        }
+        assertFalse(DateTimeFormatter.ISO_LOCAL_DATE.parse("2012-06-30").isSupported(
+                HOUR_OF_DAY));
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_toLocalDateTime_direct() {
+        DateTimeParseContext context = new DateTimeParseContext(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        DateTimeFormatter.ISO_LOCAL_DATE_TIME.toPrinterParser(false).parse(context, "2012-06-30T11:30:15.5", 0);
+        assertEquals(context.toLocalDateTime(), LocalDateTime.of(2012, 6, 30, 11, 30, 15, 500000000));
+        assertNull(context.toInstant());
+    }
+
+    public void test_toLocalDateTime_invalid() {
+        DateTimeParseContext context = new DateTimeParseContext(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        DateTimeFormatter.ISO_LOCAL_DATE_TIME.toPrinterParser(false).parse(context, "2012-06-31T11:30", 0);
+        assertNull(context.toLocalDateTime());
+    }
+
+    public void test_toInstant_direct() {
+        DateTimeParseContext context = new DateTimeParseContext(DateTimeFormatter.ISO_INSTANT);
+        DateTimeFormatter.ISO_INSTANT.toPrinterParser(false).parse(context, "2012-06-30T11:30:15.5Z", 0);
+        assertEquals(context.toInstant(), Instant.ofEpochSecond(1341055815L, 500000000));
+        context = new DateTimeParseContext(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+        DateTimeFormatter.ISO_OFFSET_DATE_TIME.toPrinterParser(false).parse(context, "2012-06-30T12:30:15.5+01:00", 0);
+        assertEquals(context.toInstant(), Instant.ofEpochSecond(1341055815L, 500000000));
+        assertNull(context.toLocalDateTime());
+    }
+
+    public void test_toInstant_leapSecond() {
+        DateTimeParseContext context = new DateTimeParseContext(DateTimeFormatter.ISO_INSTANT);
+        DateTimeFormatter.ISO_INSTANT.toPrinterParser(false).parse(context, "2012-06-30T23:59:60Z", 0);
+        assertNull(context.toInstant());
+    }
+
+}
@@ -50,6 +50,7 @@ import org.threeten.bp.ZonedDateTime;
 import org.threeten.bp.format.DateTimeFormatter;
 import org.threeten.bp.format.DateTimeFormatterBuilder;
 import org.threeten.bp.temporal.TemporalAccessor;
+import org.threeten.bp.temporal.TemporalQuery;
 
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
@@ -124,6 +125,16 @@ public class TestDateTimeParsing {
         assertEquals(Instant.from(actual), expected.toInstant());
     }
 
+    @Test(dataProvider = "instantZones")
+    public void test_parseInstant_instantZones(DateTimeFormatter formatter, String text, ZonedDateTime expected) {
+        assertEquals(formatter.parseInstant(text), expected.toInstant());
+    }
+
+    @Test(dataProvider = "instantZones")
+    public void test_parseLocalDateTime_instantZones(DateTimeFormatter formatter, String text, ZonedDateTime expected) {
+        assertEquals(formatter.parseLocalDateTime(text), expected.toLocalDateTime());
+    }
+
     @Test(dataProvider = "instantZones")
     public void test_parse_instantZones_supported(DateTimeFormatter formatter, String text, ZonedDateTime expected) {
         TemporalAccessor actual = formatter.parse(text);
@@ -163,6 +174,11 @@ public class TestDateTimeParsing {
         assertEquals(Instant.from(actual), expected);
     }
 
+    @Test(dataProvider = "instantNoZone")
+    public void test_parseInstant_instantNoZone(DateTimeFormatter formatter, String text, Instant expected) {
+        assertEquals(formatter.parseInstant(text), expected);
+    }
+
     @Test(dataProvider = "instantNoZone")
     public void test_parse_instantNoZone_supported(DateTimeFormatter formatter, String text, Instant expected) {
         TemporalAccessor actual = formatter.parse(text);
@@ -269,4 +285,55 @@ public class TestDateTimeParsing {
         assertEquals(acc.getLong(MILLI_OF_SECOND), 123L);
     }
 
+    //-----------------------------------------------------------------------
+    @DataProvider(name = "typed")
+    Object[][] data_typed() {
+        DateTimeFormatter[] formatters = {
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME, DateTimeFormatter.ISO_OFFSET_DATE_TIME, DateTimeFormatter.ISO_INSTANT,
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME.withResolverStyle(ResolverStyle.SMART),
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME.withResolverStyle(ResolverStyle.LENIENT),
+            DateTimeFormatter.ISO_OFFSET_DATE_TIME.withResolverStyle(ResolverStyle.LENIENT),
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME.withZone(PARIS), LOCALFIELDS,
+        };
+        String[] texts = {
+            "2012-06-30T11:30", "2012-06-30T11:30:15.123456789", "2012-06-30T23:59:60", "2012-06-30T24:00",
+            "2012-06-31T11:30", "2012-02-29T11:30", "2011-02-29T11:30", "2012-06-30T11:30:15+01:00",
+            "2012-06-30T11:30:15Z", "2012-06-30T23:59:60Z", "2012-06-30T24:00:00Z", "+999999999-12-31T23:59:59Z",
+            "2012-06-30T11:30:15+18:00", "2012-06-30 11:30:15", "2012-06-30T11:30X",
+        };
+        Object[][] data = new Object[formatters.length * texts.length][];
+        for (int i = 0; i < formatters.length; i++) {
+            for (int j = 0; j < texts.length; j++) {
+                data[i * texts.length + j] = new Object[] {formatters[i], texts[j]};
+            }
+        }
+        return data;
+    }
+
+    @Test(dataProvider = "typed")
+    public void test_parseLocalDateTime_sameAsQuery(DateTimeFormatter formatter, String text) {
+        assertEquals(parseTyped(formatter, text, true), parseQuery(formatter, text, LocalDateTime.FROM));
+    }
+
+    @Test(dataProvider = "typed")
+    public void test_parseInstant_sameAsQuery(DateTimeFormatter formatter, String text) {
+        assertEquals(parseTyped(formatter, text, false), parseQuery(formatter, text, Instant.FROM));
+    }
+
+    private static Object parseTyped(DateTimeFormatter formatter, String text, boolean localDateTime) {
+        try {
+            return (localDateTime ? formatter.parseLocalDateTime(text) : formatter.parseInstant(text));
+        } catch (DateTimeParseException ex) {
+            return ex.getMessage() + " " + ex.getErrorIndex();
+        }
+    }
+
+    private static Object parseQuery(DateTimeFormatter formatter, String text, TemporalQuery<?> query) {
+        try {
+            return formatter.parse(text, query);
+        } catch (DateTimeParseException ex) {
+            return ex.getMessage() + " " + ex.getErrorIndex();
+        }
+    }
+
 }
@@ -33,13 +33,20 @@ package org.threeten.bp.format;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.fail;
+import static org.threeten.bp.temporal.ChronoField.MICRO_OF_SECOND;
+import static org.threeten.bp.temporal.ChronoField.MILLI_OF_SECOND;
 import static org.threeten.bp.temporal.ChronoField.NANO_OF_SECOND;
 import static org.threeten.bp.temporal.ChronoField.SECOND_OF_MINUTE;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Locale;
+
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 import org.threeten.bp.DateTimeException;
 import org.threeten.bp.LocalTime;
+import org.threeten.bp.chrono.IsoChronology;
 import org.threeten.bp.format.DateTimeFormatterBuilder.FractionPrinterParser;
 import org.threeten.bp.temporal.MockFieldValue;
 import org.threeten.bp.temporal.TemporalField;
@@ -166,6 +173,113 @@ public class TestFractionPrinterParser extends AbstractTestPrinterParser {
         assertEquals(buf.toString(), (result.startsWith(".") ? result.substring(1) : result));
     }
 
+    //-----------------------------------------------------------------------
+    @DataProvider(name="DecimalFields")
+    Object[][] provider_decimalFields() {
+        return new Object[][] {
+            {MILLI_OF_SECOND, 0, 9, 0,          ""},
+            {MILLI_OF_SECOND, 0, 9, 2,          ".002"},
+            {MILLI_OF_SECOND, 0, 9, 120,        ".12"},
+            {MILLI_OF_SECOND, 3, 9, 120,        ".120"},
+            {MILLI_OF_SECOND, 1, 2, 999,        ".99"},
+            {MILLI_OF_SECOND, 6, 6, 5,          ".005000"},
+            {MILLI_OF_SECOND, 2, 2, 0,          ".00"},
+            {MICRO_OF_SECOND, 0, 9, 0,          ""},
+            {MICRO_OF_SECOND, 0, 9, 1,          ".000001"},
+            {MICRO_OF_SECOND, 0, 9, 123400,     ".1234"},
+            {MICRO_OF_SECOND, 3, 3, 123456,     ".123"},
+            {MICRO_OF_SECOND, 3, 3, 999,        ".000"},
+            {MICRO_OF_SECOND, 9, 9, 999999,     ".999999000"},
+        };
+    }
+
+    @Test(dataProvider="DecimalFields")
+    public void test_print_decimalFields(TemporalField field, int minWidth, int maxWidth, int value, String result) throws Exception {
+        printContext.setDateTime(new MockFieldValue(field, value));
+        FractionPrinterParser pp = new FractionPrinterParser(field, minWidth, maxWidth, true);
+        pp.print(printContext, buf);
+        assertEquals(buf.toString(), result);
+    }
+
+    @Test(dataProvider="DecimalFields")
+    public void test_parse_decimalFields(TemporalField field, int minWidth, int maxWidth, int value, String result) throws Exception {
+        FractionPrinterParser pp = new FractionPrinterParser(field, minWidth, maxWidth, true);
+        int newPos = pp.parse(parseContext, result, 0);
+        assertEquals(newPos, result.length());
+        long expected = referenceParse(field, result.length() > 0 ? result.substring(1) : "");
+        assertParsed(parseContext, field, result.length() == 0 ? null : expected);
+    }
+
+    public void test_parse_millis_moreDigitsThanRange() throws Exception {
+        FractionPrinterParser pp = new FractionPrinterParser(MILLI_OF_SECOND, 0, 9, true);
+        int newPos = pp.parse(parseContext, ".123999999", 0);
+        assertEquals(newPos, 10);
+        assertParsed(parseContext, MILLI_OF_SECOND, 123L);
+    }
+
+    public void test_print_decimalFields_matchesBigDecimal() throws Exception {
+        TemporalField[] fields = {MILLI_OF_SECOND, MICRO_OF_SECOND, NANO_OF_SECOND};
+        int[] values = {0, 1, 9, 10, 99, 100, 101, 500, 999, 1000, 1234, 99999, 100000, 999999,
+            1000000, 7654321, 100000000, 999999999};
+        for (TemporalField field : fields) {
+            for (int value : values) {
+                if (value > field.range().getMaximum()) {
+                    continue;
+                }
+                for (int minWidth = 0; minWidth <= 9; minWidth++) {
+                    for (int maxWidth = Math.max(minWidth, 1); maxWidth <= 9; maxWidth++) {
+                        buf.setLength(0);
+                        printContext.setDateTime(new MockFieldValue(field, value));
+                        new FractionPrinterParser(field, minWidth, maxWidth, true).print(printContext, buf);
+                        String expected = referencePrint(field, minWidth, maxWidth, value);
+                        assertEquals(buf.toString(), expected, field + " " + minWidth + " " + maxWidth + " " + value);
+                        if (expected.length() > 0) {
+                            DateTimeParseContext context = new DateTimeParseContext(Locale.ENGLISH, DecimalStyle.STANDARD, IsoChronology.INSTANCE);
+                            new FractionPrinterParser(field, minWidth, maxWidth, true).parse(context, expected, 0);
+                            assertEquals(context.getParsed(field), Long.valueOf(referenceParse(field, expected.substring(1))));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public void test_print_decimalFields_nonStandardZeroDigit() throws Exception {
+        DecimalStyle symbols = DecimalStyle.STANDARD.withZeroDigit('A').withDecimalSeparator(',');
+        DateTimePrintContext printContext = new DateTimePrintContext(new MockFieldValue(MILLI_OF_SECOND, 45), Locale.ENGLISH, symbols);
+        FractionPrinterParser pp = new FractionPrinterParser(MILLI_OF_SECOND, 0, 9, true);
+        pp.print(printContext, buf);
+        assertEquals(buf.toString(), ",AEF");
+    }
+
+    private static String referencePrint(TemporalField field, int minWidth, int maxWidth, long value) {
+        BigDecimal range = BigDecimal.valueOf(field.range().getMaximum() + 1);
+        BigDecimal fraction = BigDecimal.valueOf(value).divide(range, 9, RoundingMode.FLOOR);
+        fraction = (fraction.compareTo(BigDecimal.ZERO) == 0 ? BigDecimal.ZERO : fraction.stripTrailingZeros());
+        StringBuilder result = new StringBuilder();
+        if (fraction.scale() == 0) {
+            if (minWidth > 0) {
+                result.append('.');
+                for (int i = 0; i < minWidth; i++) {
+                    result.append('0');
+                }
+            }
+        } else {
+            int outputScale = Math.min(Math.max(fraction.scale(), minWidth), maxWidth);
+            result.append('.').append(fraction.setScale(outputScale, RoundingMode.FLOOR).toPlainString().substring(2));
+        }
+        return result.toString();
+    }
+
+    private static long referenceParse(TemporalField field, String digits) {
+        if (digits.length() == 0) {
+            return 0;
+        }
+        BigDecimal range = BigDecimal.valueOf(field.range().getMaximum() + 1);
+        BigDecimal fraction = new BigDecimal(digits).movePointLeft(digits.length());
+        return fraction.multiply(range).setScale(0, RoundingMode.FLOOR).longValueExact();
+    }
+
     //-----------------------------------------------------------------------
     @DataProvider(name="Seconds")
     Object[][] provider_seconds() {
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Locale;
+
+import org.testng.annotations.Test;
+import org.threeten.bp.LocalDate;
+import org.threeten.bp.format.DateTimeFormatter.PatternCache;
+
+/**
+ * Test the cache of formatters created from patterns.
+ */
+@Test
+public class TestPatternCache {
+
+    public void test_get_cached() {
+        PatternCache test = new PatternCache(4);
+        DateTimeFormatter first = test.get("yyyy-MM-dd", Locale.ENGLISH);
+        assertEquals(test.getMissCount(), 1);
+        assertEquals(test.getHitCount(), 0);
+        assertSame(test.get("yyyy-MM-dd", Locale.ENGLISH), first);
+        assertEquals(test.getMissCount(), 1);
+        assertEquals(test.getHitCount(), 1);
+        assertEquals(first.getLocale(), Locale.ENGLISH);
+        assertEquals(first.format(LocalDate.of(2012, 7, 27)), "2012-07-27");
+    }
+
+    public void test_get_keyedByLocale() {
+        PatternCache test = new PatternCache(4);
+        DateTimeFormatter english = test.get("MMMM", Locale.ENGLISH);
+        DateTimeFormatter french = test.get("MMMM", Locale.FRENCH);
+        assertNotSame(english, french);
+        assertEquals(english.getLocale(), Locale.ENGLISH);
+        assertEquals(french.getLocale(), Locale.FRENCH);
+        assertEquals(test.getMissCount(), 2);
+        assertEquals(test.size(), 2);
+    }
+
+    public void test_get_bounded() {
+        PatternCache test = new PatternCache(4);
+        for (int i = 1; i <= 20; i++) {
+            test.get("'" + i + "'yyyy", Locale.ENGLISH);
+            assertTrue(test.size() <= 4);
+        }
+        assertEquals(test.size(), 4);
+        assertEquals(test.getMissCount(), 20);
+    }
+
+    public void test_get_recentlyUsedRetained() {
+        PatternCache test = new PatternCache(4);
+        test.get("'hot'yyyy", Locale.ENGLISH);
+        for (int i = 1; i <= 20; i++) {
+            test.get("'" + i + "'yyyy", Locale.ENGLISH);
+            test.get("'hot'yyyy", Locale.ENGLISH);
+            assertTrue(test.contains("'hot'yyyy", Locale.ENGLISH));
+        }
+        assertEquals(test.getHitCount(), 20);
+    }
+
+    public void test_get_hitsOfEvictedCounted() {
+        PatternCache test = new PatternCache(4);
+        test.get("'cold'yyyy", Locale.ENGLISH);
+        test.get("'cold'yyyy", Locale.ENGLISH);
+        test.get("'cold'yyyy", Locale.ENGLISH);
+        assertEquals(test.getHitCount(), 2);
+        for (int i = 1; i <= 20; i++) {
+            test.get("'" + i + "'yyyy", Locale.ENGLISH);
+        }
+        assertEquals(test.contains("'cold'yyyy", Locale.ENGLISH), false);
+        assertEquals(test.getHitCount(), 2);
+        assertEquals(test.getMissCount(), 21);
+    }
+
+    public void test_get_disabled() {
+        PatternCache test = new PatternCache(0);
+        DateTimeFormatter first = test.get("yyyy", Locale.ENGLISH);
+        assertNotSame(test.get("yyyy", Locale.ENGLISH), first);
+        assertEquals(test.size(), 0);
+        assertEquals(test.getMissCount(), 2);
+        assertEquals(test.getHitCount(), 0);
+    }
+
+    public void test_get_invalidPatternNotCached() {
+        PatternCache test = new PatternCache(4);
+        for (int i = 0; i < 2; i++) {
+            try {
+                test.get("yyyy'", Locale.ENGLISH);
+            } catch (IllegalArgumentException ex) {
+                // expected
+            }
+        }
+        assertEquals(test.size(), 0);
+        assertEquals(test.getMissCount(), 2);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_get_nullPattern() {
+        new PatternCache(4).get(null, Locale.ENGLISH);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_get_nullLocale() {
+        new PatternCache(4).get("yyyy", null);
+    }
+
+    public void test_ofPattern_counters() {
+        String pattern = "'TestPatternCache'yyyy";
+        long hits = DateTimeFormatter.getPatternCacheHitCount();
+        long misses = DateTimeFormatter.getPatternCacheMissCount();
+        DateTimeFormatter first = DateTimeFormatter.ofPattern(pattern, Locale.ENGLISH);
+        assertSame(DateTimeFormatter.ofPattern(pattern, Locale.ENGLISH), first);
+        assertTrue(DateTimeFormatter.getPatternCacheMissCount() >= misses + 1);
+        assertTrue(DateTimeFormatter.getPatternCacheHitCount() >= hits + 1);
+    }
+
+}
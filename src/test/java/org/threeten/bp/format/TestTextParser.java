@@ -33,15 +33,26 @@ package org.threeten.bp.format;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
+import static org.threeten.bp.temporal.ChronoField.AMPM_OF_DAY;
 import static org.threeten.bp.temporal.ChronoField.DAY_OF_MONTH;
 import static org.threeten.bp.temporal.ChronoField.DAY_OF_WEEK;
+import static org.threeten.bp.temporal.ChronoField.ERA;
 import static org.threeten.bp.temporal.ChronoField.MONTH_OF_YEAR;
 
+import java.text.ParsePosition;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
 
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
+import org.threeten.bp.chrono.IsoChronology;
 import org.threeten.bp.format.DateTimeFormatterBuilder.TextPrinterParser;
+import org.threeten.bp.temporal.IsoFields;
 import org.threeten.bp.temporal.TemporalField;
 import org.threeten.bp.temporal.TemporalQueries;
 
@@ -52,6 +63,17 @@ import org.threeten.bp.temporal.TemporalQueries;
 public class TestTextParser extends AbstractTestPrinterParser {
 
     private static final DateTimeTextProvider PROVIDER = DateTimeTextProvider.getInstance();
+    /** Provider without tries, thus parsing via the text iterator. */
+    private static final DateTimeTextProvider ITERATOR_PROVIDER = new DateTimeTextProvider() {
+        @Override
+        public String getText(TemporalField field, long value, TextStyle style, Locale locale) {
+            return PROVIDER.getText(field, value, style, locale);
+        }
+        @Override
+        public Iterator<Entry<String, Long>> getTextIterator(TemporalField field, TextStyle style, Locale locale) {
+            return PROVIDER.getTextIterator(field, style, locale);
+        }
+    };
 
     //-----------------------------------------------------------------------
     @DataProvider(name="error")
@@ -73,6 +95,75 @@ public class TestTextParser extends AbstractTestPrinterParser {
         }
     }
 
+    //-----------------------------------------------------------------------
+    @DataProvider(name="trieLocales")
+    Object[][] data_trieLocales() {
+        return new Object[][] {
+            {Locale.ENGLISH},
+            {Locale.FRENCH},
+            {Locale.GERMAN},
+            {Locale.JAPANESE},
+            {new Locale("tr")},
+            {new Locale("el")},
+            {new Locale("ru")},
+            {new Locale("ar")},
+        };
+    }
+
+    @Test(dataProvider="trieLocales")
+    public void test_parse_trieMatchesIterator(Locale locale) throws Exception {
+        TemporalField[] fields = {MONTH_OF_YEAR, DAY_OF_WEEK, AMPM_OF_DAY, ERA, IsoFields.QUARTER_OF_YEAR};
+        for (TemporalField field : fields) {
+            for (TextStyle style : TextStyle.values()) {
+                assertEquals(PROVIDER.getTextTrie(field, style, locale) != null, PROVIDER.getTextIterator(field, style, locale) != null);
+                List<String> inputs = new ArrayList<String>();
+                Iterator<Entry<String, Long>> it = PROVIDER.getTextIterator(field, null, locale);
+                while (it != null && it.hasNext()) {
+                    String text = it.next().getKey();
+                    inputs.add(text);
+                    inputs.add(text.toUpperCase(locale));
+                    inputs.add(text.toLowerCase(locale));
+                    inputs.add(text.substring(0, text.length() / 2));
+                    inputs.add(text + "x");
+                    inputs.add("12");
+                }
+                for (String input : inputs) {
+                    for (int i = 0; i < 4; i++) {
+                        boolean strict = (i & 1) == 0;
+                        boolean caseSensitive = (i & 2) == 0;
+                        DateTimeParseContext expectedContext = createContext(locale, strict, caseSensitive);
+                        DateTimeParseContext actualContext = createContext(locale, strict, caseSensitive);
+                        int expected = new TextPrinterParser(field, style, ITERATOR_PROVIDER).parse(expectedContext, input, 0);
+                        int actual = new TextPrinterParser(field, style, PROVIDER).parse(actualContext, input, 0);
+                        String msg = locale + " " + field + " " + style + " " + input + " " + strict + " " + caseSensitive;
+                        assertEquals(actual, expected, msg);
+                        assertEquals(actualContext.getParsed(field), expectedContext.getParsed(field), msg);
+                    }
+                }
+            }
+        }
+    }
+
+    private static DateTimeParseContext createContext(Locale locale, boolean strict, boolean caseSensitive) {
+        DateTimeParseContext context = new DateTimeParseContext(locale, DecimalStyle.STANDARD, IsoChronology.INSTANCE);
+        context.setStrict(strict);
+        context.setCaseSensitive(caseSensitive);
+        return context;
+    }
+
+    public void test_parse_appendTextMap_trie() throws Exception {
+        Map<Long, String> map = new HashMap<Long, String>();
+        map.put(1L, "I");
+        map.put(2L, "II");
+        map.put(3L, "III");
+        map.put(4L, "IV");
+        DateTimeFormatter formatter = new DateTimeFormatterBuilder().appendText(DAY_OF_MONTH, map).toFormatter();
+        assertEquals(formatter.parseUnresolved("III", new ParsePosition(0)).getLong(DAY_OF_MONTH), 3L);
+        ParsePosition pos = new ParsePosition(0);
+        assertEquals(formatter.parseUnresolved("IIV", pos).getLong(DAY_OF_MONTH), 2L);
+        assertEquals(pos.getIndex(), 2);
+    }
+
     //-----------------------------------------------------------------------
     public void test_parse_midStr() throws Exception {
         TextPrinterParser pp = new TextPrinterParser(DAY_OF_WEEK, TextStyle.FULL, PROVIDER);
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import java.text.ParsePosition;
+import java.util.Locale;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDate;
+import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.LocalTime;
+import org.threeten.bp.OffsetDateTime;
+import org.threeten.bp.OffsetTime;
+import org.threeten.bp.Year;
+import org.threeten.bp.YearMonth;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZoneOffset;
+import org.threeten.bp.ZonedDateTime;
+import org.threeten.bp.temporal.TemporalQuery;
+
+/**
+ * Test DateTimeFormatter.tryParse.
+ */
+@Test
+public class TestTryParse {
+
+    private static final TemporalQuery<?>[] QUERIES = {
+        LocalDate.FROM, LocalTime.FROM, LocalDateTime.FROM, ZonedDateTime.FROM, OffsetDateTime.FROM,
+        OffsetTime.FROM, Instant.FROM, YearMonth.FROM, Year.FROM, ZoneId.FROM,
+    };
+
+    @DataProvider(name="sample")
+    Object[][] data_sample() {
+        return new Object[][] {
+            {DateTimeFormatter.ISO_LOCAL_DATE, "2012-07-27"},
+            {DateTimeFormatter.ISO_LOCAL_DATE, "2012-02-30"},
+            {DateTimeFormatter.ISO_LOCAL_DATE, "2012-07-2X"},
+            {DateTimeFormatter.ISO_LOCAL_DATE, "2012-07-27 "},
+            {DateTimeFormatter.ISO_LOCAL_DATE.withResolverStyle(ResolverStyle.LENIENT), "2012-02-30"},
+            {DateTimeFormatter.ISO_LOCAL_TIME, "10:15:30"},
+            {DateTimeFormatter.ISO_LOCAL_TIME, "25:15:30"},
+            {DateTimeFormatter.ISO_LOCAL_DATE_TIME, "2012-07-27T10:15:30"},
+            {DateTimeFormatter.ISO_LOCAL_DATE_TIME, "2012-07-27T10:15:60"},
+            {DateTimeFormatter.ISO_LOCAL_DATE_TIME, ""},
+            {DateTimeFormatter.ISO_OFFSET_DATE_TIME, "2012-07-27T10:15:30+01:00"},
+            {DateTimeFormatter.ISO_OFFSET_DATE_TIME, "2012-07-27T10:15:30+19:00"},
+            {DateTimeFormatter.ISO_ZONED_DATE_TIME, "2012-07-27T10:15:30+01:00[Europe/Paris]"},
+            {DateTimeFormatter.ISO_ZONED_DATE_TIME, "2012-07-27T10:15:30+01:00[Europe/Nowhere]"},
+            {DateTimeFormatter.ISO_OFFSET_TIME, "10:15:30+01:00"},
+            {DateTimeFormatter.ISO_INSTANT, "2012-07-27T10:15:30Z"},
+            {DateTimeFormatter.ISO_INSTANT, "2012-07-27T10:15:30"},
+            {DateTimeFormatter.ofPattern("uuuu-MM"), "2012-07"},
+            {DateTimeFormatter.ofPattern("uuuu[-MM[-dd]]"), "2012"},
+            {DateTimeFormatter.ofPattern("uuuu[-MM[-dd]]"), "2012-07-27"},
+            {DateTimeFormatter.ofPattern("d MMMM uuuu", Locale.ENGLISH), "27 July 2012"},
+            {DateTimeFormatter.ofPattern("d MMMM uuuu", Locale.ENGLISH), "27 Jully 2012"},
+            {DateTimeFormatter.ofPattern("dd/MM/uuuu HH:mm").withZone(ZoneOffset.ofHours(2)), "27/07/2012 10:15"},
+            {DateTimeFormatter.ofPattern("dd/MM/uuuu HH:mm").withZone(ZoneOffset.ofHours(2)), "27/13/2012 10:15"},
+        };
+    }
+
+    @Test(dataProvider="sample")
+    public void test_tryParse_matchesParse(DateTimeFormatter formatter, String text) {
+        for (TemporalQuery<?> query : QUERIES) {
+            Object expected;
+            try {
+                expected = formatter.parse(text, query);
+            } catch (DateTimeParseException ex) {
+                expected = null;
+            }
+            assertEquals(formatter.tryParse(text, query), expected, text + " " + query);
+        }
+    }
+
+    @DataProvider(name="invalid")
+    Object[][] data_invalid() {
+        return new Object[][] {
+            {"uuuu-MM-dd HH:mm:ss", "2012-13-27 10:15:30"},
+            {"uuuu-MM-dd HH:mm:ss", "2012-07-45 10:15:30"},
+            {"uuuu-MM-dd HH:mm:ss", "2012-07-00 10:15:30"},
+            {"uuuu-MM-dd HH:mm:ss", "2012-02-30 10:15:30"},
+            {"uuuu-MM-dd HH:mm:ss", "2011-02-29 10:15:30"},
+            {"uuuu-MM-dd HH:mm:ss", "2012-02-29 10:15:30"},
+            {"uuuu-MM-dd HH:mm:ss", "2012-07-27 25:15:30"},
+            {"uuuu-MM-dd HH:mm:ss", "2012-07-27 24:00:00"},
+            {"uuuu-MM-dd HH:mm:ss", "2012-07-27 24:00:01"},
+            {"uuuu-MM-dd HH:mm:ss", "2012-07-27 10:60:30"},
+            {"uuuu-MM-dd HH:mm:ss", "2012-07-27 10:15:60"},
+            {"uuuu-MM-dd HH:mm:ss.SSS", "2012-07-27 10:15:30.123"},
+            {"uuuu-MM-dd HH:mm:ssXXX", "2012-13-27 10:15:30+01:00"},
+            {"uuuu-MM-dd HH:mm:ssXXX", "2012-02-30 10:15:30+01:00"},
+            {"uuuu-MM-dd HH", "2012-07-27 25"},
+            {"uuuu-MM-dd", "2012-13-27"},
+            {"uuuu-MM-dd", "2012-04-31"},
+            {"HH:mm", "25:15"},
+            {"HH:mm", "24:00"},
+        };
+    }
+
+    @Test(dataProvider="invalid")
+    public void test_tryParse_invalid_matchesParse(String pattern, String text) {
+        for (ResolverStyle style : ResolverStyle.values()) {
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern).withResolverStyle(style);
+            for (TemporalQuery<?> query : QUERIES) {
+                Object expected;
+                try {
+                    expected = formatter.parse(text, query);
+                } catch (DateTimeParseException ex) {
+                    expected = null;
+                }
+                assertEquals(formatter.tryParse(text, query), expected, text + " " + style + " " + query);
+            }
+        }
+    }
+
+    @Test(dataProvider="sample")
+    public void test_tryParse_position_matchesParse(DateTimeFormatter formatter, String text) {
+        String padded = "##" + text + "##";
+        ParsePosition expectedPos = new ParsePosition(2);
+        Object unresolved = formatter.parseUnresolved(padded, expectedPos);
+        for (TemporalQuery<?> query : QUERIES) {
+            ParsePosition pos = new ParsePosition(2);
+            Object result = formatter.tryParse(padded, pos, query);
+            if (unresolved == null) {
+                assertNull(result);
+                assertEquals(pos.getErrorIndex(), expectedPos.getErrorIndex());
+                assertEquals(pos.getIndex(), 2);
+            } else if (result == null) {
+                assertEquals(pos.getErrorIndex(), 2);
+                assertEquals(pos.getIndex(), 2);
+            } else {
+                assertEquals(pos.getErrorIndex(), -1);
+                assertEquals(pos.getIndex(), expectedPos.getIndex());
+                assertEquals(result, formatter.parse(padded.substring(2, pos.getIndex()), query));
+            }
+        }
+    }
+
+    public void test_tryParse_position_partial() {
+        ParsePosition pos = new ParsePosition(3);
+        LocalDate result = DateTimeFormatter.ISO_LOCAL_DATE.tryParse("XXX2012-07-27YYY", pos, LocalDate.FROM);
+        assertEquals(result, LocalDate.of(2012, 7, 27));
+        assertEquals(pos.getIndex(), 13);
+        assertEquals(pos.getErrorIndex(), -1);
+    }
+
+    public void test_tryParse_position_error() {
+        ParsePosition pos = new ParsePosition(0);
+        assertNull(DateTimeFormatter.ISO_LOCAL_DATE.tryParse("2012-7-27", pos, LocalDate.FROM));
+        assertEquals(pos.getErrorIndex(), 5);
+        assertEquals(pos.getIndex(), 0);
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_tryParse_position_invalid() {
+        DateTimeFormatter.ISO_LOCAL_DATE.tryParse("2012", new ParsePosition(5), LocalDate.FROM);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_tryParse_nullText() {
+        DateTimeFormatter.ISO_LOCAL_DATE.tryParse((CharSequence) null, LocalDate.FROM);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_tryParse_nullQuery() {
+        DateTimeFormatter.ISO_LOCAL_DATE.tryParse("2012-07-27", (TemporalQuery<?>) null);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_tryParse_nullPosition() {
+        DateTimeFormatter.ISO_LOCAL_DATE.tryParse("2012-07-27", null, LocalDate.FROM);
+    }
+
+}
@@ -137,6 +137,39 @@ public class TestZoneIdParser extends AbstractTestPrinterParser {
         assertParsed(ZoneId.of("Europe/London"));
     }
 
+    @Test
+    public void test_parse_upperCase_bracketed() throws Exception {
+        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(TemporalQueries.zoneId(), null);
+        parseContext.setCaseSensitive(false);
+        int result = pp.parse(parseContext, "[AMERICA/DENVER]", 1);
+        assertEquals(result, 15);
+        assertParsed(TIME_ZONE_DENVER);
+    }
+
+    @Test
+    public void test_parse_lowerCase_caseSensitive() throws Exception {
+        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(TemporalQueries.zoneId(), null);
+        int result = pp.parse(parseContext, "europe/london", 0);
+        assertEquals(result, ~0);
+        assertParsed(null);
+    }
+
+    @Test
+    public void test_parse_longestMatch() throws Exception {
+        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(TemporalQueries.zoneId(), null);
+        int result = pp.parse(parseContext, "Etc/GMT-14]", 0);
+        assertEquals(result, 10);
+        assertParsed(ZoneId.of("Etc/GMT-14"));
+    }
+
+    @Test
+    public void test_parse_shorterMatchAfterPartial() throws Exception {
+        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(TemporalQueries.zoneId(), null);
+        int result = pp.parse(parseContext, "Etc/GMT-1X", 0);
+        assertEquals(result, 9);
+        assertParsed(ZoneId.of("Etc/GMT-1"));
+    }
+
     //-----------------------------------------------------------------------
     public void test_parse_endStringMatch_utc() throws Exception {
         ZoneIdPrinterParser pp = new ZoneIdPrinterParser(TemporalQueries.zoneId(), null);
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.jdk8;
+
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+import org.threeten.bp.LocalDate;
+import org.threeten.bp.Year;
+
+/**
+ * Test the epoch day conversions in Jdk8Methods.
+ */
+@Test
+public class TestJdk8Methods {
+
+    private static final long MIN_VALID_EPOCHDAYS = LocalDate.MIN.toEpochDay();
+    private static final long MAX_VALID_EPOCHDAYS = LocalDate.MAX.toEpochDay();
+
+    //-----------------------------------------------------------------------
+    // epoch day algorithms
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_epochDay_fastMatchesCycles_exhaustive() {
+        long start = Jdk8Methods.toEpochDayByCycles(-10000, 1, 1);
+        long end = Jdk8Methods.toEpochDayByCycles(10000, 12, 31);
+        for (long epochDay = start; epochDay <= end; epochDay++) {
+            assertEpochDayAlgorithms(epochDay);
+        }
+    }
+
+    @Test
+    public void test_epochDay_fastMatchesCycles_fastRangeBoundaries() {
+        int[] years = {-Jdk8Methods.FAST_YEARS - 1, -Jdk8Methods.FAST_YEARS, -Jdk8Methods.FAST_YEARS + 1,
+                Jdk8Methods.FAST_YEARS - 1, Jdk8Methods.FAST_YEARS, Jdk8Methods.FAST_YEARS + 1};
+        for (int year : years) {
+            long start = Jdk8Methods.toEpochDayByCycles(year, 1, 1) - 800;
+            for (long epochDay = start; epochDay < start + 2000; epochDay++) {
+                assertEpochDayAlgorithms(epochDay);
+            }
+        }
+    }
+
+    @Test
+    public void test_epochDay_fastMatchesCycles_fastRangeSampled() {
+        long start = Jdk8Methods.toEpochDayByCycles(-Jdk8Methods.FAST_YEARS, 1, 1);
+        long end = Jdk8Methods.toEpochDayByCycles(Jdk8Methods.FAST_YEARS, 12, 31);
+        for (long epochDay = start; epochDay <= end; epochDay += 9973) {
+            assertEpochDayAlgorithms(epochDay);
+        }
+    }
+
+    @Test
+    public void test_epochDay_fullRangeSampled() {
+        for (long epochDay = MIN_VALID_EPOCHDAYS; epochDay <= MAX_VALID_EPOCHDAYS - 999999937L; epochDay += 999999937L) {
+            assertEpochDayAlgorithms(epochDay);
+        }
+        assertEpochDayAlgorithms(MIN_VALID_EPOCHDAYS);
+        assertEpochDayAlgorithms(MAX_VALID_EPOCHDAYS);
+    }
+
+    private void assertEpochDayAlgorithms(long epochDay) {
+        long packed = Jdk8Methods.toPackedDate(epochDay);
+        assertEquals(packed, Jdk8Methods.toPackedDateByCycles(epochDay), "Epoch day " + epochDay);
+        int year = (int) (packed >> 9);
+        int month = (int) (packed >> 5) & 15;
+        int dom = (int) packed & 31;
+        assertEquals(Jdk8Methods.toEpochDayByCycles(year, month, dom), epochDay);
+        assertEquals(Jdk8Methods.toEpochDay(year, month, dom), epochDay);
+        if (year >= Year.MIN_VALUE && year <= Year.MAX_VALUE) {
+            assertEquals(LocalDate.of(year, month, dom).toEpochDay(), epochDay);
+        }
+    }
+
+}
@@ -116,6 +116,18 @@ public class TestFixedZoneRules {
         assertEquals(test.getOffset((Instant) null), expectedOffset);
     }
 
+    @Test(dataProvider="rules")
+    public void test_getOffsetSeconds(ZoneRules test, ZoneOffset expectedOffset) {
+        assertEquals(test.getOffsetSeconds(INSTANT.getEpochSecond()), expectedOffset.getTotalSeconds());
+        assertEquals(test.getOffsetSeconds(Long.MIN_VALUE), expectedOffset.getTotalSeconds());
+        assertEquals(test.getOffsetSeconds(Long.MAX_VALUE), expectedOffset.getTotalSeconds());
+    }
+
+    @Test(dataProvider="rules")
+    public void test_getOffsetSecondsForLocal(ZoneRules test, ZoneOffset expectedOffset) {
+        assertEquals(test.getOffsetSecondsForLocal(LDT.toEpochSecond(ZoneOffset.UTC)), expectedOffset.getTotalSeconds());
+    }
+
     @Test(dataProvider="rules")
     public void test_getOffset_LocalDateTime(ZoneRules test, ZoneOffset expectedOffset) {
         assertEquals(test.getOffset(LDT), expectedOffset);
@@ -43,6 +43,7 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Random;
 
 import org.testng.annotations.Test;
 import org.threeten.bp.DayOfWeek;
@@ -916,6 +917,124 @@ public class TestStandardZoneRules {
         test.getTransitionRules().clear();
     }
 
+    //-----------------------------------------------------------------------
+    // getOffsetSeconds() / getOffsetSecondsForLocal()
+    //-----------------------------------------------------------------------
+    public void test_getOffsetSeconds_matchesInstant() {
+        for (ZoneRules test : new ZoneRules[] {europeLondon(), europeParis(), americaNewYork(), asiaKathmandu(), etcGmt()}) {
+            for (long epochSec = -5000000000L; epochSec < 8000000000L; epochSec += 7199) {
+                assertEquals(test.getOffsetSeconds(epochSec), test.getOffset(Instant.ofEpochSecond(epochSec)).getTotalSeconds());
+            }
+            for (ZoneOffsetTransition trans : test.getTransitions()) {
+                long epochSec = trans.toEpochSecond();
+                assertEquals(test.getOffsetSeconds(epochSec - 1), trans.getOffsetBefore().getTotalSeconds());
+                assertEquals(test.getOffsetSeconds(epochSec), trans.getOffsetAfter().getTotalSeconds());
+            }
+        }
+    }
+
+    public void test_getOffsetSecondsForLocal_matchesLocalDateTime() {
+        for (ZoneRules test : new ZoneRules[] {europeLondon(), europeParis(), americaNewYork(), asiaKathmandu(), etcGmt()}) {
+            for (long localSec = -5000000000L; localSec < 8000000000L; localSec += 7199) {
+                assertLocalMatches(test, localSec);
+            }
+            for (ZoneOffsetTransition trans : test.getTransitions()) {
+                assertLocalAroundTransition(test, trans);
+            }
+            for (int year = 2030; year < 2150; year++) {
+                for (ZoneOffsetTransitionRule rule : test.getTransitionRules()) {
+                    assertLocalAroundTransition(test, rule.createTransition(year));
+                }
+            }
+        }
+    }
+
+    private void assertLocalAroundTransition(ZoneRules test, ZoneOffsetTransition trans) {
+        long before = trans.getDateTimeBefore().toEpochSecond(ZoneOffset.UTC);
+        long after = trans.getDateTimeAfter().toEpochSecond(ZoneOffset.UTC);
+        for (long delta = -2; delta <= 2; delta++) {
+            assertLocalMatches(test, before + delta);
+            assertLocalMatches(test, after + delta);
+        }
+    }
+
+    private void assertLocalMatches(ZoneRules test, long localSec) {
+        LocalDateTime ldt = LocalDateTime.ofEpochSecond(localSec, 0, ZoneOffset.UTC);
+        assertEquals(test.getOffsetSecondsForLocal(localSec), test.getOffset(ldt).getTotalSeconds(), ldt.toString());
+    }
+
+    //-----------------------------------------------------------------------
+    // precomputed transitions
+    //-----------------------------------------------------------------------
+    public void test_precomputed_getOffset_matches() {
+        for (ZoneRules rules : new ZoneRules[] {europeLondon(), europeParis(), americaNewYork(), asiaKathmandu()}) {
+            StandardZoneRules base = (StandardZoneRules) rules;
+            StandardZoneRules test = new StandardZoneRules(base, 1970, 2100);
+            assertEquals(test, base);
+            for (long epochSec = -2000000000L; epochSec < 5000000000L; epochSec += 3599) {
+                Instant instant = Instant.ofEpochSecond(epochSec);
+                assertEquals(test.getOffset(instant), base.getOffset(instant), instant.toString());
+            }
+            for (ZoneOffsetTransition trans : test.getTransitions()) {
+                Instant instant = trans.getInstant();
+                assertEquals(test.getOffset(instant), trans.getOffsetAfter());
+                assertEquals(test.getOffset(instant.minusNanos(1)), trans.getOffsetBefore());
+            }
+        }
+    }
+
+    public void test_precomputed_getOffset_boundaries() {
+        StandardZoneRules test = new StandardZoneRules((StandardZoneRules) europeLondon(), 2008, 2008);
+        assertEquals(test.getOffset(createInstant(2007, 12, 31, 23, 59, 59, 999999999, ZoneOffset.UTC)), OFFSET_ZERO);
+        assertEquals(test.getOffset(createInstant(2008, 1, 1, ZoneOffset.UTC)), OFFSET_ZERO);
+        assertEquals(test.getOffset(createInstant(2008, 3, 30, 0, 59, 59, 999999999, ZoneOffset.UTC)), OFFSET_ZERO);
+        assertEquals(test.getOffset(createInstant(2008, 3, 30, 1, 0, 0, 0, ZoneOffset.UTC)), OFFSET_PONE);
+        assertEquals(test.getOffset(createInstant(2008, 10, 26, 0, 59, 59, 999999999, ZoneOffset.UTC)), OFFSET_PONE);
+        assertEquals(test.getOffset(createInstant(2008, 10, 26, 1, 0, 0, 0, ZoneOffset.UTC)), OFFSET_ZERO);
+        assertEquals(test.getOffset(createInstant(2009, 1, 1, ZoneOffset.UTC)), OFFSET_ZERO);
+        assertEquals(test.getOffset(createInstant(2009, 6, 1, ZoneOffset.UTC)), OFFSET_PONE);
+    }
+
+    public void test_getOffset_sequences() {
+        for (ZoneRules rules : new ZoneRules[] {europeLondon(), americaNewYork(), asiaKathmandu()}) {
+            StandardZoneRules base = (StandardZoneRules) rules;
+            StandardZoneRules windowed = new StandardZoneRules(base, 1990, 2010);
+            Random random = new Random(rules.hashCode());
+            long[] sorted = new long[20000];
+            long epochSec = -1000000000L;
+            for (int i = 0; i < sorted.length; i++) {
+                sorted[i] = epochSec;
+                epochSec += random.nextInt(200000);
+            }
+            long[] reversed = new long[sorted.length];
+            long[] shuffled = new long[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                reversed[i] = sorted[sorted.length - 1 - i];
+                shuffled[i] = sorted[random.nextInt(sorted.length)];
+            }
+            for (long[] sequence : new long[][] {sorted, reversed, shuffled}) {
+                for (long sec : sequence) {
+                    // a fresh copy has no memory of previous lookups
+                    ZoneOffset expected = new StandardZoneRules(base, 0, -1).getOffset(Instant.ofEpochSecond(sec));
+                    assertEquals(base.getOffset(Instant.ofEpochSecond(sec)), expected);
+                    assertEquals(base.getOffsetSeconds(sec), expected.getTotalSeconds());
+                    assertEquals(windowed.getOffset(Instant.ofEpochSecond(sec)), expected);
+                }
+            }
+        }
+    }
+
+    public void test_lastRulesCache_wideRangeOfYears() {
+        ZoneRules test = europeLondon();
+        for (int year = 2050; year < 3000; year++) {
+            assertEquals(test.getOffset(createInstant(year, 1, 1, ZoneOffset.UTC)), OFFSET_ZERO);
+            assertEquals(test.getOffset(createInstant(year, 7, 1, ZoneOffset.UTC)), OFFSET_PONE);
+        }
+        ZoneOffsetTransition trans = test.nextTransition(createInstant(2500, 1, 1, ZoneOffset.UTC));
+        assertEquals(trans.getDateTimeBefore().getYear(), 2500);
+        assertEquals(trans.getOffsetAfter(), OFFSET_PONE);
+    }
+
     //-----------------------------------------------------------------------
     // equals() / hashCode()
     //-----------------------------------------------------------------------
@@ -32,15 +32,34 @@
 package org.threeten.bp.zone;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
 import java.util.StringTokenizer;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.testng.annotations.Test;
 import org.threeten.bp.DayOfWeek;
+import org.threeten.bp.Instant;
 import org.threeten.bp.LocalDate;
 import org.threeten.bp.LocalTime;
 import org.threeten.bp.Month;
@@ -56,6 +75,22 @@ import org.threeten.bp.zone.ZoneOffsetTransitionRule.TimeDefinition;
 @Test
 public class TestTzdbZoneRulesCompiler {
 
+    private static final String EUROPE_2099A =
+        "Rule\tEU\t1981\tmax\t-\tMar\tlastSun\t 1:00u\t1:00\tS\n" +
+        "Rule\tEU\t1996\tmax\t-\tOct\tlastSun\t 1:00u\t0\t-\n" +
+        "Zone\tEurope/London\t-0:01:15 -\tLMT\t1847 Dec  1\n" +
+        "\t\t\t 0:00\tEU\tGMT/BST\n" +
+        "Zone\tEurope/Paris\t0:09:21 -\tLMT\t1891 Mar 15  0:01\n" +
+        "\t\t\t1:00\tEU\tCE%sT\n" +
+        "Zone\tAsia/Tokyo\t9:18:59\t-\tLMT\t1887 Dec 31 15:00u\n" +
+        "\t\t\t9:00\t-\tJST\n" +
+        "Link\tEurope/London\tEurope/Jersey\n";
+    // Paris changes, London only changes whitespace, Tokyo is unchanged
+    private static final String EUROPE_2099B = EUROPE_2099A
+        .replace("1:00\tEU\tCE%sT", "1:00\tEU\tCE%sT\t2050\n\t\t\t2:00\t-\tEET")
+        .replace("0:00\tEU\tGMT/BST", "0:00   EU   GMT/BST");
+    private static final String LEAP_SECONDS = "Leap\t1972\tJun\t30\t23:59:60\t+\tS\n";
+
     //-----------------------------------------------------------------------
     // parseYear()
     //-----------------------------------------------------------------------
@@ -457,4 +492,157 @@ public class TestTzdbZoneRulesCompiler {
         }
     }
 
+    //-----------------------------------------------------------------------
+    // parallel and incremental compile
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_compile_parallel() throws Exception {
+        File dir = createSource("2099b", EUROPE_2099B);
+        TzdbZoneRulesCompiler serial = createCompiler("2099b", dir);
+        serial.compile();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            TzdbZoneRulesCompiler parallel = createCompiler("2099b", dir);
+            parallel.setExecutor(executor);
+            parallel.compile();
+            assertEquals(parallel.getZones(), serial.getZones());
+            assertEquals(parallel.getZones().keySet(), new HashSet<String>(Arrays.asList(
+                    "Asia/Tokyo", "Europe/Jersey", "Europe/London", "Europe/Paris")));
+            assertSame(parallel.getZones().get("Europe/Jersey"), parallel.getZones().get("Europe/London"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void test_compile_incremental() throws Exception {
+        TzdbZoneRulesCompiler previous = createCompiler("2099a", createSource("2099a", EUROPE_2099A));
+        previous.compile();
+        File dir = createSource("2099b", EUROPE_2099B);
+        TzdbZoneRulesCompiler incremental = createCompiler("2099b", dir);
+        incremental.setPrevious(previous.getZoneSources(), previous.getZones());
+        incremental.compile();
+        SortedMap<String, ZoneRules> zones = incremental.getZones();
+        assertSame(zones.get("Asia/Tokyo"), previous.getZones().get("Asia/Tokyo"));
+        assertSame(zones.get("Europe/London"), previous.getZones().get("Europe/London"));
+        assertSame(zones.get("Europe/Jersey"), zones.get("Europe/London"));
+        assertNotSame(zones.get("Europe/Paris"), previous.getZones().get("Europe/Paris"));
+        assertEquals(zones.get("Europe/Paris").getOffset(Instant.parse("2060-01-01T00:00:00Z")).getTotalSeconds(), 7200);
+
+        TzdbZoneRulesCompiler full = createCompiler("2099b", dir);
+        full.compile();
+        assertEquals(zones, full.getZones());
+    }
+
+    @Test
+    public void test_incremental_mergeIntoDat() throws Exception {
+        TzdbZoneRulesCompiler previous = createCompiler("2099a", createSource("2099a", EUROPE_2099A));
+        previous.compile();
+        Map<String, SortedMap<String, ZoneRules>> allBuiltZones = new TreeMap<String, SortedMap<String, ZoneRules>>();
+        allBuiltZones.put("2099a", previous.getZones());
+        ByteArrayOutputStream existing = new ByteArrayOutputStream();
+        TzdbZoneRulesCompiler.outputTzdbDat(existing, 2, allBuiltZones,
+                new TreeSet<String>(previous.getZones().keySet()), new HashSet<ZoneRules>(previous.getZones().values()));
+
+        Map<String, SortedMap<String, ZoneRules>> mergedZones = new TreeMap<String, SortedMap<String, ZoneRules>>();
+        Set<String> mergedRegionIds = new TreeSet<String>();
+        Set<ZoneRules> mergedRules = new HashSet<ZoneRules>();
+        TzdbZoneRulesCompiler.loadTzdbDat(new ByteArrayInputStream(existing.toByteArray()), mergedZones, mergedRegionIds, mergedRules);
+        assertEquals(mergedZones, allBuiltZones);
+
+        TzdbZoneRulesCompiler incremental = createCompiler("2099b", createSource("2099b", EUROPE_2099B));
+        incremental.setPrevious(previous.getZoneSources(), mergedZones.get("2099a"));
+        incremental.compile();
+        mergedZones.put("2099b", incremental.getZones());
+        mergedRegionIds.addAll(incremental.getZones().keySet());
+        mergedRules.addAll(incremental.getZones().values());
+        ByteArrayOutputStream merged = new ByteArrayOutputStream();
+        TzdbZoneRulesCompiler.outputTzdbDat(merged, 2, mergedZones, mergedRegionIds, mergedRules);
+
+        TzdbZoneRulesProvider provider = new TzdbZoneRulesProvider(new ByteArrayInputStream(merged.toByteArray()));
+        assertEquals(provider.provideVersions("Europe/Paris").keySet(), new TreeSet<String>(Arrays.asList("2099a", "2099b")));
+        assertEquals(provider.provideRules("Europe/Paris", false), incremental.getZones().get("Europe/Paris"));
+        assertEquals(provider.provideVersions("Europe/Paris").get("2099a"), previous.getZones().get("Europe/Paris"));
+    }
+
+    @Test
+    public void test_outputTzdbDat_format1() throws Exception {
+        TzdbZoneRulesCompiler compiler = createCompiler("2099b", createSource("2099b", EUROPE_2099B));
+        compiler.compile();
+        Map<String, SortedMap<String, ZoneRules>> allBuiltZones = new TreeMap<String, SortedMap<String, ZoneRules>>();
+        allBuiltZones.put("2099b", compiler.getZones());
+        Set<String> allRegionIds = new TreeSet<String>(compiler.getZones().keySet());
+        Set<ZoneRules> allRules = new HashSet<ZoneRules>(compiler.getZones().values());
+        ByteArrayOutputStream format1 = new ByteArrayOutputStream();
+        TzdbZoneRulesCompiler.outputTzdbDat(format1, 1, allBuiltZones, allRegionIds, allRules);
+        ByteArrayOutputStream format2 = new ByteArrayOutputStream();
+        TzdbZoneRulesCompiler.outputTzdbDat(format2, 2, allBuiltZones, allRegionIds, allRules);
+        byte[] bytes = format1.toByteArray();
+        assertEquals(bytes[0], 1);
+        assertEquals(format2.toByteArray()[0], 2);
+
+        TzdbZoneRulesProvider provider = new TzdbZoneRulesProvider(new ByteArrayInputStream(bytes));
+        assertEquals(provider.provideZoneIds(), allRegionIds);
+        for (String regionId : allRegionIds) {
+            assertEquals(provider.provideRules(regionId, false), compiler.getZones().get(regionId));
+        }
+        // an older release reads the version, group and the rules without an offset table
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        assertEquals(in.readByte(), 1);
+        assertEquals(in.readUTF(), "TZDB");
+        assertEquals(in.readShort(), 1);
+        assertEquals(in.readUTF(), "2099b");
+        assertEquals(in.readShort(), allRegionIds.size());
+        for (String regionId : allRegionIds) {
+            assertEquals(in.readUTF(), regionId);
+        }
+        int rulesCount = in.readShort();
+        assertEquals(rulesCount, allRules.size());
+        for (int i = 0; i < rulesCount; i++) {
+            byte[] rulesBytes = new byte[in.readShort()];
+            in.readFully(rulesBytes);
+            assertTrue(allRules.contains(Ser.read(new DataInputStream(new ByteArrayInputStream(rulesBytes)))));
+        }
+    }
+
+    @Test
+    public void test_main_format() throws Exception {
+        File dir = createSource("2099b", EUROPE_2099B);
+        for (int formatVersion = 1; formatVersion <= 2; formatVersion++) {
+            File dstDir = new File(dir.getParentFile(), "out" + formatVersion);
+            TzdbZoneRulesCompiler.main(new String[] {
+                "-srcdir", dir.getParent(), "-dstdir", dstDir.getPath(), "-unpacked",
+                "-threads", "1", "-format", Integer.toString(formatVersion), "europe"});
+            FileInputStream in = new FileInputStream(new File(dstDir, "TZDB.dat"));
+            try {
+                assertEquals(in.read(), formatVersion);
+            } finally {
+                in.close();
+            }
+        }
+    }
+
+    private static File createSource(String version, String europe) throws IOException {
+        File dir = File.createTempFile("tzdbsrc", "");
+        dir.delete();
+        dir = new File(dir, version);
+        dir.mkdirs();
+        write(new File(dir, "europe"), europe);
+        write(new File(dir, "leapseconds"), LEAP_SECONDS);
+        return dir;
+    }
+
+    private static void write(File file, String text) throws IOException {
+        FileWriter out = new FileWriter(file);
+        try {
+            out.write(text);
+        } finally {
+            out.close();
+        }
+    }
+
+    private static TzdbZoneRulesCompiler createCompiler(String version, File dir) {
+        return new TzdbZoneRulesCompiler(version, Arrays.asList(new File(dir, "europe")), new File(dir, "leapseconds"), false);
+    }
+
 }
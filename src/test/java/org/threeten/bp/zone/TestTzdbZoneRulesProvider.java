@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.zone;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.testng.annotations.Test;
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.ZoneOffset;
+
+/**
+ * Test TzdbZoneRulesProvider.
+ */
+@Test
+public class TestTzdbZoneRulesProvider {
+
+    private static final String TZDB_RESOURCE = "org/threeten/bp/TZDB.dat";
+
+    //-----------------------------------------------------------------------
+    // memory-mapped
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_memoryMapped_file() throws Exception {
+        URL url = TzdbZoneRulesProvider.class.getClassLoader().getResource(TZDB_RESOURCE);
+        File file = new File(url.toURI());
+        TzdbZoneRulesProvider mapped = new TzdbZoneRulesProvider(file);
+        TzdbZoneRulesProvider copied = new TzdbZoneRulesProvider(url);
+        assertMatches(mapped, copied);
+    }
+
+    @Test
+    public void test_memoryMapped_extractedFromJar() throws Exception {
+        File dir = File.createTempFile("tzdbtest", "");
+        dir.delete();
+        dir.mkdirs();
+        File jar = new File(dir, "tzdb.jar");
+        JarOutputStream out = new JarOutputStream(new FileOutputStream(jar));
+        InputStream in = TzdbZoneRulesProvider.class.getClassLoader().getResourceAsStream(TZDB_RESOURCE);
+        try {
+            out.putNextEntry(new JarEntry(TZDB_RESOURCE));
+            byte[] bytes = new byte[8192];
+            int len;
+            while ((len = in.read(bytes)) > 0) {
+                out.write(bytes, 0, len);
+            }
+            out.closeEntry();
+        } finally {
+            in.close();
+            out.close();
+        }
+        URL url = new URL("jar:" + jar.toURI().toURL() + "!/" + TZDB_RESOURCE);
+        File extracted = TzdbZoneRulesProvider.toFile(url, new File(dir, "cache"));
+        assertTrue(extracted.isFile());
+        assertEquals(extracted.length(), new File(TzdbZoneRulesProvider.class.getClassLoader().getResource(TZDB_RESOURCE).toURI()).length());
+        // second call reuses the extracted file
+        assertEquals(TzdbZoneRulesProvider.toFile(url, new File(dir, "cache")), extracted);
+        assertMatches(new TzdbZoneRulesProvider(extracted), new TzdbZoneRulesProvider(url));
+    }
+
+    //-----------------------------------------------------------------------
+    // file formats
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_formats_roundTrip() throws Exception {
+        TzdbZoneRulesProvider base = new TzdbZoneRulesProvider(
+                TzdbZoneRulesProvider.class.getClassLoader().getResource(TZDB_RESOURCE));
+        Map<String, SortedMap<String, ZoneRules>> allBuiltZones = new TreeMap<String, SortedMap<String, ZoneRules>>();
+        Set<String> allRegionIds = new TreeSet<String>(base.provideZoneIds());
+        Set<ZoneRules> allRules = new HashSet<ZoneRules>();
+        for (String regionId : allRegionIds) {
+            for (Map.Entry<String, ZoneRules> entry : base.provideVersions(regionId).entrySet()) {
+                SortedMap<String, ZoneRules> builtZones = allBuiltZones.get(entry.getKey());
+                if (builtZones == null) {
+                    builtZones = new TreeMap<String, ZoneRules>();
+                    allBuiltZones.put(entry.getKey(), builtZones);
+                }
+                builtZones.put(regionId, entry.getValue());
+                allRules.add(entry.getValue());
+            }
+        }
+        for (int formatVersion = 1; formatVersion <= 2; formatVersion++) {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            TzdbZoneRulesCompiler.outputTzdbDat(baos, formatVersion, allBuiltZones, allRegionIds, allRules);
+            byte[] bytes = baos.toByteArray();
+            assertEquals(bytes[0], formatVersion);
+            assertMatches(new TzdbZoneRulesProvider(new ByteArrayInputStream(bytes)), base);
+        }
+    }
+
+    @Test
+    public void test_compactFormat_rules() throws Exception {
+        StandardZoneRules rules = (StandardZoneRules) ZoneRulesProvider.getRules("America/New_York", false);
+        Map<ZoneOffset, Integer> offsetCounts = new HashMap<ZoneOffset, Integer>();
+        rules.collectOffsets(offsetCounts);
+        ZoneOffset[] offsets = offsetCounts.keySet().toArray(new ZoneOffset[offsetCounts.size()]);
+        Map<ZoneOffset, Integer> offsetIndices = new HashMap<ZoneOffset, Integer>();
+        for (ZoneOffset offset : offsets) {
+            offsetIndices.put(offset, offsetIndices.size());
+        }
+        ByteArrayOutputStream compact = new ByteArrayOutputStream();
+        Ser.write(rules, new DataOutputStream(compact), offsetIndices);
+        ByteArrayOutputStream standard = new ByteArrayOutputStream();
+        Ser.write(rules, new DataOutputStream(standard));
+        assertTrue(compact.size() < standard.size());
+        Object result = Ser.read(new DataInputStream(new ByteArrayInputStream(compact.toByteArray())), offsets);
+        assertEquals(result, rules);
+    }
+
+    @Test
+    public void test_epochSecs_roundTrip() throws Exception {
+        long[] epochSecs = {-4575744000L - 1, -3000000000L, -900, 0, 1, 900, 10413792000L, 10413792000L + 17, 31556889864403199L};
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        Ser.writeEpochSecs(epochSecs, new DataOutputStream(baos));
+        long[] result = Ser.readEpochSecs(new DataInputStream(new ByteArrayInputStream(baos.toByteArray())));
+        assertEquals(result, epochSecs);
+    }
+
+    //-----------------------------------------------------------------------
+    // watched directory
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_watchDir_refresh() throws Exception {
+        File dir = File.createTempFile("tzdbwatch", "");
+        dir.delete();
+        dir.mkdirs();
+        URL url = TzdbZoneRulesProvider.class.getClassLoader().getResource(TZDB_RESOURCE);
+        TzdbZoneRulesProvider base = new TzdbZoneRulesProvider(url);
+        TzdbZoneRulesProvider test = new TzdbZoneRulesProvider(url, dir);
+        ZoneRules oldLondon = test.provideRules("Europe/London", false);
+        assertNull(test.provideRules("Europe/London", true));
+        assertEquals(test.provideRefresh(), false);
+
+        // drop in a newer version that changes London and adds a region
+        ZoneOffset offset = ZoneOffset.ofHours(5);
+        ZoneRules newLondon = ZoneRules.of(offset, offset, Collections.<ZoneOffsetTransition>emptyList(),
+                Collections.<ZoneOffsetTransition>emptyList(), Collections.<ZoneOffsetTransitionRule>emptyList());
+        SortedMap<String, ZoneRules> builtZones = new TreeMap<String, ZoneRules>();
+        builtZones.put("Europe/London", newLondon);
+        builtZones.put("Test/Region", newLondon);
+        Map<String, SortedMap<String, ZoneRules>> allBuiltZones = new TreeMap<String, SortedMap<String, ZoneRules>>();
+        allBuiltZones.put("2099z", builtZones);
+        FileOutputStream out = new FileOutputStream(new File(dir, "TZDB.dat"));
+        try {
+            TzdbZoneRulesCompiler.outputTzdbDat(out, 2, allBuiltZones,
+                    new TreeSet<String>(builtZones.keySet()), Collections.singleton(newLondon));
+        } finally {
+            out.close();
+        }
+        assertEquals(test.provideRefresh(), true);
+        assertEquals(test.provideRules("Europe/London", false), newLondon);
+        assertEquals(test.provideRules("Test/Region", false), newLondon);
+        assertEquals(test.provideRules("America/New_York", false), base.provideRules("America/New_York", false));
+        assertTrue(test.provideZoneIds().contains("Test/Region"));
+        assertTrue(test.provideZoneIds().containsAll(base.provideZoneIds()));
+        NavigableMap<String, ZoneRules> versions = test.provideVersions("Europe/London");
+        assertEquals(versions.size(), 2);
+        assertEquals(versions.firstEntry().getValue(), oldLondon);
+        assertEquals(versions.lastEntry().getValue(), newLondon);
+
+        // unchanged file is not reloaded
+        assertFalse(test.provideRefresh());
+    }
+
+    @Test
+    public void test_watchDir_corruptAtConstruction() throws Exception {
+        File dir = File.createTempFile("tzdbwatch", "");
+        dir.delete();
+        dir.mkdirs();
+        File file = new File(dir, "TZDB.dat");
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(new byte[] {2, 0, 4, 'T', 'Z'});
+        } finally {
+            out.close();
+        }
+        URL url = TzdbZoneRulesProvider.class.getClassLoader().getResource(TZDB_RESOURCE);
+        TzdbZoneRulesProvider base = new TzdbZoneRulesProvider(url);
+        TzdbZoneRulesProvider test = new TzdbZoneRulesProvider(url, dir);
+        assertEquals(test.provideZoneIds(), base.provideZoneIds());
+        assertEquals(test.provideRules("Europe/London", false), base.provideRules("Europe/London", false));
+        try {
+            test.provideRefresh();
+            fail();
+        } catch (ZoneRulesException ex) {
+            // expected, still corrupt
+        }
+
+        // once the file is valid it is loaded, even though it was never loaded before
+        ZoneOffset offset = ZoneOffset.ofHours(5);
+        ZoneRules newLondon = ZoneRules.of(offset, offset, Collections.<ZoneOffsetTransition>emptyList(),
+                Collections.<ZoneOffsetTransition>emptyList(), Collections.<ZoneOffsetTransitionRule>emptyList());
+        SortedMap<String, ZoneRules> builtZones = new TreeMap<String, ZoneRules>();
+        builtZones.put("Europe/London", newLondon);
+        Map<String, SortedMap<String, ZoneRules>> allBuiltZones = new TreeMap<String, SortedMap<String, ZoneRules>>();
+        allBuiltZones.put("2099z", builtZones);
+        out = new FileOutputStream(file);
+        try {
+            TzdbZoneRulesCompiler.outputTzdbDat(out, 2, allBuiltZones,
+                    new TreeSet<String>(builtZones.keySet()), Collections.singleton(newLondon));
+        } finally {
+            out.close();
+        }
+        assertEquals(test.provideRefresh(), true);
+        assertEquals(test.provideRules("Europe/London", false), newLondon);
+    }
+
+    private void assertMatches(TzdbZoneRulesProvider mapped, TzdbZoneRulesProvider copied) {
+        assertEquals(mapped.provideZoneIds(), copied.provideZoneIds());
+        for (String zoneId : copied.provideZoneIds()) {
+            ZoneRules rules = mapped.provideRules(zoneId, false);
+            assertEquals(rules, copied.provideRules(zoneId, false));
+            assertEquals(mapped.provideVersions(zoneId), copied.provideVersions(zoneId));
+        }
+        ZoneRules london = mapped.provideRules("Europe/London", false);
+        assertEquals(london.getOffset(Instant.ofEpochSecond(1467331200L)).getTotalSeconds(), 3600);
+        assertEquals(london.getOffset(LocalDateTime.of(2016, 1, 1, 0, 0)).getTotalSeconds(), 0);
+    }
+
+}
@@ -33,6 +33,7 @@ package org.threeten.bp.zone;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 import java.util.Collections;
@@ -63,6 +64,19 @@ public class TestZoneRulesProvider {
         assertEquals(zoneIds2.contains("Europe/London"), true);
     }
 
+    @Test
+    public void test_getAvailableZoneIdsSnapshot() {
+        Set<String> snapshot = ZoneRulesProvider.getAvailableZoneIdsSnapshot();
+        assertEquals(snapshot.contains("Europe/London"), true);
+        assertSame(ZoneRulesProvider.getAvailableZoneIdsSnapshot(), snapshot);
+        assertEquals(ZoneRulesProvider.getAvailableZoneIds(), snapshot);
+    }
+
+    @Test(expectedExceptions=UnsupportedOperationException.class)
+    public void test_getAvailableZoneIdsSnapshot_unmodifiable() {
+        ZoneRulesProvider.getAvailableZoneIdsSnapshot().clear();
+    }
+
     //-----------------------------------------------------------------------
     // getRules(String)
     //-----------------------------------------------------------------------
@@ -125,11 +139,14 @@ public class TestZoneRulesProvider {
     @Test
     public void test_registerProvider() {
         Set<String> pre = ZoneRulesProvider.getAvailableZoneIds();
+        Set<String> preSnapshot = ZoneRulesProvider.getAvailableZoneIdsSnapshot();
         assertEquals(pre.contains("FooLocation"), false);
         ZoneRulesProvider.registerProvider(new MockTempProvider());
         assertEquals(pre.contains("FooLocation"), false);
+        assertEquals(preSnapshot.contains("FooLocation"), false);
         Set<String> post = ZoneRulesProvider.getAvailableZoneIds();
         assertEquals(post.contains("FooLocation"), true);
+        assertEquals(ZoneRulesProvider.getAvailableZoneIdsSnapshot().contains("FooLocation"), true);
 
         assertEquals(ZoneRulesProvider.getRules("FooLocation", false), ZoneOffset.of("+01:45").getRules());
     }